@@ -28,7 +28,7 @@ if not exist %FX_PATH% (
 echo.
 echo Compiling Java files...
 if not exist bin mkdir bin
-javac --module-path %FX_PATH% --add-modules javafx.controls,javafx.fxml,javafx.graphics,javafx.base,javafx.media,javafx.web,javafx.swing -d bin src\Main.java src\model\enums\*.java src\model\*.java src\model\services\*.java src\view\components\*.java src\view\pages\*.java src\view\*.java
+javac --module-path %FX_PATH% --add-modules javafx.controls,javafx.fxml,javafx.graphics,javafx.base,javafx.media,javafx.web,javafx.swing -d bin src\Main.java src\model\enums\*.java src\model\*.java src\model\services\*.java src\model\repository\*.java src\view\components\*.java src\view\pages\*.java src\view\*.java
 
 if %errorlevel% neq 0 (
     echo.
@@ -3,18 +3,20 @@ package model;
 import model.enums.BookingStatus;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Booking {
-    private static int bookingCounter = 1;
+    private static final AtomicInteger bookingCounter = new AtomicInteger(1);
     private String bookingID;
     private String facilityId;
     private String userId;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
-    private BookingStatus status;
+    private volatile BookingStatus status;
+    private volatile boolean checkedIn;
 
     public Booking(String facilityId, String userId, LocalDateTime startTime, LocalDateTime endTime) {
-        this.bookingID = "B" + String.format("%03d", bookingCounter++);
+        this.bookingID = "B" + String.format("%03d", bookingCounter.getAndIncrement());
         this.facilityId = facilityId;
         this.userId = userId;
         this.startTime = startTime;
@@ -22,6 +24,25 @@ public class Booking {
         this.status = BookingStatus.ACTIVE;
     }
 
+    // Restore a previously issued booking (e.g. from persistent storage)
+    public Booking(String bookingID, String facilityId, String userId, LocalDateTime startTime,
+                   LocalDateTime endTime, BookingStatus status) {
+        this.bookingID = bookingID;
+        this.facilityId = facilityId;
+        this.userId = userId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+
+        // Never hand out this ID again
+        try {
+            int number = Integer.parseInt(bookingID.substring(1));
+            bookingCounter.accumulateAndGet(number + 1, Math::max);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            // Non-standard ID, nothing to reserve
+        }
+    }
+
     // Getters and Setters
     public String getBookingID() {
         return bookingID;
@@ -67,6 +88,14 @@ public class Booking {
         this.status = status;
     }
 
+    public boolean isCheckedIn() {
+        return checkedIn;
+    }
+
+    public void setCheckedIn(boolean checkedIn) {
+        this.checkedIn = checkedIn;
+    }
+
     // Legacy getters for backward compatibility
     public String getRoomID() {
         return getFacilityId();
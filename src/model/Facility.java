@@ -13,11 +13,15 @@ public abstract class Facility {
     protected String location;
     protected int capacity;
     protected ReservationPrivilege privilege;
-    protected FacilityStatus status;
+    protected volatile FacilityStatus status;
     protected String imagePath;
     protected List<Equipment> equipment;
     protected String notes;
 
+    // Notified of every status change so services can keep derived data current
+    private static volatile StatusListener statusListener;
+    private static volatile PrivilegeListener privilegeListener;
+
     public Facility(String id, String name, FacilityType type, String location,
                    int capacity, ReservationPrivilege privilege, FacilityStatus status,
                    String imagePath, String notes) {
@@ -104,7 +108,12 @@ public abstract class Facility {
     }
 
     public void setPrivilege(ReservationPrivilege privilege) {
+        ReservationPrivilege oldPrivilege = this.privilege;
         this.privilege = privilege;
+        PrivilegeListener listener = privilegeListener;
+        if (listener != null && oldPrivilege != privilege) {
+            listener.privilegeChanged(this, oldPrivilege, privilege);
+        }
     }
 
     public FacilityStatus getStatus() {
@@ -112,7 +121,33 @@ public abstract class Facility {
     }
 
     public void setStatus(FacilityStatus status) {
-        this.status = status;
+        FacilityStatus oldStatus;
+        synchronized (this) {
+            oldStatus = this.status;
+            this.status = status;
+        }
+        StatusListener listener = statusListener;
+        if (listener != null && oldStatus != status) {
+            listener.statusChanged(this, oldStatus, status);
+        }
+    }
+
+    public static void setStatusListener(StatusListener listener) {
+        statusListener = listener;
+    }
+
+    // Callback for facility status changes
+    public interface StatusListener {
+        void statusChanged(Facility facility, FacilityStatus oldStatus, FacilityStatus newStatus);
+    }
+
+    public static void setPrivilegeListener(PrivilegeListener listener) {
+        privilegeListener = listener;
+    }
+
+    // Callback for facility privilege changes
+    public interface PrivilegeListener {
+        void privilegeChanged(Facility facility, ReservationPrivilege oldPrivilege, ReservationPrivilege newPrivilege);
     }
 
     public String getImagePath() {
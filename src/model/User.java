@@ -4,6 +4,7 @@ import model.enums.Role;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public abstract class User {
     protected String userId;
@@ -21,7 +22,7 @@ public abstract class User {
         this.password = password;
         this.name = name;
         this.role = role;
-        this.myBookings = new ArrayList<>();
+        this.myBookings = new CopyOnWriteArrayList<>();
     }
 
     // Static initializer with complete IIUM library rooms
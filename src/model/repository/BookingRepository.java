@@ -0,0 +1,66 @@
+package model.repository;
+
+import model.Booking;
+import model.enums.BookingStatus;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Store of bookings. Implementations hand out the same Booking instance for the same
+ * ID, so a booking found through the repository can be changed in place and then
+ * written back with update().
+ */
+public interface BookingRepository {
+
+    /**
+     * Add a new booking
+     * @return false if the store could not keep it
+     */
+    boolean save(Booking booking);
+
+    /**
+     * Add several new bookings in one go, all or none
+     * @return false if the store could not keep them
+     */
+    boolean saveAll(Collection<Booking> bookings);
+
+    /**
+     * Write back a booking's status and check-in after changing them in place
+     * @return false if the store could not keep the change
+     */
+    boolean update(Booking booking);
+
+    /**
+     * Drop bookings from the store (e.g. once they have been archived elsewhere)
+     */
+    void removeAll(Collection<Booking> bookings);
+
+    Booking findById(String bookingId);
+
+    /**
+     * Every booking, in the order they were saved
+     */
+    List<Booking> findAll();
+
+    List<Booking> findByUser(String userId);
+
+    List<Booking> findByFacility(String facilityId);
+
+    List<Booking> findByStatus(BookingStatus status);
+
+    /**
+     * Bookings starting within [start, end], both ends inclusive
+     */
+    List<Booking> findStartingBetween(LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Active bookings of a facility overlapping [start, end)
+     */
+    List<Booking> findOverlapping(String facilityId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Whether bookings survive a restart without the booking journal
+     */
+    boolean isDurable();
+}
@@ -0,0 +1,47 @@
+package model.repository;
+
+import model.Facility;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Store of the facility catalog, kept in catalog order
+ */
+public interface FacilityRepository {
+
+    /**
+     * Add a facility at the end of the catalog
+     */
+    void save(Facility facility);
+
+    /**
+     * Add several facilities in one go
+     */
+    void saveAll(Collection<? extends Facility> facilities);
+
+    /**
+     * Write back a facility after changing it in place
+     */
+    void update(Facility facility);
+
+    /**
+     * Put another facility in the place of the one with the given ID
+     */
+    void replace(String id, Facility facility);
+
+    void remove(String id);
+
+    Facility findById(String id);
+
+    /**
+     * Every facility, in catalog order
+     */
+    List<Facility> findAll();
+
+    int count();
+
+    /**
+     * Whether the catalog survives a restart
+     */
+    boolean isDurable();
+}
@@ -0,0 +1,109 @@
+package model.repository;
+
+import model.Booking;
+import model.enums.BookingStatus;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+
+/**
+ * Bookings held on the heap only; this is the default store, made durable by the
+ * booking journal rather than by the repository itself. Queries scan every booking;
+ * BookingService answers its frequent lookups from BookingIndex instead.
+ */
+public class InMemoryBookingRepository implements BookingRepository {
+
+    private final Queue<Booking> bookings = new ConcurrentLinkedQueue<>();
+    private final Map<String, Booking> byId = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean save(Booking booking) {
+        bookings.add(booking);
+        byId.put(booking.getBookingID(), booking);
+        return true;
+    }
+
+    @Override
+    public boolean saveAll(Collection<Booking> bookings) {
+        for (Booking booking : bookings) {
+            save(booking);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean update(Booking booking) {
+        // Bookings are changed in place; nothing to write back
+        return true;
+    }
+
+    @Override
+    public void removeAll(Collection<Booking> removed) {
+        Set<Booking> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(removed);
+        bookings.removeIf(gone::contains);
+        for (Booking booking : removed) {
+            byId.remove(booking.getBookingID(), booking);
+        }
+    }
+
+    @Override
+    public Booking findById(String bookingId) {
+        return bookingId == null ? null : byId.get(bookingId);
+    }
+
+    @Override
+    public List<Booking> findAll() {
+        return new ArrayList<>(bookings);
+    }
+
+    @Override
+    public List<Booking> findByUser(String userId) {
+        return select(b -> b.getUserId().equals(userId));
+    }
+
+    @Override
+    public List<Booking> findByFacility(String facilityId) {
+        return select(b -> b.getFacilityId().equals(facilityId));
+    }
+
+    @Override
+    public List<Booking> findByStatus(BookingStatus status) {
+        return select(b -> b.getStatus() == status);
+    }
+
+    @Override
+    public List<Booking> findStartingBetween(LocalDateTime start, LocalDateTime end) {
+        return select(b -> !b.getStartTime().isBefore(start) && !b.getStartTime().isAfter(end));
+    }
+
+    @Override
+    public List<Booking> findOverlapping(String facilityId, LocalDateTime start, LocalDateTime end) {
+        return select(b -> b.getStatus() == BookingStatus.ACTIVE && b.getFacilityId().equals(facilityId)
+                && b.getStartTime().isBefore(end) && start.isBefore(b.getEndTime()));
+    }
+
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+
+    private List<Booking> select(Predicate<Booking> filter) {
+        List<Booking> result = new ArrayList<>();
+        for (Booking booking : bookings) {
+            if (filter.test(booking)) {
+                result.add(booking);
+            }
+        }
+        return result;
+    }
+}
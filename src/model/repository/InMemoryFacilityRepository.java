@@ -0,0 +1,75 @@
+package model.repository;
+
+import model.Facility;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Facility catalog held on the heap only
+ */
+public class InMemoryFacilityRepository implements FacilityRepository {
+
+    private final List<Facility> facilities = new ArrayList<>();
+
+    @Override
+    public synchronized void save(Facility facility) {
+        facilities.add(facility);
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<? extends Facility> added) {
+        facilities.addAll(added);
+    }
+
+    @Override
+    public void update(Facility facility) {
+        // Facilities are changed in place; nothing to write back
+    }
+
+    @Override
+    public synchronized void replace(String id, Facility facility) {
+        int position = indexOf(id);
+        if (position >= 0) {
+            facilities.set(position, facility);
+        }
+    }
+
+    @Override
+    public synchronized void remove(String id) {
+        int position = indexOf(id);
+        if (position >= 0) {
+            facilities.remove(position);
+        }
+    }
+
+    @Override
+    public synchronized Facility findById(String id) {
+        int position = indexOf(id);
+        return position >= 0 ? facilities.get(position) : null;
+    }
+
+    @Override
+    public synchronized List<Facility> findAll() {
+        return new ArrayList<>(facilities);
+    }
+
+    @Override
+    public synchronized int count() {
+        return facilities.size();
+    }
+
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+
+    private int indexOf(String id) {
+        for (int i = 0; i < facilities.size(); i++) {
+            if (facilities.get(i).getId().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,35 @@
+package model.repository;
+
+import model.User;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User accounts held on the heap only
+ */
+public class InMemoryUserRepository implements UserRepository {
+
+    private final Map<String, User> users = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(User user) {
+        users.put(user.getMatricNo(), user);
+    }
+
+    @Override
+    public User findByMatricNo(String matricNo) {
+        return matricNo == null ? null : users.get(matricNo);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return new ArrayList<>(users.values());
+    }
+
+    @Override
+    public boolean isDurable() {
+        return false;
+    }
+}
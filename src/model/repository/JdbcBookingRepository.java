@@ -0,0 +1,235 @@
+package model.repository;
+
+import model.Booking;
+import model.enums.BookingStatus;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bookings stored in a relational database through JDBC.
+ *
+ * Rows are indexed on (facility_id, start_time) for conflict checks, (user_id,
+ * start_time) for a user's history and status for the active set. Bulk saves go out
+ * as one batched prepared statement in a single transaction. Every booking read or
+ * written is kept in an identity map, so queries return the instances the services
+ * are already holding. A failed insert or update is reported and returns false, so
+ * the services can refuse the change: with this store there is no journal behind it.
+ */
+public class JdbcBookingRepository implements BookingRepository {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String COLUMNS = "id, facility_id, user_id, start_time, end_time, status, checked_in";
+
+    private final ConnectionPool pool;
+    private final Map<String, Booking> loaded = new ConcurrentHashMap<>();
+
+    public JdbcBookingRepository(ConnectionPool pool) throws SQLException {
+        this.pool = pool;
+        JdbcSchema.ensureTable(pool, "bookings",
+                "CREATE TABLE bookings ("
+                        + "id VARCHAR(32) NOT NULL PRIMARY KEY, "
+                        + "facility_id VARCHAR(64) NOT NULL, "
+                        + "user_id VARCHAR(64) NOT NULL, "
+                        + "start_time TIMESTAMP NOT NULL, "
+                        + "end_time TIMESTAMP NOT NULL, "
+                        + "status VARCHAR(16) NOT NULL, "
+                        + "checked_in BOOLEAN NOT NULL)",
+                "CREATE INDEX bookings_facility_start ON bookings (facility_id, start_time)",
+                "CREATE INDEX bookings_user_start ON bookings (user_id, start_time)",
+                "CREATE INDEX bookings_status ON bookings (status)");
+    }
+
+    @Override
+    public boolean save(Booking booking) {
+        return saveAll(Collections.singletonList(booking));
+    }
+
+    @Override
+    public boolean saveAll(Collection<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return true;
+        }
+        for (Booking booking : bookings) {
+            loaded.put(booking.getBookingID(), booking);
+        }
+        try {
+            pool.transaction(connection -> {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO bookings (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?)")) {
+                    int pending = 0;
+                    for (Booking booking : bookings) {
+                        insert.setString(1, booking.getBookingID());
+                        insert.setString(2, booking.getFacilityId());
+                        insert.setString(3, booking.getUserId());
+                        insert.setTimestamp(4, Timestamp.valueOf(booking.getStartTime()));
+                        insert.setTimestamp(5, Timestamp.valueOf(booking.getEndTime()));
+                        insert.setString(6, booking.getStatus().name());
+                        insert.setBoolean(7, booking.isCheckedIn());
+                        insert.addBatch();
+                        if (++pending == BATCH_SIZE) {
+                            insert.executeBatch();
+                            pending = 0;
+                        }
+                    }
+                    if (pending > 0) {
+                        insert.executeBatch();
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            System.err.println("Failed to store " + bookings.size() + " booking(s): " + e.getMessage());
+            // The transaction rolled back, so none of them exist
+            for (Booking booking : bookings) {
+                loaded.remove(booking.getBookingID(), booking);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean update(Booking booking) {
+        try {
+            pool.execute(connection -> {
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE bookings SET status = ?, checked_in = ? WHERE id = ?")) {
+                    update.setString(1, booking.getStatus().name());
+                    update.setBoolean(2, booking.isCheckedIn());
+                    update.setString(3, booking.getBookingID());
+                    return update.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Failed to update booking " + booking.getBookingID() + ": " + e.getMessage());
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void removeAll(Collection<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        try {
+            pool.transaction(connection -> {
+                try (PreparedStatement delete = connection.prepareStatement("DELETE FROM bookings WHERE id = ?")) {
+                    for (Booking booking : bookings) {
+                        delete.setString(1, booking.getBookingID());
+                        delete.addBatch();
+                    }
+                    delete.executeBatch();
+                }
+                return null;
+            });
+            for (Booking booking : bookings) {
+                loaded.remove(booking.getBookingID(), booking);
+            }
+        } catch (SQLException e) {
+            System.err.println("Failed to remove " + bookings.size() + " booking(s): " + e.getMessage());
+        }
+    }
+
+    @Override
+    public Booking findById(String bookingId) {
+        if (bookingId == null) {
+            return null;
+        }
+        Booking booking = loaded.get(bookingId);
+        if (booking != null) {
+            return booking;
+        }
+        List<Booking> found = query("SELECT " + COLUMNS + " FROM bookings WHERE id = ?", bookingId);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public List<Booking> findAll() {
+        // IDs are "B" plus a zero-padded counter, so ordering by length then value is creation order
+        return query("SELECT " + COLUMNS + " FROM bookings ORDER BY LENGTH(id), id");
+    }
+
+    @Override
+    public List<Booking> findByUser(String userId) {
+        return query("SELECT " + COLUMNS + " FROM bookings WHERE user_id = ? ORDER BY start_time", userId);
+    }
+
+    @Override
+    public List<Booking> findByFacility(String facilityId) {
+        return query("SELECT " + COLUMNS + " FROM bookings WHERE facility_id = ? ORDER BY start_time", facilityId);
+    }
+
+    @Override
+    public List<Booking> findByStatus(BookingStatus status) {
+        return query("SELECT " + COLUMNS + " FROM bookings WHERE status = ?", status.name());
+    }
+
+    @Override
+    public List<Booking> findStartingBetween(LocalDateTime start, LocalDateTime end) {
+        return query("SELECT " + COLUMNS + " FROM bookings WHERE start_time >= ? AND start_time <= ? ORDER BY start_time",
+                Timestamp.valueOf(start), Timestamp.valueOf(end));
+    }
+
+    @Override
+    public List<Booking> findOverlapping(String facilityId, LocalDateTime start, LocalDateTime end) {
+        // The (facility_id, start_time) index narrows this to the facility's bookings starting before the end
+        return query("SELECT " + COLUMNS + " FROM bookings WHERE facility_id = ? AND start_time < ? "
+                        + "AND end_time > ? AND status = ?",
+                facilityId, Timestamp.valueOf(end), Timestamp.valueOf(start), BookingStatus.ACTIVE.name());
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    private List<Booking> query(String sql, Object... parameters) {
+        try {
+            return pool.execute(connection -> {
+                try (PreparedStatement select = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < parameters.length; i++) {
+                        select.setObject(i + 1, parameters[i]);
+                    }
+                    List<Booking> result = new ArrayList<>();
+                    try (ResultSet rows = select.executeQuery()) {
+                        while (rows.next()) {
+                            result.add(resolve(rows));
+                        }
+                    }
+                    return result;
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Booking query failed: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * The booking a row describes: the instance already handed out, or a new one
+     */
+    private Booking resolve(ResultSet row) throws SQLException {
+        String id = row.getString("id");
+        Booking known = loaded.get(id);
+        if (known != null) {
+            return known;
+        }
+        Booking booking = new Booking(id, row.getString("facility_id"), row.getString("user_id"),
+                row.getTimestamp("start_time").toLocalDateTime(), row.getTimestamp("end_time").toLocalDateTime(),
+                BookingStatus.valueOf(row.getString("status")));
+        booking.setCheckedIn(row.getBoolean("checked_in"));
+        Booking raced = loaded.putIfAbsent(id, booking);
+        return raced != null ? raced : booking;
+    }
+}
@@ -0,0 +1,221 @@
+package model.repository;
+
+import model.Equipment;
+import model.Facility;
+import model.Room;
+import model.enums.FacilityStatus;
+import model.enums.FacilityType;
+import model.enums.ReservationPrivilege;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Facility catalog stored in a relational database through JDBC. The catalog is
+ * small, so it is loaded once and served from memory; every change is written
+ * through, bulk additions as one batched statement. Equipment is kept as
+ * "name<TAB>quantity" lines in one column.
+ */
+public class JdbcFacilityRepository implements FacilityRepository {
+
+    private static final String COLUMNS =
+            "id, catalog_order, name, type, location, capacity, privilege, status, image_path, notes, equipment";
+
+    private final ConnectionPool pool;
+    private final List<Facility> facilities = new ArrayList<>();
+    private int nextOrder;
+
+    public JdbcFacilityRepository(ConnectionPool pool) throws SQLException {
+        this.pool = pool;
+        JdbcSchema.ensureTable(pool, "facilities",
+                "CREATE TABLE facilities ("
+                        + "id VARCHAR(64) NOT NULL PRIMARY KEY, "
+                        + "catalog_order INTEGER NOT NULL, "
+                        + "name VARCHAR(200) NOT NULL, "
+                        + "type VARCHAR(32) NOT NULL, "
+                        + "location VARCHAR(200), "
+                        + "capacity INTEGER NOT NULL, "
+                        + "privilege VARCHAR(32) NOT NULL, "
+                        + "status VARCHAR(32) NOT NULL, "
+                        + "image_path VARCHAR(500), "
+                        + "notes VARCHAR(2000), "
+                        + "equipment VARCHAR(2000))",
+                "CREATE INDEX facilities_status ON facilities (status)");
+        load();
+    }
+
+    private void load() throws SQLException {
+        pool.execute(connection -> {
+            try (PreparedStatement select = connection.prepareStatement(
+                    "SELECT " + COLUMNS + " FROM facilities ORDER BY catalog_order");
+                 ResultSet rows = select.executeQuery()) {
+                while (rows.next()) {
+                    facilities.add(toFacility(rows));
+                    nextOrder = rows.getInt("catalog_order") + 1;
+                }
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void save(Facility facility) {
+        saveAll(Collections.singletonList(facility));
+    }
+
+    @Override
+    public synchronized void saveAll(Collection<? extends Facility> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        int firstOrder = nextOrder;
+        facilities.addAll(added);
+        nextOrder += added.size();
+        try {
+            pool.transaction(connection -> {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO facilities (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                    int order = firstOrder;
+                    for (Facility facility : added) {
+                        insert.setString(1, facility.getId());
+                        insert.setInt(2, order++);
+                        bindColumns(insert, 3, facility);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            System.err.println("Failed to store " + added.size() + " facilities: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void update(Facility facility) {
+        write("UPDATE facilities SET name = ?, type = ?, location = ?, capacity = ?, privilege = ?, "
+                + "status = ?, image_path = ?, notes = ?, equipment = ? WHERE id = ?", facility, facility.getId());
+    }
+
+    @Override
+    public synchronized void replace(String id, Facility facility) {
+        int position = indexOf(id);
+        if (position < 0) {
+            return;
+        }
+        facilities.set(position, facility);
+        write("UPDATE facilities SET name = ?, type = ?, location = ?, capacity = ?, privilege = ?, "
+                + "status = ?, image_path = ?, notes = ?, equipment = ?, id = ? WHERE id = ?", facility, facility.getId(), id);
+    }
+
+    @Override
+    public synchronized void remove(String id) {
+        int position = indexOf(id);
+        if (position < 0) {
+            return;
+        }
+        facilities.remove(position);
+        try {
+            pool.execute(connection -> {
+                try (PreparedStatement delete = connection.prepareStatement("DELETE FROM facilities WHERE id = ?")) {
+                    delete.setString(1, id);
+                    return delete.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Failed to remove facility " + id + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized Facility findById(String id) {
+        int position = indexOf(id);
+        return position >= 0 ? facilities.get(position) : null;
+    }
+
+    @Override
+    public synchronized List<Facility> findAll() {
+        return new ArrayList<>(facilities);
+    }
+
+    @Override
+    public synchronized int count() {
+        return facilities.size();
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    /**
+     * Run an UPDATE whose first nine parameters are a facility's columns, followed by the given keys
+     */
+    private void write(String sql, Facility facility, String... keys) {
+        try {
+            pool.execute(connection -> {
+                try (PreparedStatement update = connection.prepareStatement(sql)) {
+                    int next = bindColumns(update, 1, facility);
+                    for (String key : keys) {
+                        update.setString(next++, key);
+                    }
+                    return update.executeUpdate();
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("Failed to update facility " + facility.getId() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Bind every column but id and catalog_order, starting at a parameter index
+     * @return the next parameter index
+     */
+    private static int bindColumns(PreparedStatement statement, int first, Facility facility) throws SQLException {
+        int i = first;
+        statement.setString(i++, facility.getName());
+        statement.setString(i++, facility.getType().name());
+        statement.setString(i++, facility.getLocation());
+        statement.setInt(i++, facility.getCapacity());
+        statement.setString(i++, facility.getPrivilege().name());
+        statement.setString(i++, facility.getStatus().name());
+        statement.setString(i++, facility.getImagePath());
+        statement.setString(i++, facility.getNotes());
+        StringBuilder equipment = new StringBuilder();
+        for (Equipment item : facility.getEquipment()) {
+            equipment.append(item.getName()).append('\t').append(item.getQuantity()).append('\n');
+        }
+        statement.setString(i++, equipment.toString());
+        return i;
+    }
+
+    private static Facility toFacility(ResultSet row) throws SQLException {
+        Room room = new Room(row.getString("id"), row.getString("name"), FacilityType.valueOf(row.getString("type")),
+                row.getString("location"), row.getInt("capacity"),
+                ReservationPrivilege.valueOf(row.getString("privilege")), FacilityStatus.valueOf(row.getString("status")),
+                row.getString("image_path"), row.getString("notes"));
+        String equipment = row.getString("equipment");
+        if (equipment != null) {
+            for (String line : equipment.split("\n")) {
+                int tab = line.indexOf('\t');
+                if (tab > 0) {
+                    room.addEquipment(new Equipment(line.substring(0, tab), Integer.parseInt(line.substring(tab + 1))));
+                }
+            }
+        }
+        return room;
+    }
+
+    private int indexOf(String id) {
+        for (int i = 0; i < facilities.size(); i++) {
+            if (facilities.get(i).getId().equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,43 @@
+package model.repository;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+/**
+ * Creates tables and their indexes on first use. Existence is checked through the
+ * driver's metadata rather than "IF NOT EXISTS", which not every embedded database
+ * understands.
+ */
+class JdbcSchema {
+
+    /**
+     * Run the DDL statements (CREATE TABLE first, then its indexes) unless the table exists
+     */
+    static void ensureTable(ConnectionPool pool, String table, String... ddl) throws SQLException {
+        pool.transaction(connection -> {
+            if (!tableExists(connection, table)) {
+                try (Statement statement = connection.createStatement()) {
+                    for (String sql : ddl) {
+                        statement.execute(sql);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    private static boolean tableExists(Connection connection, String table) throws SQLException {
+        // Unquoted names are stored upper case by some databases and lower case by others
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, "%", new String[]{"TABLE"})) {
+            while (tables.next()) {
+                if (tables.getString("TABLE_NAME").toLowerCase(Locale.ROOT).equals(table)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,133 @@
+package model.repository;
+
+import model.Admin;
+import model.Postgraduate;
+import model.Staff;
+import model.Student;
+import model.User;
+import model.enums.Role;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * User accounts stored in a relational database through JDBC. Accounts are loaded
+ * on first lookup and then served from memory, so a user keeps one instance (and
+ * one booking list) for the life of the process.
+ */
+public class JdbcUserRepository implements UserRepository {
+
+    private final ConnectionPool pool;
+    private final Map<String, User> loaded = new ConcurrentHashMap<>();
+
+    public JdbcUserRepository(ConnectionPool pool) throws SQLException {
+        this.pool = pool;
+        JdbcSchema.ensureTable(pool, "users",
+                "CREATE TABLE users ("
+                        + "matric_no VARCHAR(64) NOT NULL PRIMARY KEY, "
+                        + "password VARCHAR(200) NOT NULL, "
+                        + "name VARCHAR(200) NOT NULL, "
+                        + "role VARCHAR(16) NOT NULL)");
+    }
+
+    @Override
+    public void save(User user) {
+        loaded.put(user.getMatricNo(), user);
+        try {
+            pool.transaction(connection -> {
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE users SET password = ?, name = ?, role = ? WHERE matric_no = ?")) {
+                    update.setString(1, user.getPassword());
+                    update.setString(2, user.getName());
+                    update.setString(3, user.getRole().name());
+                    update.setString(4, user.getMatricNo());
+                    if (update.executeUpdate() > 0) {
+                        return null;
+                    }
+                }
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO users (matric_no, password, name, role) VALUES (?, ?, ?, ?)")) {
+                    insert.setString(1, user.getMatricNo());
+                    insert.setString(2, user.getPassword());
+                    insert.setString(3, user.getName());
+                    insert.setString(4, user.getRole().name());
+                    insert.executeUpdate();
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            System.err.println("Failed to store user " + user.getMatricNo() + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public User findByMatricNo(String matricNo) {
+        if (matricNo == null) {
+            return null;
+        }
+        User user = loaded.get(matricNo);
+        if (user != null) {
+            return user;
+        }
+        List<User> found = query("SELECT matric_no, password, name, role FROM users WHERE matric_no = ?", matricNo);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public List<User> findAll() {
+        return query("SELECT matric_no, password, name, role FROM users ORDER BY matric_no");
+    }
+
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    private List<User> query(String sql, String... parameters) {
+        try {
+            return pool.execute(connection -> {
+                try (PreparedStatement select = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < parameters.length; i++) {
+                        select.setString(i + 1, parameters[i]);
+                    }
+                    List<User> result = new ArrayList<>();
+                    try (ResultSet rows = select.executeQuery()) {
+                        while (rows.next()) {
+                            User user = loaded.get(rows.getString("matric_no"));
+                            if (user == null) {
+                                User read = toUser(rows);
+                                user = loaded.putIfAbsent(read.getMatricNo(), read);
+                                user = user != null ? user : read;
+                            }
+                            result.add(user);
+                        }
+                    }
+                    return result;
+                }
+            });
+        } catch (SQLException e) {
+            System.err.println("User query failed: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private static User toUser(ResultSet row) throws SQLException {
+        String matricNo = row.getString("matric_no");
+        String password = row.getString("password");
+        String name = row.getString("name");
+        switch (Role.valueOf(row.getString("role"))) {
+            case ADMIN:
+                return new Admin(matricNo, password, name);
+            case STAFF:
+                return new Staff(matricNo, password, name);
+            case POSTGRADUATE:
+                return new Postgraduate(matricNo, password, name);
+            default:
+                return new Student(matricNo, password, name);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package model.repository;
+
+import java.nio.file.Paths;
+import java.sql.SQLException;
+
+/**
+ * Chooses where bookings, facilities and users are kept.
+ *
+ * By default everything stays in memory (bookings are made durable by the booking
+ * journal). With -Diium.store=jdbc they are kept in a database instead, reached
+ * through -Diium.jdbc.url (default: an embedded H2 database in the data directory),
+ * -Diium.jdbc.user / -Diium.jdbc.password and a pool of -Diium.jdbc.pool connections
+ * (default 8). The JDBC driver must be on the classpath; if the database cannot be
+ * opened the error is reported and the in-memory store is used.
+ */
+public class Repositories {
+
+    private static final int DEFAULT_POOL_SIZE = 8;
+
+    private static ConnectionPool pool;
+    private static BookingRepository bookings;
+    private static FacilityRepository facilities;
+    private static UserRepository users;
+    private static boolean unavailable;
+
+    public static synchronized BookingRepository bookings() {
+        if (bookings == null) {
+            bookings = open(JdbcBookingRepository::new, new InMemoryBookingRepository());
+        }
+        return bookings;
+    }
+
+    public static synchronized FacilityRepository facilities() {
+        if (facilities == null) {
+            facilities = open(JdbcFacilityRepository::new, new InMemoryFacilityRepository());
+        }
+        return facilities;
+    }
+
+    public static synchronized UserRepository users() {
+        if (users == null) {
+            users = open(JdbcUserRepository::new, new InMemoryUserRepository());
+        }
+        return users;
+    }
+
+    /**
+     * Close the database connections, if any
+     */
+    public static synchronized void close() {
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    private static <R> R open(JdbcFactory<R> jdbc, R inMemory) {
+        if (unavailable || !"jdbc".equalsIgnoreCase(System.getProperty("iium.store", "memory"))) {
+            return inMemory;
+        }
+        try {
+            if (pool == null) {
+                String url = System.getProperty("iium.jdbc.url",
+                        "jdbc:h2:" + Paths.get(System.getProperty("iium.data.dir", "data"), "iium").toAbsolutePath());
+                pool = new ConnectionPool(url, System.getProperty("iium.jdbc.user"),
+                        System.getProperty("iium.jdbc.password", ""),
+                        Integer.getInteger("iium.jdbc.pool", DEFAULT_POOL_SIZE));
+            }
+            return jdbc.open(pool);
+        } catch (SQLException e) {
+            System.err.println("Database store unavailable, keeping data in memory: " + e.getMessage());
+            unavailable = true;
+            return inMemory;
+        }
+    }
+
+    private interface JdbcFactory<R> {
+        R open(ConnectionPool pool) throws SQLException;
+    }
+}
@@ -0,0 +1,24 @@
+package model.repository;
+
+import model.User;
+import java.util.List;
+
+/**
+ * Store of user accounts, keyed by matric number
+ */
+public interface UserRepository {
+
+    /**
+     * Add a user or replace the one with the same matric number
+     */
+    void save(User user);
+
+    User findByMatricNo(String matricNo);
+
+    List<User> findAll();
+
+    /**
+     * Whether accounts survive a restart
+     */
+    boolean isDurable();
+}
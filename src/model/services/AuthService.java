@@ -6,12 +6,12 @@ import model.Student;
 import model.Postgraduate;
 import model.User;
 import model.enums.Role;
-import java.util.HashMap;
-import java.util.Map;
+import model.repository.Repositories;
+import model.repository.UserRepository;
 
 public class AuthService {
 
-    private static Map<String, User> users = new HashMap<>();
+    private static UserRepository users = Repositories.users();
 
     static {
         // Pre-create some test users with different roles
@@ -20,20 +20,29 @@ public class AuthService {
 
     private static void createTestUsers() {
         // Admin users (matric starting with 0)
-        users.put("0123456", new Admin("0123456", "admin123", "Admin User"));
-        users.put("0987654", new Admin("0987654", "admin456", "Library Admin"));
+        addTestUser(new Admin("0123456", "admin123", "Admin User"));
+        addTestUser(new Admin("0987654", "admin456", "Library Admin"));
 
         // Staff users (matric starting with 1)
-        users.put("1123456", new Staff("1123456", "staff123", "Staff User"));
-        users.put("1234567", new Staff("1234567", "staff456", "Librarian"));
+        addTestUser(new Staff("1123456", "staff123", "Staff User"));
+        addTestUser(new Staff("1234567", "staff456", "Librarian"));
 
         // Student users (matric starting with 2)
-        users.put("2123456", new Student("2123456", "student123", "Student User"));
-        users.put("2234567", new Student("2234567", "student456", "Undergraduate"));
+        addTestUser(new Student("2123456", "student123", "Student User"));
+        addTestUser(new Student("2234567", "student456", "Undergraduate"));
 
         // Postgraduate users (matric starting with 3)
-        users.put("3123456", new Postgraduate("3123456", "postgrad123", "Postgrad User"));
-        users.put("3234567", new Postgraduate("3234567", "postgrad456", "PhD Student"));
+        addTestUser(new Postgraduate("3123456", "postgrad123", "Postgrad User"));
+        addTestUser(new Postgraduate("3234567", "postgrad456", "PhD Student"));
+    }
+
+    /**
+     * Add a test user unless a stored account already uses its matric number
+     */
+    private static void addTestUser(User user) {
+        if (users.findByMatricNo(user.getMatricNo()) == null) {
+            users.save(user);
+        }
     }
 
     /**
@@ -43,7 +52,7 @@ public class AuthService {
      * @return User object if authentication successful, null otherwise
      */
     public static User login(String matricNo, String password) {
-        User user = users.get(matricNo);
+        User user = users.findByMatricNo(matricNo);
         if (user != null && user.getPassword().equals(password)) {
             return user;
         }
@@ -52,13 +61,24 @@ public class AuthService {
         if (matricNo != null && !matricNo.isEmpty() && password != null && !password.isEmpty()) {
             Role role = determineRole(matricNo);
             User newUser = createUserByRole(matricNo, password, "User " + matricNo, role);
-            users.put(matricNo, newUser);
+            // Reattach bookings restored from storage before this user existed
+            newUser.getMyBookings().addAll(BookingService.getBookingsForUser(matricNo));
+            users.save(newUser);
             return newUser;
         }
 
         return null;
     }
 
+    /**
+     * Looks up an existing user without authenticating
+     * @param matricNo The matriculation number
+     * @return The user, or null if no such user has been created
+     */
+    public static User getUser(String matricNo) {
+        return users.findByMatricNo(matricNo);
+    }
+
     /**
      * Determines user role based on matric number pattern
      * @param matricNo The matriculation number
@@ -0,0 +1,343 @@
+package model.services;
+
+import model.Booking;
+import model.Facility;
+import model.User;
+import model.enums.FacilityType;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Slot-bitmap availability engine.
+ *
+ * Each facility keeps one long per day in which bit i is set when the 30-minute
+ * slot starting at 08:00 + 30*i is occupied by an ACTIVE booking (08:00-22:00 is
+ * 28 slots). "Find a free window" queries are then a handful of shifts and ANDs
+ * per facility-day. Bitmaps are updated by BookingService on every mutation.
+ *
+ * The booking form's time pickers are served from FreeSlots, the free-run lengths
+ * of one facility-day, cached for the bookable date range and dropped whenever a
+ * booking on that day is activated or released.
+ */
+public class AvailabilityService {
+
+    public static final LocalTime OPENING_TIME = LocalTime.of(8, 0);
+    public static final LocalTime CLOSING_TIME = LocalTime.of(22, 0);
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY =
+            (CLOSING_TIME.toSecondOfDay() - OPENING_TIME.toSecondOfDay()) / 60 / SLOT_MINUTES;
+
+    private static final long DAY_MASK = (1L << SLOTS_PER_DAY) - 1;
+
+    private static Map<String, Map<LocalDate, Long>> occupancy = new ConcurrentHashMap<>();
+    private static Map<String, Map<LocalDate, FreeSlots>> freeSlotCache = new ConcurrentHashMap<>();
+
+    /**
+     * Mark the slots of a newly active booking as occupied
+     */
+    static void bookingActivated(Booking booking) {
+        Map<LocalDate, Long> days = occupancy.computeIfAbsent(booking.getFacilityId(), id -> new ConcurrentHashMap<>());
+        for (LocalDate date = booking.getStartTime().toLocalDate();
+             !date.isAfter(booking.getEndTime().toLocalDate()); date = date.plusDays(1)) {
+            long mask = slotMask(date, booking.getStartTime(), booking.getEndTime());
+            if (mask != 0) {
+                days.merge(date, mask, (a, b) -> a | b);
+            }
+        }
+        invalidateFreeSlots(booking);
+    }
+
+    /**
+     * Recompute the days touched by a booking that is no longer active.
+     * Bits cannot simply be cleared: a neighbouring booking may share a partly used slot.
+     */
+    static void bookingReleased(Booking booking) {
+        Map<LocalDate, Long> days = occupancy.get(booking.getFacilityId());
+        if (days == null) {
+            return;
+        }
+        for (LocalDate date = booking.getStartTime().toLocalDate();
+             !date.isAfter(booking.getEndTime().toLocalDate()); date = date.plusDays(1)) {
+            long mask = 0;
+            LocalDateTime dayStart = date.atStartOfDay();
+            for (Booking other : BookingService.getConflictingBookings(booking.getFacilityId(), dayStart, dayStart.plusDays(1))) {
+                mask |= slotMask(date, other.getStartTime(), other.getEndTime());
+            }
+            if (mask == 0) {
+                days.remove(date);
+            } else {
+                days.put(date, mask);
+            }
+        }
+        invalidateFreeSlots(booking);
+    }
+
+    private static void invalidateFreeSlots(Booking booking) {
+        Map<LocalDate, FreeSlots> days = freeSlotCache.get(booking.getFacilityId());
+        if (days == null) {
+            return;
+        }
+        for (LocalDate date = booking.getStartTime().toLocalDate();
+             !date.isAfter(booking.getEndTime().toLocalDate()); date = date.plusDays(1)) {
+            days.remove(date);
+        }
+    }
+
+    /**
+     * Get the occupied-slot bitmap of a facility on a date (bit 0 = 08:00-08:30)
+     */
+    public static long getOccupancy(String facilityId, LocalDate date) {
+        Map<LocalDate, Long> days = occupancy.get(facilityId);
+        if (days == null) {
+            return 0L;
+        }
+        return days.getOrDefault(date, 0L);
+    }
+
+    /**
+     * Get the occupied-slot bitmaps of a booking's facility on each day the booking spans
+     */
+    public static long[] getOccupancy(Booking booking) {
+        LocalDate first = booking.getStartTime().toLocalDate();
+        long[] days = new long[(int) ChronoUnit.DAYS.between(first, booking.getEndTime().toLocalDate()) + 1];
+        for (int i = 0; i < days.length; i++) {
+            days[i] = getOccupancy(booking.getFacilityId(), first.plusDays(i));
+        }
+        return days;
+    }
+
+    /**
+     * Get the free runs of a facility on a date; dates a booking can be made for are cached
+     */
+    public static FreeSlots getFreeSlots(String facilityId, LocalDate date) {
+        long occupied = getOccupancy(facilityId, date);
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today) || date.isAfter(today.plusDays(BookingPolicy.getMaxAdvanceDays()))) {
+            return new FreeSlots(date, occupied);
+        }
+
+        Map<LocalDate, FreeSlots> days = freeSlotCache.computeIfAbsent(facilityId, id -> new ConcurrentHashMap<>());
+        FreeSlots slots = days.get(date);
+        // Checking the bitmap it was built from catches a build that raced with a booking change
+        if (slots == null || slots.occupied != occupied) {
+            slots = new FreeSlots(date, occupied);
+            days.put(date, slots);
+        }
+        return slots;
+    }
+
+    /**
+     * Get the start times on a date at which a user may book a facility for at least
+     * the minimum duration, as judged by the booking policy
+     */
+    public static List<LocalDateTime> getBookableStartTimes(User user, Facility facility, LocalDate date) {
+        List<LocalDateTime> starts = new ArrayList<>();
+        if (user == null || facility == null || date == null
+                || !BookingPolicy.canUserBookFacility(user, facility)
+                || !BookingPolicy.isWithinUserDailyLimit(user, date.atTime(OPENING_TIME))) {
+            return starts;
+        }
+
+        FreeSlots slots = getFreeSlots(facility.getId(), date);
+        int minMinutes = BookingPolicy.getMinBookingMinutes();
+        int minSlots = (minMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+            if (slots.freeRunFrom(slot) < minSlots) {
+                continue;
+            }
+            LocalDateTime start = slotStart(date, slot);
+            if (BookingPolicy.checkBooking(user, facility, start, start.plusMinutes(minMinutes)) == null) {
+                starts.add(start);
+            }
+        }
+        return starts;
+    }
+
+    /**
+     * Get the end times a user may pick for a booking of a facility starting at a slot
+     * boundary, up to the end of the free run or the user's maximum duration
+     */
+    public static List<LocalDateTime> getBookableEndTimes(User user, Facility facility, LocalDateTime start) {
+        List<LocalDateTime> ends = new ArrayList<>();
+        if (user == null || facility == null || start == null) {
+            return ends;
+        }
+        LocalDate date = start.toLocalDate();
+        long offset = minutesFromOpening(date, start);
+        if (offset < 0 || offset % SLOT_MINUTES != 0 || offset >= (long) SLOTS_PER_DAY * SLOT_MINUTES) {
+            return ends;
+        }
+
+        int run = getFreeSlots(facility.getId(), date).freeRunFrom((int) (offset / SLOT_MINUTES));
+        int minMinutes = BookingPolicy.getMinBookingMinutes();
+        for (int minutes = minMinutes; minutes <= run * SLOT_MINUTES; minutes += SLOT_MINUTES) {
+            LocalDateTime end = start.plusMinutes(minutes);
+            // Every rule that refuses an end time also refuses every later one
+            if (BookingPolicy.checkBooking(user, facility, start, end) != null) {
+                break;
+            }
+            ends.add(end);
+        }
+        return ends;
+    }
+
+    /**
+     * Check whether every slot touched by [startTime, endTime) is free
+     */
+    public static boolean isFree(String facilityId, LocalDateTime startTime, LocalDateTime endTime) {
+        for (LocalDate date = startTime.toLocalDate(); !date.isAfter(endTime.toLocalDate()); date = date.plusDays(1)) {
+            if ((getOccupancy(facilityId, date) & slotMask(date, startTime, endTime)) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the first free window of the given length in one facility between two instants
+     * @return the window start, or null if there is none
+     */
+    public static LocalDateTime findFirstFreeWindow(String facilityId, LocalDateTime from, LocalDateTime to, int durationMinutes) {
+        int slotsNeeded = (durationMinutes + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        if (slotsNeeded <= 0 || slotsNeeded > SLOTS_PER_DAY || !from.isBefore(to)) {
+            return null;
+        }
+
+        for (LocalDate date = from.toLocalDate(); !date.isAfter(to.toLocalDate()); date = date.plusDays(1)) {
+            long free = ~getOccupancy(facilityId, date) & searchMask(date, from, to);
+            long runs = runsOf(free, slotsNeeded);
+            if (runs != 0) {
+                return slotStart(date, Long.numberOfTrailingZeros(runs));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find, for every bookable facility of a type with enough capacity, its first free
+     * window of the given length between two instants. Results are ordered by start time.
+     * @param type facility type, or null for any type
+     * @param limit maximum number of results, or 0 for all
+     */
+    public static List<FreeWindow> findFreeWindows(FacilityType type, int minCapacity, LocalDateTime from,
+                                                   LocalDateTime to, int durationMinutes, int limit) {
+        List<FreeWindow> windows = new ArrayList<>();
+        for (Facility facility : FacilityService.getAllFacilities()) {
+            if ((type != null && facility.getType() != type) || facility.getCapacity() < minCapacity
+                    || !facility.isBookable()) {
+                continue;
+            }
+            LocalDateTime start = findFirstFreeWindow(facility.getId(), from, to, durationMinutes);
+            if (start != null) {
+                windows.add(new FreeWindow(facility, start, start.plusMinutes(durationMinutes)));
+            }
+        }
+
+        windows.sort(Comparator.comparing((FreeWindow w) -> w.start).thenComparing(w -> w.facility.getId()));
+        if (limit > 0 && windows.size() > limit) {
+            return new ArrayList<>(windows.subList(0, limit));
+        }
+        return windows;
+    }
+
+    /**
+     * Get the start time of a slot on a date
+     */
+    public static LocalDateTime slotStart(LocalDate date, int slot) {
+        return date.atTime(OPENING_TIME).plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    /**
+     * Bits whose run of n consecutive set bits starts at that bit
+     */
+    static long runsOf(long free, int n) {
+        long runs = free;
+        for (int i = 1; i < n && runs != 0; i++) {
+            runs &= free >>> i;
+        }
+        return runs;
+    }
+
+    /**
+     * Bits of the slots on a date touched by [startTime, endTime)
+     */
+    static long slotMask(LocalDate date, LocalDateTime startTime, LocalDateTime endTime) {
+        int first = (int) Math.floorDiv(minutesFromOpening(date, startTime), SLOT_MINUTES);
+        int last = (int) -Math.floorDiv(-minutesFromOpening(date, endTime), SLOT_MINUTES); // ceiling
+        return rangeMask(first, last);
+    }
+
+    /**
+     * Bits of the slots on a date lying completely inside [from, to)
+     */
+    private static long searchMask(LocalDate date, LocalDateTime from, LocalDateTime to) {
+        int first = (int) -Math.floorDiv(-minutesFromOpening(date, from), SLOT_MINUTES); // ceiling
+        int last = (int) Math.floorDiv(minutesFromOpening(date, to), SLOT_MINUTES);
+        return rangeMask(first, last);
+    }
+
+    private static long rangeMask(int fromSlot, int toSlot) {
+        int first = Math.max(0, fromSlot);
+        int last = Math.min(SLOTS_PER_DAY, toSlot);
+        if (first >= last) {
+            return 0L;
+        }
+        return (DAY_MASK >>> (SLOTS_PER_DAY - (last - first))) << first;
+    }
+
+    private static long minutesFromOpening(LocalDate date, LocalDateTime time) {
+        return Duration.between(date.atTime(OPENING_TIME), time).toMinutes();
+    }
+
+    /**
+     * The free slots of one facility-day with, for each slot, how many free slots
+     * follow in a row from it
+     */
+    public static class FreeSlots {
+        public final LocalDate date;
+        final long occupied;
+        private final byte[] runs = new byte[SLOTS_PER_DAY + 1];
+
+        FreeSlots(LocalDate date, long occupied) {
+            this.date = date;
+            this.occupied = occupied;
+            for (int slot = SLOTS_PER_DAY - 1; slot >= 0; slot--) {
+                runs[slot] = (occupied & (1L << slot)) != 0 ? 0 : (byte) (runs[slot + 1] + 1);
+            }
+        }
+
+        /**
+         * Number of consecutive free slots starting at a slot (0 if it is occupied)
+         */
+        public int freeRunFrom(int slot) {
+            return slot < 0 || slot >= SLOTS_PER_DAY ? 0 : runs[slot];
+        }
+
+        public boolean isFree(int slot) {
+            return freeRunFrom(slot) > 0;
+        }
+    }
+
+    /**
+     * A free window found by findFreeWindows
+     */
+    public static class FreeWindow {
+        public final Facility facility;
+        public final LocalDateTime start;
+        public final LocalDateTime end;
+
+        public FreeWindow(Facility facility, LocalDateTime start, LocalDateTime end) {
+            this.facility = facility;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package model.services;
+
+import model.Booking;
+import model.enums.BookingStatus;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Secondary indexes over the booking store, kept up to date by BookingService:
+ * lookup by id, by user, by facility, by status, a per-facility interval
+ * index over ACTIVE bookings for conflict checks, and a per-user calendar of
+ * ACTIVE bookings by date for the daily-limit and user-overlap rules.
+ *
+ * All structures are concurrent so readers never lock. Writers for the same
+ * facility must be serialized by the caller (see BookingService).
+ */
+class BookingIndex {
+
+    private static final Comparator<Booking> BY_START = Comparator
+            .comparing(Booking::getStartTime)
+            .thenComparing(Booking::getBookingID);
+
+    private final Map<String, Booking> byId = new ConcurrentHashMap<>();
+    private final Map<String, Queue<Booking>> byUser = new ConcurrentHashMap<>();
+    private final Map<String, Queue<Booking>> byFacility = new ConcurrentHashMap<>();
+    private final Map<BookingStatus, Set<Booking>> byStatus = new EnumMap<>(BookingStatus.class);
+    private final Map<String, FacilityTimeline> timelines = new ConcurrentHashMap<>();
+    private final Map<String, Map<LocalDate, UserDay>> calendars = new ConcurrentHashMap<>();
+
+    BookingIndex() {
+        // The EnumMap itself is never modified after construction
+        for (BookingStatus status : BookingStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListSet<>(BY_START));
+        }
+    }
+
+    /**
+     * Register a newly stored booking in every index
+     */
+    void add(Booking booking) {
+        byId.put(booking.getBookingID(), booking);
+        byUser.computeIfAbsent(booking.getUserId(), id -> new ConcurrentLinkedQueue<>()).add(booking);
+        byFacility.computeIfAbsent(booking.getFacilityId(), id -> new ConcurrentLinkedQueue<>()).add(booking);
+        byStatus.get(booking.getStatus()).add(booking);
+        if (booking.getStatus() == BookingStatus.ACTIVE) {
+            addActive(booking);
+        }
+    }
+
+    /**
+     * Move a booking between status buckets after its status changed
+     */
+    void statusChanged(Booking booking, BookingStatus oldStatus) {
+        BookingStatus newStatus = booking.getStatus();
+        if (oldStatus == newStatus) {
+            return;
+        }
+        byStatus.get(oldStatus).remove(booking);
+        byStatus.get(newStatus).add(booking);
+
+        if (oldStatus == BookingStatus.ACTIVE) {
+            removeActive(booking);
+        } else if (newStatus == BookingStatus.ACTIVE) {
+            addActive(booking);
+        }
+    }
+
+    /**
+     * Drop bookings that are no longer ACTIVE from every index
+     */
+    void removeInactive(Collection<Booking> bookings) {
+        Set<Booking> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> userIds = new HashSet<>();
+        Set<String> facilityIds = new HashSet<>();
+        for (Booking booking : bookings) {
+            byId.remove(booking.getBookingID());
+            byStatus.get(booking.getStatus()).remove(booking);
+            removed.add(booking);
+            userIds.add(booking.getUserId());
+            facilityIds.add(booking.getFacilityId());
+        }
+
+        // One pass per affected list rather than one per booking
+        for (String userId : userIds) {
+            byUser.get(userId).removeIf(removed::contains);
+        }
+        for (String facilityId : facilityIds) {
+            byFacility.get(facilityId).removeIf(removed::contains);
+        }
+    }
+
+    Booking findById(String bookingId) {
+        return byId.get(bookingId);
+    }
+
+    List<Booking> findByUser(String userId) {
+        return copyOf(byUser.get(userId));
+    }
+
+    List<Booking> findByFacility(String facilityId) {
+        return copyOf(byFacility.get(facilityId));
+    }
+
+    List<Booking> findByStatus(BookingStatus status) {
+        return copyOf(byStatus.get(status));
+    }
+
+    private static List<Booking> copyOf(Collection<Booking> bookings) {
+        return bookings == null ? new ArrayList<>() : new ArrayList<>(bookings);
+    }
+
+    private void addActive(Booking booking) {
+        timelines.computeIfAbsent(booking.getFacilityId(), id -> new FacilityTimeline()).add(booking);
+        calendars.computeIfAbsent(booking.getUserId(), id -> new ConcurrentHashMap<>())
+                .compute(booking.getStartTime().toLocalDate(), (date, day) -> {
+                    UserDay updated = day == null ? new UserDay() : day;
+                    updated.add(booking);
+                    return updated;
+                });
+    }
+
+    private void removeActive(Booking booking) {
+        FacilityTimeline timeline = timelines.get(booking.getFacilityId());
+        if (timeline != null) {
+            timeline.remove(booking);
+        }
+        Map<LocalDate, UserDay> calendar = calendars.get(booking.getUserId());
+        if (calendar != null) {
+            calendar.computeIfPresent(booking.getStartTime().toLocalDate(), (date, day) -> {
+                day.remove(booking);
+                return day.isEmpty() ? null : day;
+            });
+        }
+    }
+
+    /**
+     * Count a user's active bookings starting on a date
+     */
+    int countUserActiveOn(String userId, LocalDate date) {
+        UserDay day = userDay(userId, date);
+        return day == null ? 0 : day.size();
+    }
+
+    /**
+     * Check whether any active booking of the user overlaps the given slot.
+     * A user's active bookings never overlap each other, so per day only the
+     * latest booking starting before the slot ends can reach into it.
+     */
+    boolean hasUserOverlap(String userId, LocalDateTime startTime, LocalDateTime endTime) {
+        // The day before covers bookings running past midnight
+        for (LocalDate date = startTime.toLocalDate().minusDays(1);
+             !date.isAfter(endTime.toLocalDate()); date = date.plusDays(1)) {
+            UserDay day = userDay(userId, date);
+            if (day != null && day.latestEndStartingBefore(endTime).isAfter(startTime)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private UserDay userDay(String userId, LocalDate date) {
+        Map<LocalDate, UserDay> calendar = calendars.get(userId);
+        return calendar == null ? null : calendar.get(date);
+    }
+
+    /**
+     * Check whether any active booking of the facility overlaps the given slot
+     */
+    boolean hasOverlap(String facilityId, LocalDateTime startTime, LocalDateTime endTime) {
+        FacilityTimeline timeline = timelines.get(facilityId);
+        return timeline != null && timeline.hasOverlap(startTime, endTime);
+    }
+
+    /**
+     * Get active bookings of the facility overlapping the given slot, ordered by start time
+     */
+    List<Booking> findOverlapping(String facilityId, LocalDateTime startTime, LocalDateTime endTime) {
+        FacilityTimeline timeline = timelines.get(facilityId);
+        if (timeline == null) {
+            return new ArrayList<>();
+        }
+        return timeline.findOverlapping(startTime, endTime);
+    }
+
+    /**
+     * One user's active bookings starting on one date, sorted by start time
+     */
+    private static class UserDay {
+        private final NavigableMap<LocalDateTime, List<Booking>> byStart = new TreeMap<>();
+        private int size;
+
+        synchronized void add(Booking booking) {
+            byStart.computeIfAbsent(booking.getStartTime(), t -> new ArrayList<>(1)).add(booking);
+            size++;
+        }
+
+        synchronized void remove(Booking booking) {
+            List<Booking> sameStart = byStart.get(booking.getStartTime());
+            if (sameStart != null && sameStart.remove(booking)) {
+                size--;
+                if (sameStart.isEmpty()) {
+                    byStart.remove(booking.getStartTime());
+                }
+            }
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Latest end among the bookings with the greatest start before the given time
+         */
+        synchronized LocalDateTime latestEndStartingBefore(LocalDateTime time) {
+            Map.Entry<LocalDateTime, List<Booking>> entry = byStart.lowerEntry(time);
+            LocalDateTime latest = LocalDateTime.MIN;
+            if (entry != null) {
+                for (Booking booking : entry.getValue()) {
+                    if (booking.getEndTime().isAfter(latest)) {
+                        latest = booking.getEndTime();
+                    }
+                }
+            }
+            return latest;
+        }
+    }
+
+    /**
+     * Active bookings of one facility sorted by start time.
+     * Any booking overlapping [start, end) must start after start - longestDuration,
+     * so a query only walks that sub-range: O(log n + k).
+     * Lists per start time are replaced, never mutated, so readers see a stable view.
+     * Durations are kept as a counted multiset, so the longest one shrinks again
+     * when the booking that set it ends or is cancelled.
+     */
+    private static class FacilityTimeline {
+        private final NavigableMap<LocalDateTime, List<Booking>> byStart = new ConcurrentSkipListMap<>();
+        private final NavigableMap<Duration, Integer> durations = new ConcurrentSkipListMap<>();
+
+        void add(Booking booking) {
+            // Widen the search window before the booking becomes visible to readers
+            durations.merge(durationOf(booking), 1, Integer::sum);
+            byStart.compute(booking.getStartTime(), (t, sameStart) -> {
+                List<Booking> updated = sameStart == null ? new ArrayList<>(1) : new ArrayList<>(sameStart);
+                updated.add(booking);
+                return updated;
+            });
+        }
+
+        void remove(Booking booking) {
+            boolean[] removed = new boolean[1];
+            byStart.computeIfPresent(booking.getStartTime(), (t, sameStart) -> {
+                List<Booking> updated = new ArrayList<>(sameStart);
+                removed[0] = updated.remove(booking);
+                return updated.isEmpty() ? null : updated;
+            });
+            // Narrow the window only once the booking is no longer visible
+            if (removed[0]) {
+                durations.computeIfPresent(durationOf(booking), (d, count) -> count == 1 ? null : count - 1);
+            }
+        }
+
+        Duration longestDuration() {
+            Map.Entry<Duration, Integer> longest = durations.lastEntry();
+            return longest == null ? Duration.ZERO : longest.getKey();
+        }
+
+        private static Duration durationOf(Booking booking) {
+            return Duration.between(booking.getStartTime(), booking.getEndTime());
+        }
+
+        boolean hasOverlap(LocalDateTime startTime, LocalDateTime endTime) {
+            for (List<Booking> bookings : candidates(startTime, endTime).values()) {
+                for (Booking b : bookings) {
+                    if (b.getEndTime().isAfter(startTime)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        List<Booking> findOverlapping(LocalDateTime startTime, LocalDateTime endTime) {
+            List<Booking> result = new ArrayList<>();
+            for (List<Booking> bookings : candidates(startTime, endTime).values()) {
+                for (Booking b : bookings) {
+                    if (b.getEndTime().isAfter(startTime)) {
+                        result.add(b);
+                    }
+                }
+            }
+            return result;
+        }
+
+        private NavigableMap<LocalDateTime, List<Booking>> candidates(LocalDateTime startTime, LocalDateTime endTime) {
+            // Only bookings starting before the slot ends and late enough to still be running
+            LocalDateTime earliestStart = startTime.minus(longestDuration());
+            if (!earliestStart.isBefore(endTime)) {
+                return new TreeMap<>();
+            }
+            return byStart.subMap(earliestStart, false, endTime, false);
+        }
+    }
+}
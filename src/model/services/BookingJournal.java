@@ -0,0 +1,346 @@
+package model.services;
+
+import model.Booking;
+import model.enums.BookingStatus;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only write-ahead journal for booking mutations.
+ *
+ * Records are framed as [length][crc32][payload] and appended through a FileChannel
+ * by a single writer thread that drains every pending record, writes them in one
+ * go and fsyncs once per batch (group commit). Every SNAPSHOT_INTERVAL records the
+ * full booking state is written to a snapshot file and the journal is truncated.
+ * Recovery loads the snapshot and replays the journal tail; replay is idempotent,
+ * so a crash between snapshot and truncation is harmless.
+ */
+class BookingJournal {
+
+    static final String JOURNAL_FILE = "bookings.journal";
+    static final String SNAPSHOT_FILE = "bookings.snapshot";
+
+    private static final byte RECORD_CREATE = 1;
+    private static final byte RECORD_STATUS = 2;
+    private static final byte RECORD_CHECK_IN = 3;
+    // Set on a booking record's status byte when the booking has been checked in
+    private static final int CHECKED_IN = 0x80;
+    private static final int SNAPSHOT_MAGIC = 0x49424B53; // "IBKS"
+    // Version 2 adds the CHECKED_IN flag; version 1 snapshots read the same way
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int MAX_BATCH = 4096;
+    static final int SNAPSHOT_INTERVAL = 50_000;
+
+    private final Path directory;
+    private final FileChannel channel;
+    private final BlockingQueue<PendingRecord> pending = new LinkedBlockingQueue<>();
+    private Supplier<Collection<Booking>> stateSupplier;
+    private long recordsSinceSnapshot;
+    // Raised past the interval after a failed snapshot, so it is not retried every batch
+    private long snapshotDueAt = SNAPSHOT_INTERVAL;
+
+    private BookingJournal(Path directory, FileChannel channel) {
+        this.directory = directory;
+        this.channel = channel;
+    }
+
+    /**
+     * Open (or create) the journal in the given directory
+     */
+    static BookingJournal open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        FileChannel channel = FileChannel.open(directory.resolve(JOURNAL_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new BookingJournal(directory, channel);
+    }
+
+    /**
+     * Restore state without check-in records, which only matter to a running service
+     */
+    void recover(Consumer<Booking> onCreate, StatusHandler onStatus) throws IOException {
+        recover(onCreate, onStatus, bookingId -> { });
+    }
+
+    /**
+     * Restore state: feed every snapshot booking, then every journal record, to the handlers.
+     * A torn or corrupt tail left by a crash is truncated away.
+     */
+    void recover(Consumer<Booking> onCreate, StatusHandler onStatus, Consumer<String> onCheckIn) throws IOException {
+        Path snapshot = directory.resolve(SNAPSHOT_FILE);
+        if (Files.exists(snapshot)) {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+            int magic = buffer.getInt();
+            int version = buffer.getInt();
+            if (magic != SNAPSHOT_MAGIC || version < 1 || version > SNAPSHOT_VERSION) {
+                throw new IOException("Unrecognised booking snapshot: " + snapshot);
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                buffer.get(); // record type, always RECORD_CREATE
+                onCreate.accept(readBooking(buffer));
+            }
+        }
+
+        long size = channel.size();
+        ByteBuffer journal = ByteBuffer.allocate((int) size);
+        channel.read(journal, 0);
+        journal.flip();
+
+        long validEnd = 0;
+        CRC32 crc = new CRC32();
+        while (journal.remaining() >= 8) {
+            int length = journal.getInt();
+            int checksum = journal.getInt();
+            if (length <= 0 || length > journal.remaining()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            journal.get(payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            ByteBuffer record = ByteBuffer.wrap(payload);
+            byte type = record.get();
+            if (type == RECORD_CREATE) {
+                onCreate.accept(readBooking(record));
+            } else if (type == RECORD_STATUS) {
+                onStatus.apply(readString(record), BookingStatus.values()[record.get()]);
+            } else if (type == RECORD_CHECK_IN) {
+                onCheckIn.accept(readString(record));
+            }
+            validEnd = journal.position();
+            recordsSinceSnapshot++;
+        }
+
+        if (validEnd < size) {
+            System.err.println("Booking journal: discarding " + (size - validEnd) + " bytes of torn tail");
+            channel.truncate(validEnd);
+        }
+        channel.position(validEnd);
+    }
+
+    /**
+     * Start the group-commit writer; the supplier provides full state for snapshots
+     */
+    void start(Supplier<Collection<Booking>> stateSupplier) {
+        this.stateSupplier = stateSupplier;
+        Thread writer = new Thread(this::writeLoop, "booking-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Append a booking creation; the future completes once the record is fsynced
+     */
+    CompletableFuture<Void> appendCreate(Booking booking) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeByte(RECORD_CREATE);
+            writeBooking(out, booking);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return enqueue(bytes.toByteArray());
+    }
+
+    /**
+     * Append a booking status change; the future completes once the record is fsynced
+     */
+    CompletableFuture<Void> appendStatus(String bookingId, BookingStatus status) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeByte(RECORD_STATUS);
+            out.writeUTF(bookingId);
+            out.writeByte(status.ordinal());
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return enqueue(bytes.toByteArray());
+    }
+
+    /**
+     * Append a check-in; the future completes once the record is fsynced
+     */
+    CompletableFuture<Void> appendCheckIn(String bookingId) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(16);
+        DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeByte(RECORD_CHECK_IN);
+            out.writeUTF(bookingId);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return enqueue(bytes.toByteArray());
+    }
+
+    private CompletableFuture<Void> enqueue(byte[] payload) {
+        PendingRecord record = new PendingRecord(payload);
+        pending.add(record);
+        return record.done;
+    }
+
+    private void writeLoop() {
+        List<PendingRecord> batch = new ArrayList<>();
+        CRC32 crc = new CRC32();
+        while (true) {
+            try {
+                batch.add(pending.take());
+                pending.drainTo(batch, MAX_BATCH - 1);
+
+                int bytes = 0;
+                for (PendingRecord record : batch) {
+                    bytes += 8 + record.payload.length;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(bytes);
+                for (PendingRecord record : batch) {
+                    crc.reset();
+                    crc.update(record.payload);
+                    buffer.putInt(record.payload.length);
+                    buffer.putInt((int) crc.getValue());
+                    buffer.put(record.payload);
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+
+                for (PendingRecord record : batch) {
+                    record.done.complete(null);
+                }
+
+                recordsSinceSnapshot += batch.size();
+                if (recordsSinceSnapshot >= snapshotDueAt) {
+                    trySnapshot();
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (IOException e) {
+                for (PendingRecord record : batch) {
+                    record.done.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Snapshot now; on failure keep journaling and try again after another interval
+     */
+    private void trySnapshot() {
+        try {
+            writeSnapshot();
+            snapshotDueAt = SNAPSHOT_INTERVAL;
+        } catch (IOException | RuntimeException e) {
+            snapshotDueAt = recordsSinceSnapshot + SNAPSHOT_INTERVAL;
+            System.err.println("Booking snapshot failed, retrying after " + SNAPSHOT_INTERVAL
+                    + " more records: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Write the full state to a new snapshot, swap it in atomically and truncate the journal
+     */
+    private void writeSnapshot() throws IOException {
+        Collection<Booking> bookings = stateSupplier.get();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(bookings.size() * 48 + 12);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeInt(SNAPSHOT_VERSION);
+        out.writeInt(bookings.size());
+        for (Booking booking : bookings) {
+            out.writeByte(RECORD_CREATE);
+            writeBooking(out, booking);
+        }
+
+        Path temp = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel snapshot = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                snapshot.write(buffer);
+            }
+            snapshot.force(true);
+        }
+        Files.move(temp, directory.resolve(SNAPSHOT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        recordsSinceSnapshot = 0;
+    }
+
+    private static void writeBooking(DataOutputStream out, Booking booking) throws IOException {
+        out.writeUTF(booking.getBookingID());
+        out.writeUTF(booking.getFacilityId());
+        out.writeUTF(booking.getUserId());
+        out.writeLong(booking.getStartTime().toEpochSecond(ZoneOffset.UTC));
+        out.writeLong(booking.getEndTime().toEpochSecond(ZoneOffset.UTC));
+        out.writeByte(booking.getStatus().ordinal() | (booking.isCheckedIn() ? CHECKED_IN : 0));
+    }
+
+    private static Booking readBooking(ByteBuffer in) {
+        String bookingId = readString(in);
+        String facilityId = readString(in);
+        String userId = readString(in);
+        LocalDateTime start = LocalDateTime.ofEpochSecond(in.getLong(), 0, ZoneOffset.UTC);
+        LocalDateTime end = LocalDateTime.ofEpochSecond(in.getLong(), 0, ZoneOffset.UTC);
+        int status = in.get() & 0xFF;
+        Booking booking = new Booking(bookingId, facilityId, userId, start, end,
+                BookingStatus.values()[status & ~CHECKED_IN]);
+        booking.setCheckedIn((status & CHECKED_IN) != 0);
+        return booking;
+    }
+
+    /**
+     * Read a string written by DataOutputStream.writeUTF (ASCII-compatible modified UTF-8)
+     */
+    private static String readString(ByteBuffer in) {
+        int length = in.getShort() & 0xFFFF;
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Callback for replayed status changes
+     */
+    interface StatusHandler {
+        void apply(String bookingId, BookingStatus status);
+    }
+
+    private static class PendingRecord {
+        final byte[] payload;
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        PendingRecord(byte[] payload) {
+            this.payload = payload;
+        }
+    }
+}
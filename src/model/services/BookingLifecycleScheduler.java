@@ -0,0 +1,180 @@
+package model.services;
+
+import model.Booking;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives ACTIVE bookings through their lifecycle: the room is marked booked at the
+ * start, an unchecked-in booking becomes NO_SHOW when the grace period runs out, and
+ * a booking is COMPLETED at its end.
+ *
+ * Transitions sit in a hierarchical timing wheel (60 one-minute slots, 24 one-hour
+ * slots, 64 one-day slots, plus an overflow list). Each minute tick only touches the
+ * current slot and, on hour and day boundaries, re-distributes one coarser slot, so
+ * the cost per tick does not depend on how many future bookings exist. Cancelled
+ * bookings are not removed from the wheel; their transitions are ignored when they fire.
+ */
+public class BookingLifecycleScheduler {
+
+    /**
+     * Lifecycle points of a booking
+     */
+    enum Transition {
+        START,
+        GRACE_EXPIRED,
+        END
+    }
+
+    private static final int[] SLOTS = {60, 24, 64};
+    private static final long[] TICK_MINUTES = {1, 60, 60 * 24};
+    private static final long OVERFLOW_CASCADE_MINUTES = TICK_MINUTES[2] * SLOTS[2];
+
+    private static final Object lock = new Object();
+    private static List<List<List<Task>>> wheels = createWheels();
+    private static List<Task> overflow = new ArrayList<>();
+    private static List<Task> overdue = new ArrayList<>();
+    private static long currentMinute = toEpochMinute(LocalDateTime.now());
+    private static ScheduledExecutorService ticker;
+
+    /**
+     * Start the background ticker (idempotent)
+     */
+    public static void start() {
+        synchronized (lock) {
+            if (ticker != null) {
+                return;
+            }
+            ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "booking-lifecycle");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        ticker.scheduleAtFixedRate(BookingLifecycleScheduler::advance, 1, 1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Register the lifecycle transitions of an ACTIVE booking.
+     * A grace deadline already in the past is skipped: check-in state is not known for it.
+     */
+    static void schedule(Booking booking) {
+        long start = toEpochMinute(booking.getStartTime());
+        long grace = start + BookingPolicy.getCheckInGraceMinutes();
+        long end = toEpochMinute(booking.getEndTime());
+
+        synchronized (lock) {
+            add(new Task(booking.getBookingID(), Transition.START, start));
+            if (grace > currentMinute && grace < end) {
+                add(new Task(booking.getBookingID(), Transition.GRACE_EXPIRED, grace));
+            }
+            add(new Task(booking.getBookingID(), Transition.END, end));
+        }
+    }
+
+    /**
+     * Catch the wheel up with the wall clock and fire every due transition
+     */
+    private static void advance() {
+        long now = toEpochMinute(LocalDateTime.now());
+        List<Task> due = new ArrayList<>();
+        synchronized (lock) {
+            due.addAll(overdue);
+            overdue.clear();
+            while (currentMinute < now) {
+                currentMinute++;
+                tick(due);
+            }
+        }
+
+        // Fire outside the wheel lock; BookingService takes its own locks
+        for (Task task : due) {
+            try {
+                BookingService.applyLifecycleTransition(task.bookingId, task.transition);
+            } catch (RuntimeException e) {
+                System.err.println("Lifecycle transition failed for " + task.bookingId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Process one minute: cascade coarser slots on boundaries, then collect this minute's slot
+     */
+    private static void tick(List<Task> due) {
+        if (currentMinute % OVERFLOW_CASCADE_MINUTES == 0) {
+            List<Task> pending = overflow;
+            overflow = new ArrayList<>();
+            pending.forEach(BookingLifecycleScheduler::add);
+        }
+        for (int level = SLOTS.length - 1; level >= 1; level--) {
+            if (currentMinute % TICK_MINUTES[level] == 0) {
+                List<Task> slot = slotFor(level, currentMinute);
+                List<Task> pending = new ArrayList<>(slot);
+                slot.clear();
+                pending.forEach(BookingLifecycleScheduler::add);
+            }
+        }
+
+        List<Task> slot = slotFor(0, currentMinute);
+        due.addAll(slot);
+        slot.clear();
+        // Anything placed for this minute during the cascade above
+        due.addAll(overdue);
+        overdue.clear();
+    }
+
+    /**
+     * Place a task on the finest wheel whose range covers it
+     */
+    private static void add(Task task) {
+        if (task.dueMinute <= currentMinute) {
+            overdue.add(task);
+            return;
+        }
+        for (int level = 0; level < SLOTS.length; level++) {
+            long distance = task.dueMinute / TICK_MINUTES[level] - currentMinute / TICK_MINUTES[level];
+            if (distance < SLOTS[level]) {
+                slotFor(level, task.dueMinute).add(task);
+                return;
+            }
+        }
+        overflow.add(task);
+    }
+
+    private static List<Task> slotFor(int level, long minute) {
+        return wheels.get(level).get((int) ((minute / TICK_MINUTES[level]) % SLOTS[level]));
+    }
+
+    private static List<List<List<Task>>> createWheels() {
+        List<List<List<Task>>> levels = new ArrayList<>();
+        for (int slots : SLOTS) {
+            List<List<Task>> wheel = new ArrayList<>(slots);
+            for (int i = 0; i < slots; i++) {
+                wheel.add(new ArrayList<>());
+            }
+            levels.add(wheel);
+        }
+        return levels;
+    }
+
+    private static long toEpochMinute(LocalDateTime time) {
+        return Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static class Task {
+        final String bookingId;
+        final Transition transition;
+        final long dueMinute;
+
+        Task(String bookingId, Transition transition, long dueMinute) {
+            this.bookingId = bookingId;
+            this.transition = transition;
+            this.dueMinute = dueMinute;
+        }
+    }
+}
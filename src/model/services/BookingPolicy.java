@@ -6,6 +6,7 @@ import model.Room;
 import model.User;
 import model.enums.ReservationPrivilege;
 import model.enums.Role;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Duration;
 
@@ -21,81 +22,50 @@ public class BookingPolicy {
     private static final int MAX_ADVANCE_DAYS = 14;
     // Maximum bookings per user per day
     private static final int MAX_BOOKINGS_PER_USER_PER_DAY = 3;
+    // Minutes after the start time a booking must be checked in by
+    private static final int CHECK_IN_GRACE_MINUTES = 15;
+    // Minutes before the start time check-in opens
+    private static final int CHECK_IN_OPENS_MINUTES = 15;
 
     /**
      * Check if a user can book a facility
      */
     public static boolean canBook(User user, Facility facility, LocalDateTime startTime, LocalDateTime endTime) {
-        if (user == null || facility == null || startTime == null || endTime == null) {
-            return false;
-        }
-
-        // Check if facility is available
-        if (!facility.isAvailable()) {
-            return false;
-        }
-
-        // Check privilege requirements
-        if (!hasRequiredPrivilege(user, facility)) {
-            return false;
-        }
-
-        // Check booking duration
-        if (!isValidDuration(startTime, endTime)) {
-            return false;
-        }
-
-        // Check minimum advance booking time (30 minutes)
-        if (!hasMinimumAdvanceTime(startTime)) {
-            return false;
-        }
-
-        // Check maximum advance booking time (14 days)
-        if (!isWithinAdvanceLimit(startTime)) {
-            return false;
-        }
-
-        // Check user hasn't exceeded daily booking limit
-        if (!isWithinUserDailyLimit(user, startTime)) {
-            return false;
-        }
-
-        // Check for overlapping bookings for this user
-        if (hasUserBookingConflict(user, startTime, endTime)) {
-            return false;
-        }
-
-        // Check booking time is in the future (allow same day if time is still ahead)
-        if (startTime.isBefore(LocalDateTime.now())) {
-            return false;
-        }
-
-        // Check business hours (assuming 8 AM to 10 PM)
-        if (!isWithinBusinessHours(startTime, endTime)) {
-            return false;
-        }
+        return checkBooking(user, facility, startTime, endTime) == null;
+    }
 
-        return true;
+    /**
+     * Check a booking request against the compiled policy (see BookingRuleEngine)
+     * @return the reason the booking is refused, or null if it is allowed
+     */
+    public static String checkBooking(User user, Facility facility, LocalDateTime startTime, LocalDateTime endTime) {
+        return BookingRuleEngine.evaluate(user, facility, startTime, endTime);
     }
 
     /**
      * Check if user has required privilege for the facility
      */
     public static boolean hasRequiredPrivilege(User user, Facility facility) {
-        ReservationPrivilege required = facility.getPrivilege();
+        return isPrivilegeAllowed(user.getRole(), facility.getPrivilege());
+    }
 
+    /**
+     * Check if a role may book facilities with a reservation privilege.
+     * This is the single privilege matrix; access checks and the rule engine derive from it.
+     */
+    public static boolean isPrivilegeAllowed(Role role, ReservationPrivilege required) {
         switch (required) {
             case OPEN:
                 return true; // Anyone can book
 
             case STUDENT_ONLY:
-                return user.getRole() == Role.STUDENT;
+                return role == Role.STUDENT;
 
             case STAFF_ONLY:
-                return user.getRole() == Role.STAFF || user.getRole() == Role.ADMIN;
+                return role == Role.STAFF || role == Role.ADMIN;
 
             case POSTGRADUATE_ONLY:
-                return user.getRole() == Role.POSTGRADUATE;
+                return role == Role.POSTGRADUATE;
 
             case SPECIAL_NEEDS_ONLY:
                 // Would need additional user profile information
@@ -106,7 +76,7 @@ public class BookingPolicy {
                 return false; // Not implemented for demo
 
             case LIBRARY_USE_ONLY:
-                return user.getRole() == Role.STAFF || user.getRole() == Role.ADMIN;
+                return role == Role.STAFF || role == Role.ADMIN;
 
             default:
                 return false;
@@ -153,13 +123,17 @@ public class BookingPolicy {
     public static boolean isWithinUserDailyLimit(User user, LocalDateTime startTime) {
         if (user == null) return false;
 
-        // Count user's bookings for the same day
-        long bookingsToday = user.getMyBookings().stream()
-            .filter(booking -> booking.getStatus() == model.enums.BookingStatus.ACTIVE)
-            .filter(booking -> booking.getStartTime().toLocalDate().equals(startTime.toLocalDate()))
-            .count();
+        // Count user's bookings for the same day from the per-user calendar
+        return countUserBookingsOn(user, startTime.toLocalDate()) < MAX_BOOKINGS_PER_USER_PER_DAY;
+    }
 
-        return bookingsToday < MAX_BOOKINGS_PER_USER_PER_DAY;
+    /**
+     * Count a user's active bookings starting on a date
+     */
+    public static int countUserBookingsOn(User user, LocalDate date) {
+        if (user == null) return 0;
+
+        return BookingService.countActiveBookingsOn(user.getMatricNo(), date);
     }
 
     /**
@@ -168,12 +142,7 @@ public class BookingPolicy {
     public static boolean hasUserBookingConflict(User user, LocalDateTime startTime, LocalDateTime endTime) {
         if (user == null) return false;
 
-        return user.getMyBookings().stream()
-            .filter(booking -> booking.getStatus() == model.enums.BookingStatus.ACTIVE)
-            .anyMatch(booking ->
-                // Check for time overlap
-                (startTime.isBefore(booking.getEndTime()) && endTime.isAfter(booking.getStartTime()))
-            );
+        return BookingService.hasUserBookingConflict(user.getMatricNo(), startTime, endTime);
     }
 
     /**
@@ -185,8 +154,8 @@ public class BookingPolicy {
             return false;
         }
 
-        // Check if facility is available
-        if (!facility.isAvailable()) {
+        // Check if facility takes bookings (AVAILABLE, or BOOKED for another slot)
+        if (!facility.isBookable()) {
             return false;
         }
 
@@ -216,6 +185,13 @@ public class BookingPolicy {
         return MAX_BOOKING_HOURS;
     }
 
+    /**
+     * Get maximum booking duration in hours for a user's role
+     */
+    public static int getMaxBookingHours(User user) {
+        return user != null ? user.getMaxBookingHours() : MAX_BOOKING_HOURS;
+    }
+
     /**
      * Get minimum booking duration in minutes
      */
@@ -244,6 +220,26 @@ public class BookingPolicy {
         return MAX_BOOKINGS_PER_USER_PER_DAY;
     }
 
+    /**
+     * Get check-in grace period in minutes
+     */
+    public static int getCheckInGraceMinutes() {
+        return CHECK_IN_GRACE_MINUTES;
+    }
+
+    /**
+     * Check if a booking can be checked in at the current time
+     */
+    public static boolean canCheckIn(Booking booking) {
+        if (booking == null || booking.getStatus() != model.enums.BookingStatus.ACTIVE || booking.isCheckedIn()) {
+            return false;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return !now.isBefore(booking.getStartTime().minusMinutes(CHECK_IN_OPENS_MINUTES))
+            && now.isBefore(booking.getStartTime().plusMinutes(CHECK_IN_GRACE_MINUTES));
+    }
+
     /**
      * Get business hours as string
      */
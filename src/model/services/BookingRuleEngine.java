@@ -0,0 +1,270 @@
+package model.services;
+
+import model.Facility;
+import model.User;
+import model.enums.FacilityType;
+import model.enums.ReservationPrivilege;
+import model.enums.Role;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Declarative booking policy, compiled into flat rule pipelines.
+ *
+ * A policy is a list of rules, each scoped to a set of roles, facility types and
+ * reservation privileges. compile() resolves the scopes once for every
+ * role x type x privilege combination into an array of the rules that apply,
+ * ordered by declared cost so cheap, selective checks reject early. Rules that
+ * always fail in a scope (e.g. a privilege the role lacks) collapse that pipeline
+ * to the single rejection. Evaluation is an array walk over one shared Context;
+ * its clock reading and duration are taken once, on first use, so a request
+ * refused by a clock-free rule never reads the clock.
+ *
+ * The active policy lives in an AtomicReference; install() compiles a new policy
+ * and swaps it in without disturbing evaluations already running.
+ */
+public class BookingRuleEngine {
+
+    private static final int ROLES = Role.values().length;
+    private static final int TYPES = FacilityType.values().length;
+    private static final int PRIVILEGES = ReservationPrivilege.values().length;
+
+    private static AtomicReference<CompiledPolicy> activePolicy = new AtomicReference<>(compile(defaultRules()));
+
+    /**
+     * Check a booking request against the active policy
+     * @return the reason the request is refused, or null if it is allowed
+     */
+    public static String evaluate(User user, Facility facility, LocalDateTime startTime, LocalDateTime endTime) {
+        if (user == null || facility == null || startTime == null || endTime == null) {
+            return "Invalid booking parameters.";
+        }
+        Context context = new Context(user, facility, startTime, endTime, null);
+        return activePolicy.get().evaluate(context);
+    }
+
+    /**
+     * Compile a policy and make it the active one
+     */
+    public static void install(List<Rule> rules) {
+        activePolicy.set(compile(rules));
+    }
+
+    /**
+     * Resolve every rule scope into one cost-ordered pipeline per role x type x privilege
+     */
+    public static CompiledPolicy compile(List<Rule> rules) {
+        List<Rule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparingInt(rule -> rule.cost));
+
+        Rule[][] pipelines = new Rule[ROLES * TYPES * PRIVILEGES][];
+        for (Role role : Role.values()) {
+            for (FacilityType type : FacilityType.values()) {
+                for (ReservationPrivilege privilege : ReservationPrivilege.values()) {
+                    List<Rule> pipeline = new ArrayList<>();
+                    for (Rule rule : ordered) {
+                        if (!rule.appliesTo(role, type, privilege)) {
+                            continue;
+                        }
+                        if (rule.check == null) {
+                            // Unconditional rejection: nothing else in this scope matters
+                            pipeline.clear();
+                            pipeline.add(rule);
+                            break;
+                        }
+                        pipeline.add(rule);
+                    }
+                    pipelines[slotOf(role, type, privilege)] = pipeline.toArray(new Rule[0]);
+                }
+            }
+        }
+        return new CompiledPolicy(pipelines);
+    }
+
+    /**
+     * The built-in library policy
+     */
+    public static List<Rule> defaultRules() {
+        List<Rule> rules = new ArrayList<>();
+
+        // Privileges depend only on role and facility, so they are settled at compile time
+        for (ReservationPrivilege privilege : ReservationPrivilege.values()) {
+            Set<Role> refused = EnumSet.noneOf(Role.class);
+            for (Role role : Role.values()) {
+                if (!BookingPolicy.isPrivilegeAllowed(role, privilege)) {
+                    refused.add(role);
+                }
+            }
+            if (!refused.isEmpty()) {
+                rules.add(Rule.reject("privilege-" + privilege, "You don't have permission to book this facility.")
+                        .forPrivileges(EnumSet.of(privilege))
+                        .forRoles(refused));
+            }
+        }
+
+        // Messages that depend only on policy constants are built once, not per refusal
+        String tooShort = "Booking duration is too short. Minimum duration is " + BookingPolicy.getMinBookingMinutes() + " minutes.";
+        String tooSoon = "Bookings must be made at least " + BookingPolicy.getMinAdvanceMinutes() + " minutes in advance.";
+        String tooFar = "Bookings cannot be made more than " + BookingPolicy.getMaxAdvanceDays() + " days in advance.";
+        String outsideHours = "Booking times must be within business hours (" + BookingPolicy.getBusinessHours() + ").";
+        String dailyLimit = "You have reached the maximum number of bookings allowed per day ("
+                + BookingPolicy.getMaxBookingsPerUserPerDay() + ").";
+
+        // A facility in use can still take other slots; overlaps are the conflict check's job
+        rules.add(Rule.require("available", 1, c -> c.facility.isBookable(),
+                c -> "Facility is not currently available."));
+        rules.add(Rule.require("future-start", 1, c -> !c.startTime.isBefore(c.now()),
+                c -> "Booking start time must be in the future."));
+        rules.add(Rule.require("minimum-duration", 1, c -> c.durationMinutes() >= BookingPolicy.getMinBookingMinutes(),
+                c -> tooShort));
+        rules.add(Rule.require("maximum-duration", 1, c -> c.durationMinutes() <= c.user.getMaxBookingHours() * 60L,
+                c -> "Booking duration is too long. Maximum duration is " + c.user.getMaxBookingHours() + " hours."));
+        rules.add(Rule.require("minimum-advance", 1,
+                c -> !c.startTime.isBefore(c.now().plusMinutes(BookingPolicy.getMinAdvanceMinutes())),
+                c -> tooSoon));
+        rules.add(Rule.require("advance-limit", 1, c -> {
+                    LocalDateTime limit = c.now().plusDays(BookingPolicy.getMaxAdvanceDays());
+                    return c.startTime.isBefore(limit) || c.startDate.equals(limit.toLocalDate());
+                },
+                c -> tooFar));
+        rules.add(Rule.require("business-hours", 1, c -> BookingPolicy.isWithinBusinessHours(c.startTime, c.endTime),
+                c -> outsideHours));
+        rules.add(Rule.require("daily-limit", 5,
+                c -> BookingService.countActiveBookingsOn(c.user.getMatricNo(), c.startDate) < BookingPolicy.getMaxBookingsPerUserPerDay(),
+                c -> dailyLimit));
+        rules.add(Rule.require("user-overlap", 10,
+                c -> !BookingService.hasUserBookingConflict(c.user.getMatricNo(), c.startTime, c.endTime),
+                c -> "You already have a booking that conflicts with this time slot."));
+        return rules;
+    }
+
+    private static int slotOf(Role role, FacilityType type, ReservationPrivilege privilege) {
+        return (role.ordinal() * TYPES + type.ordinal()) * PRIVILEGES + privilege.ordinal();
+    }
+
+    /**
+     * Everything a rule may look at, computed at most once per evaluation
+     */
+    public static class Context {
+        public final User user;
+        public final Facility facility;
+        public final LocalDateTime startTime;
+        public final LocalDateTime endTime;
+        public final LocalDate startDate;
+        private LocalDateTime now;
+        private long durationMinutes = Long.MIN_VALUE;
+
+        /**
+         * @param now the time to evaluate at, or null to read the clock when a rule first needs it
+         */
+        public Context(User user, Facility facility, LocalDateTime startTime, LocalDateTime endTime, LocalDateTime now) {
+            this.user = user;
+            this.facility = facility;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.now = now;
+            this.startDate = startTime.toLocalDate();
+        }
+
+        public LocalDateTime now() {
+            if (now == null) {
+                now = LocalDateTime.now();
+            }
+            return now;
+        }
+
+        public long durationMinutes() {
+            if (durationMinutes == Long.MIN_VALUE) {
+                durationMinutes = Duration.between(startTime, endTime).toMinutes();
+            }
+            return durationMinutes;
+        }
+    }
+
+    /**
+     * One policy rule with its scope and relative evaluation cost
+     */
+    public static class Rule {
+        public final String name;
+        public final int cost;
+        private final Predicate<Context> check;
+        private final Function<Context, String> message;
+        private Set<Role> roles = EnumSet.allOf(Role.class);
+        private Set<FacilityType> types = EnumSet.allOf(FacilityType.class);
+        private Set<ReservationPrivilege> privileges = EnumSet.allOf(ReservationPrivilege.class);
+
+        private Rule(String name, int cost, Predicate<Context> check, Function<Context, String> message) {
+            this.name = name;
+            this.cost = cost;
+            this.check = check;
+            this.message = message;
+        }
+
+        /**
+         * A rule that must hold; the message explains a failure
+         */
+        public static Rule require(String name, int cost, Predicate<Context> check, Function<Context, String> message) {
+            return new Rule(name, cost, check, message);
+        }
+
+        /**
+         * A rule that refuses every request in its scope
+         */
+        public static Rule reject(String name, String message) {
+            return new Rule(name, 0, null, c -> message);
+        }
+
+        public Rule forRoles(Set<Role> roles) {
+            this.roles = EnumSet.copyOf(roles);
+            return this;
+        }
+
+        public Rule forTypes(Set<FacilityType> types) {
+            this.types = EnumSet.copyOf(types);
+            return this;
+        }
+
+        public Rule forPrivileges(Set<ReservationPrivilege> privileges) {
+            this.privileges = EnumSet.copyOf(privileges);
+            return this;
+        }
+
+        boolean appliesTo(Role role, FacilityType type, ReservationPrivilege privilege) {
+            return roles.contains(role) && types.contains(type) && privileges.contains(privilege);
+        }
+    }
+
+    /**
+     * Immutable result of compile(): one rule array per role x type x privilege
+     */
+    public static class CompiledPolicy {
+        private final Rule[][] pipelines;
+
+        private CompiledPolicy(Rule[][] pipelines) {
+            this.pipelines = pipelines;
+        }
+
+        /**
+         * @return the message of the first failing rule, or null if every rule passes
+         */
+        public String evaluate(Context context) {
+            Rule[] pipeline = pipelines[slotOf(context.user.getRole(), context.facility.getType(),
+                    context.facility.getPrivilege())];
+            for (Rule rule : pipeline) {
+                if (rule.check == null || !rule.check.test(context)) {
+                    return rule.message.apply(context);
+                }
+            }
+            return null;
+        }
+    }
+}
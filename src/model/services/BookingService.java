@@ -4,47 +4,250 @@ import model.Booking;
 import model.Facility;
 import model.User;
 import model.enums.BookingStatus;
+import model.repository.BookingRepository;
+import model.repository.Repositories;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Booking engine. Writes are serialized per facility (and per user, for the
+ * daily-limit and overlap rules) through striped locks, always taken user
+ * first then facility. Reads go straight to the concurrent indexes without locking.
+ *
+ * Bookings are kept in a BookingRepository (see Repositories). With the default
+ * in-memory repository every mutation is appended to a write-ahead journal (see
+ * BookingJournal) and the last persisted state is restored when the class is first
+ * used. The data directory defaults to "data" and can be changed with
+ * -Diium.data.dir=...; persistence can be switched off with -Diium.persistence=false.
+ * A database repository is durable by itself, so the journal is not used with it.
+ *
+ * Finished bookings can be moved out of the in-memory store into a compact columnar
+ * archive with archiveBookings(); -Diium.archive.days=N does so at startup for
+ * bookings that ended more than N days ago. Query methods cover both stores.
+ *
+ * Active bookings are driven through their lifecycle by BookingLifecycleScheduler:
+ * a booking not checked in within the grace period becomes NO_SHOW, and a booking
+ * that has ended becomes COMPLETED; either way the room is released.
+ */
 public class BookingService {
 
-    private static List<Booking> allBookings = new ArrayList<>();
+    private static final int LOCK_STRIPES = 64;
+
+    private static BookingRepository repository = Repositories.bookings();
+    private static BookingIndex index = new BookingIndex();
+    private static ColumnarBookingStore archive = new ColumnarBookingStore();
+    private static StripedLocks userLocks = new StripedLocks(LOCK_STRIPES);
+    private static StripedLocks facilityLocks = new StripedLocks(LOCK_STRIPES);
+    private static BookingJournal journal;
+
+    static {
+        restore();
+        archiveOnStartup();
+        BookingLifecycleScheduler.start();
+    }
 
     /**
      * Create a new booking
      */
     public static Booking createBooking(User user, Facility facility, LocalDateTime startTime, LocalDateTime endTime) {
-        // Validate booking policy
-        if (!BookingPolicy.canBook(user, facility, startTime, endTime)) {
+        if (user == null || facility == null) {
             return null;
         }
 
-        // Check for conflicts
-        if (hasBookingConflict(facility.getId(), startTime, endTime)) {
-            return null;
+        Booking booking;
+        CompletableFuture<Void> durable;
+        ReentrantLock userLock = userLocks.forKey(user.getMatricNo());
+        ReentrantLock facilityLock = facilityLocks.forKey(facility.getId());
+        userLock.lock();
+        try {
+            facilityLock.lock();
+            try {
+                // Validate booking policy
+                if (!BookingPolicy.canBook(user, facility, startTime, endTime)) {
+                    return null;
+                }
+
+                // Check for conflicts
+                if (hasBookingConflict(facility.getId(), startTime, endTime)) {
+                    return null;
+                }
+
+                booking = new Booking(facility.getId(), user.getMatricNo(), startTime, endTime);
+                // Stored before it is registered or announced, so a store that refuses it leaves no trace
+                if (!repository.save(booking)) {
+                    return null;
+                }
+                insertBooking(user, booking);
+                durable = journalCreate(booking);
+            } finally {
+                facilityLock.unlock();
+            }
+        } finally {
+            userLock.unlock();
+        }
+
+        // Wait for the group commit outside the locks
+        awaitDurable(durable);
+        return booking;
+    }
+
+    /**
+     * Create several bookings atomically: either every request is booked or none is.
+     * The whole batch is validated in one pass against the conflict index and against
+     * its own earlier items, with every affected user and facility lock held (taken in
+     * ascending stripe order, users before facilities, so batches cannot deadlock).
+     * @return one result per request, in request order
+     */
+    public static List<BookingResult> createBookings(List<BookingRequest> requests) {
+        List<BookingResult> results = new ArrayList<>();
+        if (requests == null || requests.isEmpty()) {
+            return results;
+        }
+        for (BookingRequest request : requests) {
+            if (request == null || request.user == null || request.facility == null) {
+                for (BookingRequest r : requests) {
+                    results.add(new BookingResult(r, null, "Incomplete booking request in batch"));
+                }
+                return results;
+            }
+        }
+
+        SortedSet<Integer> userStripes = new TreeSet<>();
+        SortedSet<Integer> facilityStripes = new TreeSet<>();
+        for (BookingRequest request : requests) {
+            userStripes.add(userLocks.indexOf(request.user.getMatricNo()));
+            facilityStripes.add(facilityLocks.indexOf(request.facility.getId()));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>();
+        List<CompletableFuture<Void>> durables = new ArrayList<>();
+        try {
+            for (int stripe : userStripes) {
+                ReentrantLock lock = userLocks.at(stripe);
+                lock.lock();
+                held.add(lock);
+            }
+            for (int stripe : facilityStripes) {
+                ReentrantLock lock = facilityLocks.at(stripe);
+                lock.lock();
+                held.add(lock);
+            }
+
+            // Validate everything before touching any state
+            String[] failures = new String[requests.size()];
+            boolean allValid = true;
+            for (int i = 0; i < requests.size(); i++) {
+                failures[i] = validateBatchItem(requests, i);
+                allValid &= failures[i] == null;
+            }
+
+            if (!allValid) {
+                for (int i = 0; i < requests.size(); i++) {
+                    String reason = failures[i] != null ? failures[i] : "Not booked: another request in the batch failed";
+                    results.add(new BookingResult(requests.get(i), null, reason));
+                }
+                return results;
+            }
+
+            List<Booking> created = new ArrayList<>();
+            for (BookingRequest request : requests) {
+                created.add(new Booking(request.facility.getId(), request.user.getMatricNo(),
+                        request.startTime, request.endTime));
+            }
+            // One batched write for the whole batch, before any of it is registered
+            if (!repository.saveAll(created)) {
+                for (BookingRequest request : requests) {
+                    results.add(new BookingResult(request, null, "Not booked: the booking could not be stored"));
+                }
+                return results;
+            }
+            for (int i = 0; i < requests.size(); i++) {
+                Booking booking = created.get(i);
+                insertBooking(requests.get(i).user, booking);
+                durables.add(journalCreate(booking));
+                results.add(new BookingResult(requests.get(i), booking, null));
+            }
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+
+        // A single wait covers the whole batch's group commit
+        for (CompletableFuture<Void> durable : durables) {
+            awaitDurable(durable);
+        }
+        return results;
+    }
+
+    /**
+     * Check one batch item against the policy, the conflict index and the batch items before it
+     * @return the failure reason, or null if the item is valid
+     */
+    private static String validateBatchItem(List<BookingRequest> requests, int position) {
+        BookingRequest request = requests.get(position);
+        if (!BookingPolicy.canBook(request.user, request.facility, request.startTime, request.endTime)) {
+            return "Rejected by booking policy";
+        }
+        if (hasBookingConflict(request.facility.getId(), request.startTime, request.endTime)) {
+            return "Time slot already booked";
         }
 
-        // Create booking
-        Booking booking = new Booking(facility.getId(), user.getMatricNo(), startTime, endTime);
-        allBookings.add(booking);
+        int sameDay = BookingPolicy.countUserBookingsOn(request.user, request.startTime.toLocalDate());
+        for (int i = 0; i < position; i++) {
+            BookingRequest earlier = requests.get(i);
+            boolean overlaps = earlier.startTime.isBefore(request.endTime) && request.startTime.isBefore(earlier.endTime);
+            if (overlaps && earlier.facility.getId().equals(request.facility.getId())) {
+                return "Overlaps request " + (i + 1) + " in the same batch";
+            }
+            if (earlier.user.getMatricNo().equals(request.user.getMatricNo())) {
+                if (overlaps) {
+                    return "User already has request " + (i + 1) + " at this time";
+                }
+                if (earlier.startTime.toLocalDate().equals(request.startTime.toLocalDate())) {
+                    sameDay++;
+                }
+            }
+        }
+        if (sameDay >= BookingPolicy.getMaxBookingsPerUserPerDay()) {
+            return "Daily booking limit reached";
+        }
+        return null;
+    }
+
+    /**
+     * Register a new booking the repository has stored; caller holds the user and facility locks
+     */
+    private static void insertBooking(User user, Booking booking) {
+        register(booking);
 
-        // Update facility status
-        facility.setStatus(model.enums.FacilityStatus.BOOKED);
+        // The facility is marked BOOKED by the START transition, not at creation
 
         // Add to user's bookings
         user.getMyBookings().add(booking);
-
-        return booking;
+        ChangeEventBus.publish(new ChangeEventBus.BookingCreated(booking));
     }
 
     /**
      * Cancel a booking
      */
     public static boolean cancelBooking(User user, Booking booking) {
-        if (booking == null || booking.getStatus() != BookingStatus.ACTIVE) {
+        if (booking == null || user == null) {
             return false;
         }
 
@@ -53,120 +256,490 @@ public class BookingService {
             return false;
         }
 
-        // Update booking status
-        booking.setStatus(BookingStatus.CANCELLED);
+        CompletableFuture<Void> durable;
+        ReentrantLock facilityLock = facilityLocks.forKey(booking.getFacilityId());
+        facilityLock.lock();
+        try {
+            if (booking.getStatus() != BookingStatus.ACTIVE) {
+                return false;
+            }
 
-        // Update facility status back to available
-        Facility facility = FacilityService.findFacilityById(booking.getFacilityId());
-        if (facility != null) {
-            facility.setStatus(model.enums.FacilityStatus.AVAILABLE);
+            // Update booking status
+            if (!changeStatus(booking, BookingStatus.CANCELLED)) {
+                return false;
+            }
+            durable = journalStatus(booking);
+
+            // Free the facility unless another booking is in progress
+            releaseFacility(booking.getFacilityId(), LocalDateTime.now());
+        } finally {
+            facilityLock.unlock();
+        }
+
+        awaitDurable(durable);
+        return true;
+    }
+
+    /**
+     * Check in to a booking; only possible around its start time
+     */
+    public static boolean checkIn(User user, Booking booking) {
+        if (booking == null || user == null) {
+            return false;
+        }
+
+        // Check if user owns this booking
+        if (!booking.getUserId().equals(user.getMatricNo())) {
+            return false;
         }
 
+        CompletableFuture<Void> durable;
+        ReentrantLock facilityLock = facilityLocks.forKey(booking.getFacilityId());
+        facilityLock.lock();
+        try {
+            if (!BookingPolicy.canCheckIn(booking)) {
+                return false;
+            }
+            booking.setCheckedIn(true);
+            if (!repository.update(booking)) {
+                booking.setCheckedIn(false);
+                return false;
+            }
+            // Journaled so a restart before the grace deadline does not mark it a no-show
+            durable = journal == null ? CompletableFuture.completedFuture(null)
+                    : journal.appendCheckIn(booking.getBookingID());
+            ChangeEventBus.publish(new ChangeEventBus.BookingCheckedIn(booking));
+        } finally {
+            facilityLock.unlock();
+        }
+
+        awaitDurable(durable);
         return true;
     }
 
+    /**
+     * Apply a scheduled lifecycle transition; ignored unless the booking is still ACTIVE
+     */
+    static void applyLifecycleTransition(String bookingId, BookingLifecycleScheduler.Transition transition) {
+        Booking booking = index.findById(bookingId);
+        if (booking == null) {
+            return;
+        }
+
+        CompletableFuture<Void> durable = null;
+        ReentrantLock facilityLock = facilityLocks.forKey(booking.getFacilityId());
+        facilityLock.lock();
+        try {
+            if (booking.getStatus() != BookingStatus.ACTIVE) {
+                return;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            switch (transition) {
+                case START:
+                    Facility facility = FacilityService.findFacilityById(booking.getFacilityId());
+                    if (facility != null && facility.isAvailable() && now.isBefore(booking.getEndTime())) {
+                        facility.setStatus(model.enums.FacilityStatus.BOOKED);
+                    }
+                    break;
+
+                case GRACE_EXPIRED:
+                    if (!booking.isCheckedIn() && changeStatus(booking, BookingStatus.NO_SHOW)) {
+                        durable = journalStatus(booking);
+                        releaseFacility(booking.getFacilityId(), now);
+                    }
+                    break;
+
+                case END:
+                    if (changeStatus(booking, BookingStatus.COMPLETED)) {
+                        durable = journalStatus(booking);
+                        releaseFacility(booking.getFacilityId(), now);
+                    }
+                    break;
+            }
+        } finally {
+            facilityLock.unlock();
+        }
+
+        if (durable != null) {
+            awaitDurable(durable);
+        }
+    }
+
+    /**
+     * Set a booked facility back to available unless another active booking is in progress;
+     * caller holds the facility lock
+     */
+    private static void releaseFacility(String facilityId, LocalDateTime now) {
+        Facility facility = FacilityService.findFacilityById(facilityId);
+        if (facility != null && facility.getStatus() == model.enums.FacilityStatus.BOOKED
+                && !index.hasOverlap(facilityId, now, now.plusMinutes(1))) {
+            facility.setStatus(model.enums.FacilityStatus.AVAILABLE);
+        }
+    }
+
     /**
      * Get all bookings
      */
     public static List<Booking> getAllBookings() {
-        return new ArrayList<>(allBookings);
+        List<Booking> result = archive.findAll();
+        result.addAll(repository.findAll());
+        return result;
     }
 
     /**
      * Get bookings for a specific user
      */
     public static List<Booking> getBookingsForUser(String userId) {
-        return allBookings.stream()
-                .filter(b -> b.getUserId().equals(userId))
-                .collect(Collectors.toList());
+        List<Booking> result = archive.findByUser(userId);
+        result.addAll(index.findByUser(userId));
+        return result;
     }
 
     /**
      * Get bookings for a specific facility
      */
     public static List<Booking> getBookingsForFacility(String facilityId) {
-        return allBookings.stream()
-                .filter(b -> b.getFacilityId().equals(facilityId))
-                .collect(Collectors.toList());
+        List<Booking> result = archive.findByFacility(facilityId);
+        result.addAll(index.findByFacility(facilityId));
+        return result;
     }
 
     /**
      * Get active bookings
      */
     public static List<Booking> getActiveBookings() {
-        return allBookings.stream()
-                .filter(b -> b.getStatus() == BookingStatus.ACTIVE)
-                .collect(Collectors.toList());
+        return index.findByStatus(BookingStatus.ACTIVE);
     }
 
     /**
      * Check for booking conflicts
      */
     public static boolean hasBookingConflict(String facilityId, LocalDateTime startTime, LocalDateTime endTime) {
-        return allBookings.stream()
-                .filter(b -> b.getFacilityId().equals(facilityId))
-                .filter(b -> b.getStatus() == BookingStatus.ACTIVE)
-                .anyMatch(b -> timeSlotsOverlap(b.getStartTime(), b.getEndTime(), startTime, endTime));
+        return index.hasOverlap(facilityId, startTime, endTime);
+    }
+
+    /**
+     * Get active bookings of a facility overlapping a time slot
+     */
+    public static List<Booking> getConflictingBookings(String facilityId, LocalDateTime startTime, LocalDateTime endTime) {
+        return index.findOverlapping(facilityId, startTime, endTime);
+    }
+
+    /**
+     * Count a user's active bookings starting on a date
+     */
+    static int countActiveBookingsOn(String userId, LocalDate date) {
+        return index.countUserActiveOn(userId, date);
     }
 
     /**
-     * Check if two time slots overlap
+     * Check whether a user already has an active booking overlapping a time slot
      */
-    private static boolean timeSlotsOverlap(LocalDateTime start1, LocalDateTime end1,
-                                          LocalDateTime start2, LocalDateTime end2) {
-        return start1.isBefore(end2) && start2.isBefore(end1);
+    static boolean hasUserBookingConflict(String userId, LocalDateTime startTime, LocalDateTime endTime) {
+        return index.hasUserOverlap(userId, startTime, endTime);
     }
 
     /**
      * Get bookings by date range
      */
     public static List<Booking> getBookingsByDateRange(LocalDateTime start, LocalDateTime end) {
-        return allBookings.stream()
-                .filter(b -> !b.getStartTime().isBefore(start) && !b.getStartTime().isAfter(end))
-                .collect(Collectors.toList());
+        List<Booking> result = archive.findStartingBetween(start, end);
+        result.addAll(repository.findStartingBetween(start, end));
+        return result;
     }
 
     /**
      * Get bookings by status
      */
     public static List<Booking> getBookingsByStatus(BookingStatus status) {
-        return allBookings.stream()
-                .filter(b -> b.getStatus() == status)
-                .collect(Collectors.toList());
+        List<Booking> result = archive.findByStatus(status);
+        result.addAll(index.findByStatus(status));
+        return result;
     }
 
     /**
      * Find booking by ID
      */
     public static Booking findBookingById(String bookingId) {
-        return allBookings.stream()
-                .filter(b -> b.getBookingID().equals(bookingId))
-                .findFirst()
-                .orElse(null);
+        Booking booking = index.findById(bookingId);
+        return booking != null ? booking : archive.findById(bookingId);
     }
 
     /**
-     * Update booking status (Admin only)
+     * Update booking status (Admin only); archived bookings are read-only
      */
     public static boolean updateBookingStatus(String bookingId, BookingStatus status) {
-        Booking booking = findBookingById(bookingId);
-        if (booking != null) {
-            booking.setStatus(status);
+        Booking booking = index.findById(bookingId);
+        if (booking == null) {
+            return false;
+        }
+
+        CompletableFuture<Void> durable;
+        ReentrantLock facilityLock = facilityLocks.forKey(booking.getFacilityId());
+        facilityLock.lock();
+        try {
+            // Archived while we waited for the lock
+            if (index.findById(bookingId) != booking) {
+                return false;
+            }
+            if (!changeStatus(booking, status)) {
+                return false;
+            }
+            durable = journalStatus(booking);
+            if (status != BookingStatus.ACTIVE) {
+                releaseFacility(booking.getFacilityId(), LocalDateTime.now());
+            }
+        } finally {
+            facilityLock.unlock();
+        }
+
+        awaitDurable(durable);
+        return true;
+    }
+
+    /**
+     * Move finished (non-ACTIVE) bookings that ended before the cutoff into the
+     * columnar archive. Archived bookings are returned by queries as read-only copies.
+     * A database repository keeps history on disk already, so nothing is archived from it.
+     * @return the number of bookings archived
+     */
+    public static int archiveBookings(LocalDateTime cutoff) {
+        if (repository.isDurable()) {
+            return 0;
+        }
+        Map<String, List<Booking>> candidates = new HashMap<>();
+        for (Booking booking : repository.findAll()) {
+            if (booking.getStatus() != BookingStatus.ACTIVE && booking.getEndTime().isBefore(cutoff)) {
+                candidates.computeIfAbsent(booking.getFacilityId(), id -> new ArrayList<>()).add(booking);
+            }
+        }
+
+        int archived = 0;
+        for (Map.Entry<String, List<Booking>> entry : candidates.entrySet()) {
+            archived += archiveFacilityBookings(entry.getKey(), entry.getValue());
+        }
+        return archived;
+    }
+
+    /**
+     * Move one facility's finished bookings into the archive. The whole move happens
+     * under the facility lock, and each booking's status is checked again there, so a
+     * booking reactivated since it was picked stays live and untouched
+     */
+    private static int archiveFacilityBookings(String facilityId, List<Booking> candidates) {
+        ReentrantLock facilityLock = facilityLocks.forKey(facilityId);
+        facilityLock.lock();
+        try {
+            List<Booking> archived = new ArrayList<>();
+            for (Booking booking : candidates) {
+                if (booking.getStatus() != BookingStatus.ACTIVE && index.findById(booking.getBookingID()) == booking) {
+                    archive.add(booking);
+                    archived.add(booking);
+                }
+            }
+            if (archived.isEmpty()) {
+                return 0;
+            }
+
+            index.removeInactive(archived);
+            repository.removeAll(archived);
+            StatisticsService.bookingsArchived(archived);
+            Set<Booking> moved = Collections.newSetFromMap(new IdentityHashMap<>());
+            moved.addAll(archived);
+            Set<String> userIds = new HashSet<>();
+            for (Booking booking : archived) {
+                userIds.add(booking.getUserId());
+            }
+            for (String userId : userIds) {
+                User user = AuthService.getUser(userId);
+                if (user != null) {
+                    user.getMyBookings().removeIf(moved::contains);
+                }
+            }
+            return archived.size();
+        } finally {
+            facilityLock.unlock();
+        }
+    }
+
+    /**
+     * Archive old history at startup when -Diium.archive.days is set
+     */
+    private static void archiveOnStartup() {
+        String days = System.getProperty("iium.archive.days");
+        if (days != null) {
+            int archived = archiveBookings(LocalDateTime.now().minusDays(Long.parseLong(days)));
+            System.out.println("Archived " + archived + " finished bookings");
+        }
+    }
+
+    /**
+     * Restore the last persisted state, from the repository if it is durable and
+     * from the booking journal otherwise
+     */
+    private static void restore() {
+        if (repository.isDurable()) {
+            for (Booking booking : repository.findAll()) {
+                register(booking);
+                attachToUser(booking);
+            }
+        } else if (!restoreFromJournal()) {
+            return;
+        }
+
+        // Bookings in progress keep their facilities booked, as their START transition did
+        LocalDateTime now = LocalDateTime.now();
+        for (Booking booking : index.findByStatus(BookingStatus.ACTIVE)) {
+            if (now.isBefore(booking.getStartTime()) || !now.isBefore(booking.getEndTime())) {
+                continue;
+            }
+            Facility facility = FacilityService.findFacilityById(booking.getFacilityId());
+            if (facility != null && facility.isAvailable()) {
+                facility.setStatus(model.enums.FacilityStatus.BOOKED);
+            }
+        }
+    }
+
+    /**
+     * Open the booking journal and replay it into the in-memory repository
+     * @return false if persistence is off or the journal could not be opened
+     */
+    private static boolean restoreFromJournal() {
+        if (!Boolean.parseBoolean(System.getProperty("iium.persistence", "true"))) {
+            return false;
+        }
+
+        try {
+            BookingJournal opened = BookingJournal.open(Paths.get(System.getProperty("iium.data.dir", "data")));
+            opened.recover(BookingService::restoreBooking, BookingService::restoreStatus, BookingService::restoreCheckIn);
+            opened.start(BookingService::getAllBookings);
+            journal = opened;
             return true;
+        } catch (IOException e) {
+            System.err.println("Booking persistence disabled: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Replay a persisted booking; replaying one that is already known only refreshes its status
+     */
+    private static void restoreBooking(Booking restored) {
+        if (index.findById(restored.getBookingID()) != null) {
+            restoreStatus(restored.getBookingID(), restored.getStatus());
+            if (restored.isCheckedIn()) {
+                restoreCheckIn(restored.getBookingID());
+            }
+            return;
+        }
+
+        repository.save(restored);
+        register(restored);
+        attachToUser(restored);
+    }
+
+    /**
+     * Add a restored booking to its user's list, if the user exists yet
+     */
+    private static void attachToUser(Booking booking) {
+        User user = AuthService.getUser(booking.getUserId());
+        if (user != null) {
+            user.getMyBookings().add(booking);
+        }
+    }
+
+    /**
+     * Replay a persisted status change
+     */
+    private static void restoreStatus(String bookingId, BookingStatus status) {
+        Booking booking = index.findById(bookingId);
+        if (booking != null && booking.getStatus() != status) {
+            changeStatus(booking, status);
+        }
+    }
+
+    /**
+     * Replay a persisted check-in
+     */
+    private static void restoreCheckIn(String bookingId) {
+        Booking booking = index.findById(bookingId);
+        if (booking != null) {
+            booking.setCheckedIn(true);
+        }
+    }
+
+    /**
+     * Add a booking to every derived structure; caller holds the facility lock
+     */
+    private static void register(Booking booking) {
+        index.add(booking);
+        StatisticsService.bookingAdded(booking);
+        if (booking.getStatus() == BookingStatus.ACTIVE) {
+            AvailabilityService.bookingActivated(booking);
+            BookingLifecycleScheduler.schedule(booking);
+        }
+    }
+
+    /**
+     * Change a booking's status and update every derived structure; caller holds the facility lock
+     * @return false if the repository could not store the change, which is then undone
+     */
+    private static boolean changeStatus(Booking booking, BookingStatus status) {
+        BookingStatus oldStatus = booking.getStatus();
+        booking.setStatus(status);
+        if (!repository.update(booking)) {
+            // Nothing derived from the status has changed yet
+            booking.setStatus(oldStatus);
+            return false;
+        }
+        index.statusChanged(booking, oldStatus);
+        StatisticsService.bookingStatusChanged(booking, oldStatus, status);
+
+        if (oldStatus == BookingStatus.ACTIVE && status != BookingStatus.ACTIVE) {
+            AvailabilityService.bookingReleased(booking);
+        } else if (oldStatus != BookingStatus.ACTIVE && status == BookingStatus.ACTIVE) {
+            AvailabilityService.bookingActivated(booking);
+            BookingLifecycleScheduler.schedule(booking);
+        }
+
+        // Published last: subscribers re-read the index, statistics and slot bitmaps
+        ChangeEventBus.publish(new ChangeEventBus.BookingStatusChanged(booking, oldStatus, status));
+        return true;
+    }
+
+    private static CompletableFuture<Void> journalCreate(Booking booking) {
+        return journal == null ? CompletableFuture.completedFuture(null) : journal.appendCreate(booking);
+    }
+
+    private static CompletableFuture<Void> journalStatus(Booking booking) {
+        return journal == null ? CompletableFuture.completedFuture(null)
+                : journal.appendStatus(booking.getBookingID(), booking.getStatus());
+    }
+
+    /**
+     * Block until a journal record is on disk; a failed write is reported but the
+     * in-memory change stands
+     */
+    private static void awaitDurable(CompletableFuture<Void> durable) {
+        try {
+            durable.join();
+        } catch (CompletionException e) {
+            System.err.println("Failed to persist booking change: " + e.getCause().getMessage());
         }
-        return false;
     }
 
     /**
      * Get booking statistics
      */
     public static BookingStats getBookingStats() {
-        long total = allBookings.size();
-        long active = allBookings.stream().filter(b -> b.getStatus() == BookingStatus.ACTIVE).count();
-        long cancelled = allBookings.stream().filter(b -> b.getStatus() == BookingStatus.CANCELLED).count();
-        long completed = allBookings.stream().filter(b -> b.getStatus() == BookingStatus.COMPLETED).count();
+        long active = StatisticsService.getBookingCount(BookingStatus.ACTIVE);
+        long cancelled = StatisticsService.getBookingCount(BookingStatus.CANCELLED);
+        long completed = StatisticsService.getBookingCount(BookingStatus.COMPLETED);
+        long noShow = StatisticsService.getBookingCount(BookingStatus.NO_SHOW);
+        long total = active + cancelled + completed + noShow;
 
-        return new BookingStats(total, active, cancelled, completed);
+        return new BookingStats(total, active, cancelled, completed, noShow);
     }
 
     /**
@@ -177,12 +750,54 @@ public class BookingService {
         public final long active;
         public final long cancelled;
         public final long completed;
+        public final long noShow;
 
         public BookingStats(long total, long active, long cancelled, long completed) {
+            this(total, active, cancelled, completed, 0);
+        }
+
+        public BookingStats(long total, long active, long cancelled, long completed, long noShow) {
             this.total = total;
             this.active = active;
             this.cancelled = cancelled;
             this.completed = completed;
+            this.noShow = noShow;
+        }
+    }
+
+    /**
+     * One booking in a createBookings batch
+     */
+    public static class BookingRequest {
+        public final User user;
+        public final Facility facility;
+        public final LocalDateTime startTime;
+        public final LocalDateTime endTime;
+
+        public BookingRequest(User user, Facility facility, LocalDateTime startTime, LocalDateTime endTime) {
+            this.user = user;
+            this.facility = facility;
+            this.startTime = startTime;
+            this.endTime = endTime;
+        }
+    }
+
+    /**
+     * Outcome of one request in a createBookings batch
+     */
+    public static class BookingResult {
+        public final BookingRequest request;
+        public final Booking booking;
+        public final String failureReason;
+
+        public BookingResult(BookingRequest request, Booking booking, String failureReason) {
+            this.request = request;
+            this.booking = booking;
+            this.failureReason = failureReason;
+        }
+
+        public boolean isSuccess() {
+            return booking != null;
         }
     }
-}
\ No newline at end of file
+}
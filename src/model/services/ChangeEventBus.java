@@ -0,0 +1,205 @@
+package model.services;
+
+import model.Booking;
+import model.Facility;
+import model.enums.BookingStatus;
+import model.enums.FacilityStatus;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Typed change-event bus for domain mutations.
+ *
+ * BookingService and FacilityService publish an event after every booking creation,
+ * booking status change and catalog facility status change, once the indexes,
+ * statistics and slot bitmaps already reflect it, so subscribers can re-read them.
+ * Publishing only enqueues; a single dispatcher thread delivers events to subscribers
+ * in publication order, so a slow listener never holds up a booking write. UI code should not subscribe
+ * directly but through a toolkit adapter that hops onto its own thread.
+ *
+ * Booking events carry the slot bitmaps of their days only while some subscriber
+ * asked for them (subscribeWithOccupancy), since reading them costs time under the
+ * facility lock and the desktop views never use them.
+ */
+public class ChangeEventBus {
+
+    private static final int MAX_BATCH = 1024;
+
+    private static List<Subscriber<?>> subscribers = new CopyOnWriteArrayList<>();
+    private static BlockingQueue<ChangeEvent> queue = new LinkedBlockingQueue<>();
+    private static final AtomicInteger occupancySubscribers = new AtomicInteger();
+
+    static {
+        Thread dispatcher = new Thread(ChangeEventBus::dispatchLoop, "change-event-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /**
+     * Subscribe to events of a type (ChangeEvent.class for every event)
+     */
+    public static <E extends ChangeEvent> Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        Subscriber<E> subscriber = new Subscriber<>(type, listener);
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * Subscribe to events of a type, with booking events carrying their slot bitmaps.
+     * Events created before the subscription may still arrive without them
+     */
+    public static <E extends ChangeEvent> Subscription subscribeWithOccupancy(Class<E> type, Consumer<? super E> listener) {
+        occupancySubscribers.incrementAndGet();
+        Subscription subscription = subscribe(type, listener);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        return () -> {
+            if (cancelled.compareAndSet(false, true)) {
+                subscription.cancel();
+                occupancySubscribers.decrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * The slot bitmaps of a booking's days if a subscriber wants them, else null
+     */
+    private static long[] occupancyFor(Booking booking) {
+        return occupancySubscribers.get() > 0 ? AvailabilityService.getOccupancy(booking) : null;
+    }
+
+    /**
+     * Queue an event for delivery; events nobody listens to are dropped straight away
+     */
+    static void publish(ChangeEvent event) {
+        if (!subscribers.isEmpty()) {
+            queue.add(event);
+        }
+    }
+
+    private static void dispatchLoop() {
+        List<ChangeEvent> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (ChangeEvent event : batch) {
+                    for (Subscriber<?> subscriber : subscribers) {
+                        subscriber.deliver(event);
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Handle for cancelling a subscription
+     */
+    public interface Subscription {
+        void cancel();
+    }
+
+    private static class Subscriber<E extends ChangeEvent> {
+        final Class<E> type;
+        final Consumer<? super E> listener;
+
+        Subscriber(Class<E> type, Consumer<? super E> listener) {
+            this.type = type;
+            this.listener = listener;
+        }
+
+        void deliver(ChangeEvent event) {
+            if (!type.isInstance(event)) {
+                return;
+            }
+            try {
+                listener.accept(type.cast(event));
+            } catch (RuntimeException e) {
+                System.err.println("Change event listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Base class of every domain change event
+     */
+    public abstract static class ChangeEvent {
+    }
+
+    /**
+     * A booking was created
+     */
+    public static class BookingCreated extends ChangeEvent {
+        public final Booking booking;
+        /**
+         * Slot bitmaps of each day the booking spans, as of when the event was created;
+         * null unless a subscriber asked for them
+         */
+        public final long[] occupancy;
+
+        public BookingCreated(Booking booking) {
+            this.booking = booking;
+            this.occupancy = occupancyFor(booking);
+        }
+    }
+
+    /**
+     * A booking moved from one status to another
+     */
+    public static class BookingStatusChanged extends ChangeEvent {
+        public final Booking booking;
+        public final BookingStatus oldStatus;
+        public final BookingStatus newStatus;
+        /**
+         * Slot bitmaps of each day the booking spans, as of when the event was created;
+         * null unless a subscriber asked for them
+         */
+        public final long[] occupancy;
+
+        public BookingStatusChanged(Booking booking, BookingStatus oldStatus, BookingStatus newStatus) {
+            this(booking, oldStatus, newStatus, occupancyFor(booking));
+        }
+
+        public BookingStatusChanged(Booking booking, BookingStatus oldStatus, BookingStatus newStatus, long[] occupancy) {
+            this.booking = booking;
+            this.oldStatus = oldStatus;
+            this.newStatus = newStatus;
+            this.occupancy = occupancy;
+        }
+    }
+
+    /**
+     * A booking's holder checked in
+     */
+    public static class BookingCheckedIn extends ChangeEvent {
+        public final Booking booking;
+
+        public BookingCheckedIn(Booking booking) {
+            this.booking = booking;
+        }
+    }
+
+    /**
+     * A catalog facility moved from one status to another
+     */
+    public static class FacilityStatusChanged extends ChangeEvent {
+        public final Facility facility;
+        public final FacilityStatus oldStatus;
+        public final FacilityStatus newStatus;
+
+        public FacilityStatusChanged(Facility facility, FacilityStatus oldStatus, FacilityStatus newStatus) {
+            this.facility = facility;
+            this.oldStatus = oldStatus;
+            this.newStatus = newStatus;
+        }
+    }
+}
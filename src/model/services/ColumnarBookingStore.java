@@ -0,0 +1,288 @@
+package model.services;
+
+import model.Booking;
+import model.enums.BookingStatus;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Struct-of-arrays booking store for finished history.
+ *
+ * Each booking is one row across parallel primitive arrays: facility and user as
+ * dictionary codes, start and end as epoch minutes, status as an ordinal byte and
+ * the numeric part of the booking ID. That is 21 bytes of column data (plus a few
+ * ints of index postings) per booking instead of a Booking object with two
+ * LocalDateTimes and three Strings. Booking objects are only materialized, as
+ * detached read-only copies, when a caller asks for them.
+ */
+class ColumnarBookingStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final Dictionary facilities = new Dictionary();
+    private final Dictionary users = new Dictionary();
+
+    private int[] facilityCodes = new int[INITIAL_CAPACITY];
+    private int[] userCodes = new int[INITIAL_CAPACITY];
+    private int[] startMinutes = new int[INITIAL_CAPACITY];
+    private int[] endMinutes = new int[INITIAL_CAPACITY];
+    private int[] bookingNumbers = new int[INITIAL_CAPACITY];
+    private byte[] statuses = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    // Secondary access paths, all primitive
+    private final IntList[] rowsByStatus = new IntList[BookingStatus.values().length];
+    private final List<IntList> rowsByFacility = new ArrayList<>();
+    private final List<IntList> rowsByUser = new ArrayList<>();
+    private final IntIntMap rowByNumber = new IntIntMap();
+    // Booking IDs not of the usual "B<number>" form, keyed by row
+    private final Map<Integer, String> irregularIds = new HashMap<>();
+
+    ColumnarBookingStore() {
+        for (int i = 0; i < rowsByStatus.length; i++) {
+            rowsByStatus[i] = new IntList();
+        }
+    }
+
+    /**
+     * Append a booking as a new row
+     */
+    synchronized void add(Booking booking) {
+        if (size == statuses.length) {
+            int capacity = size * 2;
+            facilityCodes = Arrays.copyOf(facilityCodes, capacity);
+            userCodes = Arrays.copyOf(userCodes, capacity);
+            startMinutes = Arrays.copyOf(startMinutes, capacity);
+            endMinutes = Arrays.copyOf(endMinutes, capacity);
+            bookingNumbers = Arrays.copyOf(bookingNumbers, capacity);
+            statuses = Arrays.copyOf(statuses, capacity);
+        }
+
+        int row = size++;
+        int facility = facilities.encode(booking.getFacilityId());
+        int user = users.encode(booking.getUserId());
+        facilityCodes[row] = facility;
+        userCodes[row] = user;
+        startMinutes[row] = toEpochMinute(booking.getStartTime());
+        endMinutes[row] = toEpochMinute(booking.getEndTime());
+        statuses[row] = (byte) booking.getStatus().ordinal();
+
+        int number = parseBookingNumber(booking.getBookingID());
+        bookingNumbers[row] = number;
+        if (number < 0) {
+            irregularIds.put(row, booking.getBookingID());
+        } else {
+            rowByNumber.put(number, row);
+        }
+
+        rowsByStatus[statuses[row]].add(row);
+        postingFor(rowsByFacility, facility).add(row);
+        postingFor(rowsByUser, user).add(row);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized int countByStatus(BookingStatus status) {
+        return rowsByStatus[status.ordinal()].size;
+    }
+
+    synchronized Booking findById(String bookingId) {
+        int number = parseBookingNumber(bookingId);
+        if (number >= 0) {
+            int row = rowByNumber.get(number);
+            return row < 0 ? null : materialize(row);
+        }
+        for (Map.Entry<Integer, String> entry : irregularIds.entrySet()) {
+            if (entry.getValue().equals(bookingId)) {
+                return materialize(entry.getKey());
+            }
+        }
+        return null;
+    }
+
+    synchronized List<Booking> findByUser(String userId) {
+        int code = users.lookup(userId);
+        return code < 0 || code >= rowsByUser.size() ? new ArrayList<>() : materialize(rowsByUser.get(code));
+    }
+
+    synchronized List<Booking> findByFacility(String facilityId) {
+        int code = facilities.lookup(facilityId);
+        return code < 0 || code >= rowsByFacility.size() ? new ArrayList<>() : materialize(rowsByFacility.get(code));
+    }
+
+    synchronized List<Booking> findByStatus(BookingStatus status) {
+        return materialize(rowsByStatus[status.ordinal()]);
+    }
+
+    synchronized List<Booking> findAll() {
+        List<Booking> result = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            result.add(materialize(row));
+        }
+        return result;
+    }
+
+    /**
+     * Bookings starting within [from, to]; a sequential scan over one int column
+     */
+    synchronized List<Booking> findStartingBetween(LocalDateTime from, LocalDateTime to) {
+        int low = toEpochMinute(from);
+        int high = toEpochMinute(to);
+        List<Booking> result = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (startMinutes[row] >= low && startMinutes[row] <= high) {
+                result.add(materialize(row));
+            }
+        }
+        return result;
+    }
+
+    private List<Booking> materialize(IntList rows) {
+        List<Booking> result = new ArrayList<>(rows.size);
+        for (int i = 0; i < rows.size; i++) {
+            result.add(materialize(rows.values[i]));
+        }
+        return result;
+    }
+
+    private Booking materialize(int row) {
+        String bookingId = bookingNumbers[row] < 0 ? irregularIds.get(row) : "B" + String.format("%03d", bookingNumbers[row]);
+        return new Booking(bookingId,
+                facilities.decode(facilityCodes[row]),
+                users.decode(userCodes[row]),
+                fromEpochMinute(startMinutes[row]),
+                fromEpochMinute(endMinutes[row]),
+                BookingStatus.values()[statuses[row]]);
+    }
+
+    private static IntList postingFor(List<IntList> postings, int code) {
+        while (postings.size() <= code) {
+            postings.add(new IntList());
+        }
+        return postings.get(code);
+    }
+
+    private static int parseBookingNumber(String bookingId) {
+        if (bookingId == null || bookingId.length() < 2 || bookingId.charAt(0) != 'B') {
+            return -1;
+        }
+        try {
+            int number = Integer.parseInt(bookingId.substring(1));
+            // Only IDs that format back to themselves can be stored as a number
+            return ("B" + String.format("%03d", number)).equals(bookingId) ? number : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int toEpochMinute(LocalDateTime time) {
+        return (int) Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime fromEpochMinute(int minute) {
+        return LocalDateTime.ofEpochSecond(minute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Two-way string dictionary handing out dense int codes
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        int lookup(String value) {
+            Integer code = codes.get(value);
+            return code == null ? -1 : code;
+        }
+
+        String decode(int code) {
+            return values.get(code);
+        }
+    }
+
+    /**
+     * Growable int array
+     */
+    private static class IntList {
+        int[] values = new int[4];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * Open-addressing int to int map (non-negative keys), -1 for missing
+     */
+    private static class IntIntMap {
+        private int[] keys = new int[INITIAL_CAPACITY];
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int size;
+
+        IntIntMap() {
+            Arrays.fill(keys, -1);
+        }
+
+        void put(int key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int slot = slotOf(keys, key);
+            if (keys[slot] < 0) {
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        int get(int key) {
+            int slot = slotOf(keys, key);
+            return keys[slot] < 0 ? -1 : values[slot];
+        }
+
+        private void resize() {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            Arrays.fill(keys, -1);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] >= 0) {
+                    int slot = slotOf(keys, oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private static int slotOf(int[] keys, int key) {
+            int mask = keys.length - 1;
+            int slot = (key * 0x9E3779B9) >>> 1 & mask;
+            while (keys[slot] >= 0 && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
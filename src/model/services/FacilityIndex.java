@@ -0,0 +1,379 @@
+package model.services;
+
+import model.Equipment;
+import model.Facility;
+import model.enums.FacilityStatus;
+import model.enums.FacilityType;
+import model.enums.ReservationPrivilege;
+import model.enums.Role;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indexed facility catalog: every attribute query is answered from a bitset over
+ * facility ordinals, and composite queries are bitset intersections.
+ *
+ * Every catalog facility gets a stable ordinal (its position in the catalog; a
+ * replaced facility keeps the ordinal of the one it replaces, a removed one leaves
+ * a gap). Indexes kept per ordinal:
+ * - id (hash map, readable without locking)
+ * - type, status and privilege (EnumMaps of bitsets)
+ * - normalized level (see FacilityService.levelOf) and lower-cased location
+ * - capacity (sorted map, so "at least N seats" is a tail-map union)
+ * - equipment names, case-insensitive (inverted index)
+ * - the full text of name, id, location, notes and equipment (FacilitySearchIndex)
+ * - per Role, the facilities the role may see (accessible) and may book right now
+ *   (privilege allows it and the facility is AVAILABLE or BOOKED)
+ *
+ * The attributes each ordinal was indexed with are remembered, so a change only
+ * clears and sets that facility's own bits. Status and privilege changes arrive
+ * through the Facility listeners and move just the status or privilege bit and the
+ * per-role bits; other in-place edits need FacilityService.reindexFacility, which
+ * re-reads everything, the text included.
+ */
+class FacilityIndex {
+
+    private static final Role[] ROLES = Role.values();
+
+    private final Map<String, Facility> byId = new ConcurrentHashMap<>();
+    private final List<Facility> byOrdinal = new ArrayList<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<Facility, Integer> ordinals = new IdentityHashMap<>();
+    private final BitSet all = new BitSet();
+
+    private final Map<FacilityType, BitSet> byType = new EnumMap<>(FacilityType.class);
+    private final Map<FacilityStatus, BitSet> byStatus = new EnumMap<>(FacilityStatus.class);
+    private final Map<ReservationPrivilege, BitSet> byPrivilege = new EnumMap<>(ReservationPrivilege.class);
+    private final Map<String, BitSet> byLevel = new HashMap<>();
+    private final Map<String, BitSet> byLocation = new HashMap<>();
+    private final TreeMap<Integer, BitSet> byCapacity = new TreeMap<>();
+    private final Map<String, BitSet> byEquipment = new HashMap<>();
+    private final BitSet[] accessibleByRole = new BitSet[ROLES.length];
+    private final BitSet[] bookableByRole = new BitSet[ROLES.length];
+    private final FacilitySearchIndex text = new FacilitySearchIndex();
+
+    FacilityIndex() {
+        for (int i = 0; i < ROLES.length; i++) {
+            accessibleByRole[i] = new BitSet();
+            bookableByRole[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Give a new catalog facility the next ordinal
+     */
+    synchronized void add(Facility facility) {
+        int ordinal = byOrdinal.size();
+        byOrdinal.add(facility);
+        entries.add(null);
+        ordinals.put(facility, ordinal);
+        all.set(ordinal);
+        index(ordinal, facility);
+    }
+
+    /**
+     * Put a facility in the place (and ordinal) of the one it replaces
+     */
+    synchronized void replace(Facility existing, Facility replacement) {
+        Integer ordinal = ordinals.remove(existing);
+        if (ordinal == null) {
+            add(replacement);
+            return;
+        }
+        unindex(ordinal);
+        byOrdinal.set(ordinal, replacement);
+        ordinals.put(replacement, ordinal);
+        index(ordinal, replacement);
+    }
+
+    /**
+     * Drop a facility; its ordinal is left empty rather than reused
+     */
+    synchronized void remove(Facility facility) {
+        Integer ordinal = ordinals.remove(facility);
+        if (ordinal == null) {
+            return;
+        }
+        unindex(ordinal);
+        byOrdinal.set(ordinal, null);
+        all.clear(ordinal);
+    }
+
+    /**
+     * Re-read every indexed attribute of a catalog facility after it changed in place
+     */
+    synchronized void changed(Facility facility) {
+        Integer ordinal = ordinals.get(facility);
+        if (ordinal != null) {
+            unindex(ordinal);
+            index(ordinal, facility);
+        }
+    }
+
+    /**
+     * Move a catalog facility to its new status, and update what each role may book
+     */
+    synchronized void statusChanged(Facility facility) {
+        Integer ordinal = ordinals.get(facility);
+        Entry entry = ordinal == null ? null : entries.get(ordinal);
+        if (entry == null || entry.status == facility.getStatus()) {
+            return;
+        }
+        byStatus.get(entry.status).clear(ordinal);
+        entry.status = facility.getStatus();
+        setBit(byStatus, entry.status, ordinal);
+        indexRoles(ordinal, entry);
+    }
+
+    /**
+     * Move a catalog facility to its new privilege, and update what each role may see and book
+     */
+    synchronized void privilegeChanged(Facility facility) {
+        Integer ordinal = ordinals.get(facility);
+        Entry entry = ordinal == null ? null : entries.get(ordinal);
+        if (entry == null || entry.privilege == facility.getPrivilege()) {
+            return;
+        }
+        byPrivilege.get(entry.privilege).clear(ordinal);
+        entry.privilege = facility.getPrivilege();
+        setBit(byPrivilege, entry.privilege, ordinal);
+        indexRoles(ordinal, entry);
+    }
+
+    /**
+     * Get a catalog facility's ordinal, or -1 if it is not in the catalog
+     */
+    synchronized int ordinalOf(Facility facility) {
+        Integer ordinal = ordinals.get(facility);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    Facility findById(String id) {
+        return id == null ? null : byId.get(id);
+    }
+
+    synchronized BitSet all() {
+        return (BitSet) all.clone();
+    }
+
+    synchronized BitSet accessible(Role role) {
+        return (BitSet) accessibleByRole[role.ordinal()].clone();
+    }
+
+    synchronized BitSet bookable(Role role) {
+        return (BitSet) bookableByRole[role.ordinal()].clone();
+    }
+
+    synchronized BitSet type(FacilityType type) {
+        return copyOf(byType.get(type));
+    }
+
+    synchronized BitSet status(FacilityStatus status) {
+        return copyOf(byStatus.get(status));
+    }
+
+    synchronized BitSet privilege(ReservationPrivilege privilege) {
+        return copyOf(byPrivilege.get(privilege));
+    }
+
+    synchronized BitSet level(String level) {
+        return copyOf(byLevel.get(normalize(level)));
+    }
+
+    /**
+     * Facilities whose location contains the text, case-insensitive. Only the
+     * distinct locations are scanned, not every facility
+     */
+    synchronized BitSet locationContaining(String text) {
+        String needle = text.toLowerCase();
+        BitSet result = new BitSet();
+        for (Map.Entry<String, BitSet> location : byLocation.entrySet()) {
+            if (location.getKey().contains(needle)) {
+                result.or(location.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Facilities with at least the given capacity
+     */
+    synchronized BitSet minCapacity(int seats) {
+        BitSet result = new BitSet();
+        for (BitSet members : byCapacity.tailMap(seats, true).values()) {
+            result.or(members);
+        }
+        return result;
+    }
+
+    /**
+     * Facilities that have a piece of equipment (by name, case-insensitive)
+     */
+    synchronized BitSet equipment(String name) {
+        return copyOf(byEquipment.get(normalize(name)));
+    }
+
+    /**
+     * Facilities matching every token of a text query
+     */
+    synchronized BitSet search(String query) {
+        return text.search(query).matches;
+    }
+
+    /**
+     * Facilities of a set matching a text query, best match first (ties in catalog order)
+     */
+    synchronized List<Facility> searchRanked(String query, BitSet within) {
+        FacilitySearchIndex.Result hits = text.search(query);
+        if (within != null) {
+            hits.matches.and(within);
+        }
+
+        // Sort on one long per hit: score descending in the high bits, ordinal ascending in the low
+        long[] ranked = new long[hits.matches.cardinality()];
+        int count = 0;
+        for (int ordinal = hits.matches.nextSetBit(0); ordinal >= 0; ordinal = hits.matches.nextSetBit(ordinal + 1)) {
+            ranked[count++] = ((long) -hits.scores[ordinal] << 32) | ordinal;
+        }
+        Arrays.sort(ranked);
+
+        List<Facility> result = new ArrayList<>(ranked.length);
+        for (long hit : ranked) {
+            result.add(byOrdinal.get((int) hit));
+        }
+        return result;
+    }
+
+    /**
+     * Whether a catalog facility matches a text query
+     */
+    synchronized boolean matchesSearch(Facility facility, String query) {
+        Integer ordinal = ordinals.get(facility);
+        return ordinal != null && text.search(query).matches.get(ordinal);
+    }
+
+    /**
+     * The facilities of a set, in catalog order
+     */
+    synchronized List<Facility> select(BitSet members) {
+        List<Facility> result = new ArrayList<>(members.cardinality());
+        for (int ordinal = members.nextSetBit(0); ordinal >= 0; ordinal = members.nextSetBit(ordinal + 1)) {
+            Facility facility = ordinal < byOrdinal.size() ? byOrdinal.get(ordinal) : null;
+            if (facility != null) {
+                result.add(facility);
+            }
+        }
+        return result;
+    }
+
+    private void index(int ordinal, Facility facility) {
+        Entry entry = new Entry(facility);
+        entries.set(ordinal, entry);
+
+        byId.put(entry.id, facility);
+        setBit(byType, entry.type, ordinal);
+        setBit(byStatus, entry.status, ordinal);
+        setBit(byPrivilege, entry.privilege, ordinal);
+        byLevel.computeIfAbsent(entry.level, level -> new BitSet()).set(ordinal);
+        byLocation.computeIfAbsent(entry.location, location -> new BitSet()).set(ordinal);
+        byCapacity.computeIfAbsent(entry.capacity, capacity -> new BitSet()).set(ordinal);
+        for (String name : entry.equipment) {
+            byEquipment.computeIfAbsent(name, n -> new BitSet()).set(ordinal);
+        }
+        text.add(ordinal, facility);
+        indexRoles(ordinal, entry);
+    }
+
+    private void indexRoles(int ordinal, Entry entry) {
+        for (Role role : ROLES) {
+            boolean allowed = BookingPolicy.isPrivilegeAllowed(role, entry.privilege);
+            // Admins can see every facility, but book only what the privilege allows
+            accessibleByRole[role.ordinal()].set(ordinal, allowed || role == Role.ADMIN);
+            bookableByRole[role.ordinal()].set(ordinal, allowed
+                    && (entry.status == FacilityStatus.AVAILABLE || entry.status == FacilityStatus.BOOKED));
+        }
+    }
+
+    private void unindex(int ordinal) {
+        Entry entry = entries.get(ordinal);
+        if (entry == null) {
+            return;
+        }
+        entries.set(ordinal, null);
+
+        byId.remove(entry.id, byOrdinal.get(ordinal));
+        byType.get(entry.type).clear(ordinal);
+        byStatus.get(entry.status).clear(ordinal);
+        byPrivilege.get(entry.privilege).clear(ordinal);
+        clearBit(byLevel, entry.level, ordinal);
+        clearBit(byLocation, entry.location, ordinal);
+        clearBit(byCapacity, entry.capacity, ordinal);
+        for (String name : entry.equipment) {
+            clearBit(byEquipment, name, ordinal);
+        }
+        text.remove(ordinal);
+        for (int i = 0; i < ROLES.length; i++) {
+            accessibleByRole[i].clear(ordinal);
+            bookableByRole[i].clear(ordinal);
+        }
+    }
+
+    private static <K> void setBit(Map<K, BitSet> index, K key, int ordinal) {
+        index.computeIfAbsent(key, k -> new BitSet()).set(ordinal);
+    }
+
+    private static <K> void clearBit(Map<K, BitSet> index, K key, int ordinal) {
+        BitSet members = index.get(key);
+        if (members != null) {
+            members.clear(ordinal);
+            if (members.isEmpty() && !(key instanceof Enum)) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static BitSet copyOf(BitSet members) {
+        return members == null ? new BitSet() : (BitSet) members.clone();
+    }
+
+    private static String normalize(String key) {
+        return key == null ? "" : key.trim().toLowerCase();
+    }
+
+    /**
+     * The attribute values an ordinal is currently indexed under
+     */
+    private static class Entry {
+        final String id;
+        final FacilityType type;
+        FacilityStatus status;
+        ReservationPrivilege privilege;
+        final String level;
+        final String location;
+        final int capacity;
+        final Set<String> equipment = new LinkedHashSet<>();
+
+        Entry(Facility facility) {
+            id = facility.getId();
+            type = facility.getType();
+            status = facility.getStatus();
+            privilege = facility.getPrivilege();
+            level = normalize(FacilityService.levelOf(facility));
+            location = facility.getLocation() == null ? "" : facility.getLocation().toLowerCase();
+            capacity = facility.getCapacity();
+            for (Equipment item : facility.getEquipment()) {
+                equipment.add(normalize(item.getName()));
+            }
+        }
+    }
+}
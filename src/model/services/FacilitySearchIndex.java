@@ -0,0 +1,360 @@
+package model.services;
+
+import model.Equipment;
+import model.Facility;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Full-text index over the facility catalog, keyed by the same ordinals as
+ * FacilityIndex (which owns it and keeps it current).
+ *
+ * Name, id, location, notes and equipment names are normalized (lower case, split
+ * on anything that is not a letter or digit) into terms. Each term's posting is a
+ * bitset of ordinals per field weight (a facility is posted under the best field
+ * the term occurs in); terms are kept sorted so a prefix is a sub-map range, and
+ * every term is also registered under its trigrams so infix and misspelled query
+ * tokens find their candidate terms without a scan of the vocabulary. Tokens of
+ * one or two characters have no trigram and match too many terms to visit one by
+ * one, so every one- and two-character prefix and infix (a substring past the
+ * start) of a term is posted directly to the facilities whose terms contain it,
+ * per field weight; a short token is then a few lookups.
+ *
+ * Every query token must match a term of the facility. Per token the facility
+ * scores its field weight times the match quality (exact, prefix, infix, then
+ * within a small edit distance); results are ranked by the total. Scores are
+ * accumulated in flat arrays indexed by ordinal, so a query allocates no per-hit
+ * objects.
+ */
+class FacilitySearchIndex {
+
+    private static final int WEIGHT_ID = 5;
+    private static final int WEIGHT_NAME = 4;
+    private static final int WEIGHT_LOCATION = 2;
+    private static final int WEIGHT_EQUIPMENT = 2;
+    private static final int WEIGHT_NOTES = 1;
+    private static final int MAX_WEIGHT = WEIGHT_ID;
+
+    private static final int EXACT = 8;
+    private static final int PREFIX = 4;
+    private static final int INFIX = 2;
+    private static final int FUZZY = 1;
+
+    private final TreeMap<String, BitSet[]> postings = new TreeMap<>();
+    private final Map<String, Set<String>> termsByTrigram = new HashMap<>();
+    private final Map<String, BitSet[]> shortPrefixes = new HashMap<>();
+    private final Map<String, BitSet[]> shortInfixes = new HashMap<>();
+    private final Map<Integer, Map<String, Integer>> termsByOrdinal = new HashMap<>();
+    private int ordinalLimit;
+
+    /**
+     * Index the searchable text of a facility under its ordinal
+     */
+    void add(int ordinal, Facility facility) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        addTerms(terms, facility.getId(), WEIGHT_ID);
+        addTerms(terms, facility.getName(), WEIGHT_NAME);
+        addTerms(terms, facility.getLocation(), WEIGHT_LOCATION);
+        addTerms(terms, facility.getNotes(), WEIGHT_NOTES);
+        for (Equipment item : facility.getEquipment()) {
+            addTerms(terms, item.getName(), WEIGHT_EQUIPMENT);
+        }
+
+        termsByOrdinal.put(ordinal, terms);
+        ordinalLimit = Math.max(ordinalLimit, ordinal + 1);
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            BitSet[] posting = postings.get(term.getKey());
+            if (posting == null) {
+                posting = new BitSet[MAX_WEIGHT + 1];
+                postings.put(term.getKey(), posting);
+                for (String trigram : trigrams(term.getKey())) {
+                    termsByTrigram.computeIfAbsent(trigram, t -> new HashSet<>()).add(term.getKey());
+                }
+            }
+            int weight = term.getValue();
+            if (posting[weight] == null) {
+                posting[weight] = new BitSet();
+            }
+            posting[weight].set(ordinal);
+
+            String key = term.getKey();
+            for (int length = 1; length <= Math.min(2, key.length()); length++) {
+                post(shortPrefixes, key.substring(0, length), weight, ordinal);
+            }
+            for (String infix : shortInfixes(key)) {
+                post(shortInfixes, infix, weight, ordinal);
+            }
+        }
+    }
+
+    private static void post(Map<String, BitSet[]> postings, String gram, int weight, int ordinal) {
+        BitSet[] posting = postings.computeIfAbsent(gram, g -> new BitSet[MAX_WEIGHT + 1]);
+        if (posting[weight] == null) {
+            posting[weight] = new BitSet();
+        }
+        posting[weight].set(ordinal);
+    }
+
+    /**
+     * Drop everything indexed under an ordinal
+     */
+    void remove(int ordinal) {
+        Map<String, Integer> terms = termsByOrdinal.remove(ordinal);
+        if (terms == null) {
+            return;
+        }
+        for (Map.Entry<String, Integer> term : terms.entrySet()) {
+            // The whole facility goes, so its bit can be cleared from every short gram of its terms
+            String key = term.getKey();
+            for (int length = 1; length <= Math.min(2, key.length()); length++) {
+                unpost(shortPrefixes, key.substring(0, length), term.getValue(), ordinal);
+            }
+            for (String infix : shortInfixes(key)) {
+                unpost(shortInfixes, infix, term.getValue(), ordinal);
+            }
+
+            BitSet[] posting = postings.get(term.getKey());
+            posting[term.getValue()].clear(ordinal);
+            if (isEmpty(posting)) {
+                postings.remove(term.getKey());
+                for (String trigram : trigrams(term.getKey())) {
+                    Set<String> members = termsByTrigram.get(trigram);
+                    members.remove(term.getKey());
+                    if (members.isEmpty()) {
+                        termsByTrigram.remove(trigram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static void unpost(Map<String, BitSet[]> postings, String gram, int weight, int ordinal) {
+        BitSet[] posting = postings.get(gram);
+        if (posting != null && posting[weight] != null) {
+            posting[weight].clear(ordinal);
+            if (isEmpty(posting)) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    /**
+     * Score every facility matching all tokens of a query; an empty query matches nothing
+     */
+    Result search(String query) {
+        Result result = new Result(ordinalLimit);
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return result;
+        }
+
+        int[] best = new int[ordinalLimit];
+        BitSet hits = new BitSet(ordinalLimit);
+        for (int t = 0; t < tokens.size(); t++) {
+            if (t > 0) {
+                Arrays.fill(best, 0);
+                hits.clear();
+            }
+            scoreToken(tokens.get(t), best, hits);
+
+            // Every token has to match
+            if (t == 0) {
+                result.matches.or(hits);
+            } else {
+                result.matches.and(hits);
+            }
+            if (result.matches.isEmpty()) {
+                break;
+            }
+            for (int ordinal = result.matches.nextSetBit(0); ordinal >= 0; ordinal = result.matches.nextSetBit(ordinal + 1)) {
+                result.scores[ordinal] += best[ordinal];
+            }
+        }
+        return result;
+    }
+
+    private void scoreToken(String token, int[] best, BitSet hits) {
+        if (token.length() < 3) {
+            // Too short for a trigram: the short-gram postings list the facilities
+            // directly. A facility keeps the best quality it reaches
+            collectIfPresent(postings.get(token), EXACT, best, hits);
+            collectIfPresent(shortPrefixes.get(token), PREFIX, best, hits);
+            collectIfPresent(shortInfixes.get(token), INFIX, best, hits);
+            return;
+        }
+
+        // Exact and prefix matches: one contiguous range of the sorted vocabulary
+        for (Map.Entry<String, BitSet[]> term
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            collect(term.getValue(), term.getKey().length() == token.length() ? EXACT : PREFIX, best, hits);
+        }
+
+        // Infix and misspelled matches: candidate terms sharing a trigram with the token
+        List<String> grams = trigrams(token);
+        int maxDistance = token.length() >= 8 ? 2 : 1;
+        Map<String, Integer> shared = new HashMap<>();
+        for (String trigram : grams) {
+            Set<String> terms = termsByTrigram.get(trigram);
+            if (terms != null) {
+                for (String term : terms) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+        for (Map.Entry<String, Integer> candidate : shared.entrySet()) {
+            String term = candidate.getKey();
+            if (term.startsWith(token)) {
+                continue;
+            }
+            if (candidate.getValue() == grams.size() && term.contains(token)) {
+                collect(postings.get(term), INFIX, best, hits);
+            } else if (Math.abs(term.length() - token.length()) <= maxDistance
+                    && withinDistance(token, term, maxDistance)) {
+                collect(postings.get(term), FUZZY, best, hits);
+            }
+        }
+    }
+
+    private static void collectIfPresent(BitSet[] posting, int quality, int[] best, BitSet hits) {
+        if (posting != null) {
+            collect(posting, quality, best, hits);
+        }
+    }
+
+    private static void collect(BitSet[] posting, int quality, int[] best, BitSet hits) {
+        for (int weight = 1; weight <= MAX_WEIGHT; weight++) {
+            BitSet members = posting[weight];
+            if (members == null) {
+                continue;
+            }
+            int score = weight * quality;
+            for (int ordinal = members.nextSetBit(0); ordinal >= 0; ordinal = members.nextSetBit(ordinal + 1)) {
+                if (score > best[ordinal]) {
+                    best[ordinal] = score;
+                }
+            }
+            hits.or(members);
+        }
+    }
+
+    private static boolean isEmpty(BitSet[] posting) {
+        for (BitSet members : posting) {
+            if (members != null && !members.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String term : tokenize(text)) {
+            terms.merge(term, weight, Math::max);
+        }
+    }
+
+    /**
+     * Lower-case terms of a text, split on anything that is not a letter or digit
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean letterOrDigit = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    private static List<String> trigrams(String term) {
+        List<String> grams = new ArrayList<>();
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            String gram = term.substring(i, i + 3);
+            if (!grams.contains(gram)) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    /**
+     * One- and two-character substrings of a term, other than at its start
+     */
+    private static Set<String> shortInfixes(String term) {
+        Set<String> infixes = new HashSet<>();
+        for (int i = 1; i < term.length(); i++) {
+            infixes.add(term.substring(i, i + 1));
+            if (i + 2 <= term.length()) {
+                infixes.add(term.substring(i, i + 2));
+            }
+        }
+        return infixes;
+    }
+
+    /**
+     * Banded Levenshtein check: true if the edit distance is at most max. Only the
+     * cells within max of the diagonal are filled; any cell outside the band is
+     * already over max, so it is treated as max + 1.
+     */
+    private static boolean withinDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return false;
+        }
+        int over = max + 1;
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        Arrays.fill(previous, over);
+        for (int j = 0; j <= Math.min(b.length(), max); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int from = Math.max(1, i - max);
+            int to = Math.min(b.length(), i + max);
+            current[from - 1] = from == 1 && i <= max ? i : over;
+            int rowMin = current[from - 1];
+            for (int j = from; j <= to; j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < b.length()) {
+                // The next row reads one cell past this row's band
+                current[to + 1] = over;
+            }
+            if (rowMin > max) {
+                return false;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()] <= max;
+    }
+
+    /**
+     * Matching ordinals and their relevance scores (indexed by ordinal)
+     */
+    static class Result {
+        final BitSet matches = new BitSet();
+        final int[] scores;
+
+        Result(int ordinalLimit) {
+            scores = new int[ordinalLimit];
+        }
+    }
+}
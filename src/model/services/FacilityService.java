@@ -8,57 +8,116 @@ import model.enums.FacilityStatus;
 import model.enums.FacilityType;
 import model.enums.ReservationPrivilege;
 import model.enums.Role;
+import model.repository.FacilityRepository;
+import model.repository.Repositories;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class FacilityService {
 
-    private static List<Facility> facilities = new ArrayList<>();
+    private static final Pattern LEVEL_PATTERN =
+            Pattern.compile("(?i)level\\s*(\\w+)");
+
+    private static FacilityRepository facilities = Repositories.facilities();
+    private static FacilityIndex index = new FacilityIndex();
 
     static {
-        // Initialize with existing rooms from User.allRooms
-        facilities.addAll(User.getAllRooms());
+        // Seed an empty catalog with the rooms from User.allRooms
+        if (facilities.count() == 0) {
+            facilities.saveAll(User.getAllRooms());
+        }
+        for (Facility facility : facilities.findAll()) {
+            StatisticsService.facilityAdded(facility);
+            index.add(facility);
+        }
+        Facility.setStatusListener(FacilityService::onStatusChanged);
+        Facility.setPrivilegeListener((facility, oldPrivilege, newPrivilege) -> {
+            index.privilegeChanged(facility);
+            facilities.update(facility);
+        });
+    }
+
+    /**
+     * Keep derived data current when a catalog facility changes status
+     */
+    private static void onStatusChanged(Facility facility, FacilityStatus oldStatus, FacilityStatus newStatus) {
+        // Facilities outside the catalog (e.g. legacy session rooms) are not tracked
+        if (findFacilityById(facility.getId()) != facility) {
+            return;
+        }
+        StatisticsService.facilityStatusChanged(facility, oldStatus, newStatus);
+        index.statusChanged(facility);
+        facilities.update(facility);
+        ChangeEventBus.publish(new ChangeEventBus.FacilityStatusChanged(facility, oldStatus, newStatus));
+    }
+
+    /**
+     * Get the normalized level of a facility, e.g. "Level 2" for "Level 2 (Main Entrance)"
+     */
+    public static String levelOf(Facility facility) {
+        String location = facility.getLocation();
+        if (location == null) {
+            return "";
+        }
+        Matcher matcher = LEVEL_PATTERN.matcher(location);
+        return matcher.find() ? "Level " + matcher.group(1) : location.trim();
     }
 
     /**
      * Get all facilities
      */
     public static List<Facility> getAllFacilities() {
-        return new ArrayList<>(facilities);
+        return facilities.findAll();
     }
 
     /**
      * Get facilities by type
      */
     public static List<Facility> getFacilitiesByType(FacilityType type) {
-        return facilities.stream()
-                .filter(f -> f.getType() == type)
-                .collect(Collectors.toList());
+        return type == null ? new ArrayList<>() : index.select(index.type(type));
     }
 
     /**
      * Get facilities by status
      */
     public static List<Facility> getFacilitiesByStatus(FacilityStatus status) {
-        return facilities.stream()
-                .filter(f -> f.getStatus() == status)
-                .collect(Collectors.toList());
+        return status == null ? new ArrayList<>() : index.select(index.status(status));
     }
 
     /**
-     * Search facilities by name or ID
+     * Search facilities by name, ID, location, notes or equipment, best match first
      */
     public static List<Facility> searchFacilities(String query) {
         if (query == null || query.trim().isEmpty()) {
             return getAllFacilities();
         }
+        return index.searchRanked(query, null);
+    }
+
+    /**
+     * Search only the facilities of an ordinal set, best match first
+     */
+    public static List<Facility> searchFacilities(String query, BitSet within) {
+        if (query == null || query.trim().isEmpty()) {
+            return index.select(within);
+        }
+        return index.searchRanked(query, within);
+    }
 
-        String lowerQuery = query.toLowerCase();
-        return facilities.stream()
-                .filter(f -> f.getName().toLowerCase().contains(lowerQuery) ||
-                           f.getId().toLowerCase().contains(lowerQuery))
-                .collect(Collectors.toList());
+    /**
+     * Check if a facility matches a search query (an empty query matches everything)
+     */
+    public static boolean matchesSearch(Facility facility, String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return true;
+        }
+        return index.matchesSearch(facility, query);
     }
 
     /**
@@ -69,9 +128,52 @@ public class FacilityService {
             return new ArrayList<>();
         }
 
-        return facilities.stream()
-                .filter(facility -> canAccessFacility(user, facility))
-                .collect(Collectors.toList());
+        return index.select(index.accessible(user.getRole()));
+    }
+
+    /**
+     * Get the set of facilities a user may see, as catalog ordinals (see getFacilities(BitSet))
+     */
+    public static BitSet getAccessibleSet(User user) {
+        return user == null ? new BitSet() : index.accessible(user.getRole());
+    }
+
+    /**
+     * Get the set of facilities a user may book right now, as catalog ordinals
+     */
+    public static BitSet getBookableSet(User user) {
+        return user == null ? new BitSet() : index.bookable(user.getRole());
+    }
+
+    /**
+     * Get the set of facilities on a level (as returned by levelOf), as catalog ordinals
+     */
+    public static BitSet getLevelSet(String level) {
+        return index.level(level);
+    }
+
+    /**
+     * Get the set of facilities matching a search query, as catalog ordinals
+     */
+    public static BitSet getSearchSet(String query) {
+        if (query == null || query.trim().isEmpty()) {
+            return index.all();
+        }
+        return index.search(query);
+    }
+
+    /**
+     * Get a facility's catalog ordinal (its place in catalog order), or -1 if it is not in the catalog
+     */
+    public static int getCatalogOrdinal(Facility facility) {
+        return facility == null ? -1 : index.ordinalOf(facility);
+    }
+
+    /**
+     * Get the facilities of an ordinal set, in catalog order
+     */
+    public static List<Facility> getFacilities(BitSet members) {
+        return index.select(members);
     }
 
     /**
@@ -87,40 +189,73 @@ public class FacilityService {
             return true;
         }
 
-        // Check facility privilege requirements
-        ReservationPrivilege required = facility.getPrivilege();
-        switch (required) {
-            case OPEN:
-                return true; // Anyone can access
-
-            case STUDENT_ONLY:
-                return user.getRole() == Role.STUDENT;
-
-            case STAFF_ONLY:
-                return user.getRole() == Role.STAFF || user.getRole() == Role.ADMIN;
-
-            case POSTGRADUATE_ONLY:
-                return user.getRole() == Role.POSTGRADUATE;
+        // Everyone else sees what the booking privilege matrix lets them book
+        return BookingPolicy.isPrivilegeAllowed(user.getRole(), facility.getPrivilege());
+    }
 
-            case SPECIAL_NEEDS_ONLY:
-            case BOOK_VENDORS_ONLY:
-            case LIBRARY_USE_ONLY:
-                // These require special permissions, currently only admins
-                return user.getRole() == Role.ADMIN;
+    /**
+     * Find facility by ID
+     */
+    public static Facility findFacilityById(String id) {
+        return index.findById(id);
+    }
 
-            default:
-                return false;
+    /**
+     * Re-index a catalog facility after editing its name, type, location, capacity,
+     * notes or equipment in place (status and privilege changes are picked up automatically)
+     */
+    public static void reindexFacility(Facility facility) {
+        if (facility != null) {
+            StatisticsService.facilityEdited(facility);
+            index.changed(facility);
+            facilities.update(facility);
         }
     }
 
     /**
-     * Find facility by ID
+     * Get the facilities matching every criterion of a query, in catalog order
+     * (by relevance when the query includes text)
      */
-    public static Facility findFacilityById(String id) {
-        return facilities.stream()
-                .filter(f -> f.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+    public static List<Facility> query(FacilityQuery query) {
+        if (query == null) {
+            return getAllFacilities();
+        }
+
+        BitSet result = index.all();
+        if (query.types != null) {
+            BitSet ofTypes = new BitSet();
+            for (FacilityType type : query.types) {
+                ofTypes.or(index.type(type));
+            }
+            result.and(ofTypes);
+        }
+        if (query.status != null) {
+            result.and(index.status(query.status));
+        }
+        if (query.privilege != null) {
+            result.and(index.privilege(query.privilege));
+        }
+        if (query.level != null) {
+            result.and(index.level(query.level));
+        }
+        if (query.minCapacity > 0) {
+            result.and(index.minCapacity(query.minCapacity));
+        }
+        for (String equipment : query.equipment) {
+            if (result.isEmpty()) {
+                break;
+            }
+            result.and(index.equipment(equipment));
+        }
+        if (query.bookableBy != null) {
+            result.and(getBookableSet(query.bookableBy));
+        } else if (query.accessibleBy != null) {
+            result.and(getAccessibleSet(query.accessibleBy));
+        }
+        if (query.text != null && !query.text.trim().isEmpty()) {
+            return index.searchRanked(query.text, result);
+        }
+        return index.select(result);
     }
 
     /**
@@ -128,7 +263,9 @@ public class FacilityService {
      */
     public static boolean addFacility(Facility facility) {
         if (facility != null && findFacilityById(facility.getId()) == null) {
-            facilities.add(facility);
+            facilities.save(facility);
+            StatisticsService.facilityAdded(facility);
+            index.add(facility);
             return true;
         }
         return false;
@@ -140,8 +277,10 @@ public class FacilityService {
     public static boolean updateFacility(String id, Facility updatedFacility) {
         Facility existing = findFacilityById(id);
         if (existing != null && updatedFacility != null) {
-            int index = facilities.indexOf(existing);
-            facilities.set(index, updatedFacility);
+            facilities.replace(id, updatedFacility);
+            StatisticsService.facilityRemoved(existing);
+            StatisticsService.facilityAdded(updatedFacility);
+            index.replace(existing, updatedFacility);
             return true;
         }
         return false;
@@ -153,7 +292,9 @@ public class FacilityService {
     public static boolean removeFacility(String id) {
         Facility facility = findFacilityById(id);
         if (facility != null) {
-            facilities.remove(facility);
+            facilities.remove(id);
+            StatisticsService.facilityRemoved(facility);
+            index.remove(facility);
             return true;
         }
         return false;
@@ -179,33 +320,101 @@ public class FacilityService {
     }
 
     /**
-     * Get facilities by location
+     * Get facilities whose location contains the text (case-insensitive)
      */
     public static List<Facility> getFacilitiesByLocation(String location) {
-        return facilities.stream()
-                .filter(f -> f.getLocation().toLowerCase().contains(location.toLowerCase()))
-                .collect(Collectors.toList());
+        return location == null ? new ArrayList<>() : index.select(index.locationContaining(location));
     }
 
     /**
      * Get facilities by privilege level
      */
     public static List<Facility> getFacilitiesByPrivilege(ReservationPrivilege privilege) {
-        return facilities.stream()
-                .filter(f -> f.getPrivilege() == privilege)
-                .collect(Collectors.toList());
+        return privilege == null ? new ArrayList<>() : index.select(index.privilege(privilege));
     }
 
     /**
      * Get facility statistics
      */
     public static FacilityStats getFacilityStats() {
-        long total = facilities.size();
-        long available = facilities.stream().filter(Facility::isAvailable).count();
-        long booked = facilities.stream().filter(f -> f.getStatus() == FacilityStatus.BOOKED).count();
-        long closed = facilities.stream().filter(f -> f.getStatus() == FacilityStatus.TEMPORARILY_CLOSED).count();
+        long total = facilities.count();
+        long available = StatisticsService.getFacilityCount(FacilityStatus.AVAILABLE);
+        long booked = StatisticsService.getFacilityCount(FacilityStatus.BOOKED);
+        long closed = StatisticsService.getFacilityCount(FacilityStatus.TEMPORARILY_CLOSED);
+        long maintenance = StatisticsService.getFacilityCount(FacilityStatus.MAINTENANCE);
 
-        return new FacilityStats(total, available, booked, closed);
+        return new FacilityStats(total, available, booked, closed, maintenance);
+    }
+
+    /**
+     * Composite facility query; unset criteria match everything
+     */
+    public static class FacilityQuery {
+        private Set<FacilityType> types;
+        private FacilityStatus status;
+        private ReservationPrivilege privilege;
+        private String level;
+        private int minCapacity;
+        private final List<String> equipment = new ArrayList<>();
+        private User bookableBy;
+        private User accessibleBy;
+        private String text;
+
+        public FacilityQuery types(FacilityType... types) {
+            this.types = types.length == 0 ? null : EnumSet.copyOf(Arrays.asList(types));
+            return this;
+        }
+
+        public FacilityQuery status(FacilityStatus status) {
+            this.status = status;
+            return this;
+        }
+
+        public FacilityQuery privilege(ReservationPrivilege privilege) {
+            this.privilege = privilege;
+            return this;
+        }
+
+        /**
+         * Level as returned by levelOf, e.g. "Level 2"
+         */
+        public FacilityQuery level(String level) {
+            this.level = level;
+            return this;
+        }
+
+        public FacilityQuery minCapacity(int seats) {
+            this.minCapacity = seats;
+            return this;
+        }
+
+        /**
+         * Require a piece of equipment by name; may be called more than once
+         */
+        public FacilityQuery withEquipment(String name) {
+            if (name != null && !name.trim().isEmpty()) {
+                equipment.add(name);
+            }
+            return this;
+        }
+
+        public FacilityQuery bookableBy(User user) {
+            this.bookableBy = user;
+            return this;
+        }
+
+        public FacilityQuery accessibleBy(User user) {
+            this.accessibleBy = user;
+            return this;
+        }
+
+        /**
+         * Full-text search; results are then ranked by relevance
+         */
+        public FacilityQuery text(String text) {
+            this.text = text;
+            return this;
+        }
     }
 
     /**
@@ -216,12 +425,18 @@ public class FacilityService {
         public final long available;
         public final long booked;
         public final long closed;
+        public final long maintenance;
 
         public FacilityStats(long total, long available, long booked, long closed) {
+            this(total, available, booked, closed, 0);
+        }
+
+        public FacilityStats(long total, long available, long booked, long closed, long maintenance) {
             this.total = total;
             this.available = available;
             this.booked = booked;
             this.closed = closed;
+            this.maintenance = maintenance;
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,439 @@
+package model.services;
+
+import model.Admin;
+import model.Booking;
+import model.Equipment;
+import model.Facility;
+import model.Postgraduate;
+import model.Room;
+import model.Staff;
+import model.Student;
+import model.User;
+import model.enums.BookingStatus;
+import model.enums.FacilityStatus;
+import model.enums.FacilityType;
+import model.enums.ReservationPrivilege;
+import model.enums.Role;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact versioned binary format for bookings, facilities and users, read and
+ * written directly against ByteBuffers.
+ *
+ * A stream starts with a header (magic, version) followed by any mix of records;
+ * the reader must know which record comes next, as with the booking journal.
+ * Encoding, version 1:
+ *   - integers are LEB128 varints, signed ones zigzag-encoded first
+ *   - times are epoch minutes (UTC wall clock); a booking's end is stored as its
+ *     length in minutes. Times with seconds fall back to epoch seconds plus nanos.
+ *   - enums are ordinal bytes; new constants must only ever be appended
+ *   - facility IDs, user IDs and locations are dictionary-coded: the first use
+ *     writes the string and later uses write its code, so a stream of bookings
+ *     spells each facility ID once. An Encoder and the Decoder reading its output
+ *     build the same dictionaries, so both must see the whole stream in order.
+ *   - other strings are a varint byte length (+1, 0 for null) and UTF-8 bytes
+ *   - "B<number>" booking IDs are stored as the number
+ *
+ * A user record carries the account only; their bookings are separate records.
+ */
+public class ModelCodec {
+
+    public static final int MAGIC = 0x49424D43; // "IBMC"
+    public static final int VERSION = 1;
+
+    // Booking flags
+    private static final int CHECKED_IN = 1;
+    private static final int IRREGULAR_ID = 2;
+    private static final int PRECISE_TIMES = 4;
+
+    // Dictionary references: 0 is null, 1 introduces a new entry, n >= 2 is code n - 2
+    private static final int REF_NULL = 0;
+    private static final int REF_NEW = 1;
+    private static final int REF_BASE = 2;
+
+    private static final BookingStatus[] BOOKING_STATUSES = BookingStatus.values();
+    private static final FacilityStatus[] FACILITY_STATUSES = FacilityStatus.values();
+    private static final FacilityType[] FACILITY_TYPES = FacilityType.values();
+    private static final ReservationPrivilege[] PRIVILEGES = ReservationPrivilege.values();
+    private static final Role[] ROLES = Role.values();
+
+    /**
+     * Writes records; keeps the dictionaries of everything written so far
+     */
+    public static class Encoder {
+        private final EncodeDictionary facilityIds = new EncodeDictionary();
+        private final EncodeDictionary userIds = new EncodeDictionary();
+        private final EncodeDictionary locations = new EncodeDictionary();
+
+        /**
+         * Start a stream; also forgets the dictionaries so a new Decoder can follow
+         */
+        public void writeHeader(ByteBuffer out) {
+            facilityIds.clear();
+            userIds.clear();
+            locations.clear();
+            out.putInt(MAGIC);
+            out.put((byte) VERSION);
+        }
+
+        /**
+         * Append a booking. If the buffer fills up, nothing is written and the
+         * BufferOverflowException is passed on, so the record can be retried after
+         * the buffer has been drained.
+         */
+        public void writeBooking(ByteBuffer out, Booking booking) {
+            int position = out.position();
+            mark();
+            try {
+                LocalDateTime start = booking.getStartTime();
+                LocalDateTime end = booking.getEndTime();
+                int number = bookingNumber(booking.getBookingID());
+                boolean precise = start.getSecond() != 0 || start.getNano() != 0
+                        || end.getSecond() != 0 || end.getNano() != 0;
+                int flags = (booking.isCheckedIn() ? CHECKED_IN : 0) | (number < 0 ? IRREGULAR_ID : 0)
+                        | (precise ? PRECISE_TIMES : 0);
+
+                out.put((byte) flags);
+                if (number < 0) {
+                    putString(out, booking.getBookingID());
+                } else {
+                    putVarLong(out, number);
+                }
+                facilityIds.put(out, booking.getFacilityId());
+                userIds.put(out, booking.getUserId());
+                if (precise) {
+                    putVarLong(out, zigzag(start.toEpochSecond(ZoneOffset.UTC)));
+                    putVarLong(out, start.getNano());
+                    putVarLong(out, zigzag(end.toEpochSecond(ZoneOffset.UTC)));
+                    putVarLong(out, end.getNano());
+                } else {
+                    long startMinute = start.toEpochSecond(ZoneOffset.UTC) / 60;
+                    putVarLong(out, zigzag(startMinute));
+                    putVarLong(out, zigzag(end.toEpochSecond(ZoneOffset.UTC) / 60 - startMinute));
+                }
+                out.put((byte) booking.getStatus().ordinal());
+            } catch (BufferOverflowException e) {
+                rollback(out, position);
+                throw e;
+            }
+        }
+
+        /**
+         * Append a facility and its equipment; see writeBooking for a full buffer
+         */
+        public void writeFacility(ByteBuffer out, Facility facility) {
+            int position = out.position();
+            mark();
+            try {
+                facilityIds.put(out, facility.getId());
+                putString(out, facility.getName());
+                out.put((byte) facility.getType().ordinal());
+                out.put((byte) facility.getPrivilege().ordinal());
+                out.put((byte) facility.getStatus().ordinal());
+                locations.put(out, facility.getLocation());
+                putVarLong(out, zigzag(facility.getCapacity()));
+                putString(out, facility.getImagePath());
+                putString(out, facility.getNotes());
+                List<Equipment> equipment = facility.getEquipment();
+                putVarLong(out, equipment.size());
+                for (Equipment item : equipment) {
+                    putString(out, item.getName());
+                    putVarLong(out, zigzag(item.getQuantity()));
+                    putString(out, item.getDescription());
+                }
+            } catch (BufferOverflowException e) {
+                rollback(out, position);
+                throw e;
+            }
+        }
+
+        /**
+         * Append a user account; see writeBooking for a full buffer
+         */
+        public void writeUser(ByteBuffer out, User user) {
+            int position = out.position();
+            mark();
+            try {
+                userIds.put(out, user.getMatricNo());
+                out.put((byte) user.getRole().ordinal());
+                putString(out, user.getName());
+                putString(out, user.getPassword());
+            } catch (BufferOverflowException e) {
+                rollback(out, position);
+                throw e;
+            }
+        }
+
+        private void mark() {
+            facilityIds.mark();
+            userIds.mark();
+            locations.mark();
+        }
+
+        private void rollback(ByteBuffer out, int position) {
+            out.position(position);
+            facilityIds.rollback();
+            userIds.rollback();
+            locations.rollback();
+        }
+    }
+
+    /**
+     * Reads records written by an Encoder, in the same order
+     */
+    public static class Decoder {
+        private final List<String> facilityIds = new ArrayList<>();
+        private final List<String> userIds = new ArrayList<>();
+        private final List<String> locations = new ArrayList<>();
+        private int version;
+
+        /**
+         * Read and check a stream header
+         * @return the stream's format version
+         */
+        public int readHeader(ByteBuffer in) {
+            if (in.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a model codec stream");
+            }
+            int streamVersion = in.get();
+            if (streamVersion < 1 || streamVersion > VERSION) {
+                throw new IllegalArgumentException("Unsupported model codec version " + streamVersion);
+            }
+            facilityIds.clear();
+            userIds.clear();
+            locations.clear();
+            version = streamVersion;
+            return version;
+        }
+
+        public Booking readBooking(ByteBuffer in) {
+            requireHeader();
+            int flags = in.get();
+            String bookingId = (flags & IRREGULAR_ID) != 0 ? getString(in) : bookingId((int) getVarLong(in));
+            String facilityId = getReference(in, facilityIds);
+            String userId = getReference(in, userIds);
+            LocalDateTime start;
+            LocalDateTime end;
+            if ((flags & PRECISE_TIMES) != 0) {
+                start = LocalDateTime.ofEpochSecond(unzigzag(getVarLong(in)), (int) getVarLong(in), ZoneOffset.UTC);
+                end = LocalDateTime.ofEpochSecond(unzigzag(getVarLong(in)), (int) getVarLong(in), ZoneOffset.UTC);
+            } else {
+                long startMinute = unzigzag(getVarLong(in));
+                long endMinute = startMinute + unzigzag(getVarLong(in));
+                start = LocalDateTime.ofEpochSecond(startMinute * 60, 0, ZoneOffset.UTC);
+                end = LocalDateTime.ofEpochSecond(endMinute * 60, 0, ZoneOffset.UTC);
+            }
+            Booking booking = new Booking(bookingId, facilityId, userId, start, end, BOOKING_STATUSES[in.get()]);
+            booking.setCheckedIn((flags & CHECKED_IN) != 0);
+            return booking;
+        }
+
+        /**
+         * Read a facility; facilities come back as Rooms, the catalog's only kind
+         */
+        public Facility readFacility(ByteBuffer in) {
+            requireHeader();
+            String id = getReference(in, facilityIds);
+            String name = getString(in);
+            FacilityType type = FACILITY_TYPES[in.get()];
+            ReservationPrivilege privilege = PRIVILEGES[in.get()];
+            FacilityStatus status = FACILITY_STATUSES[in.get()];
+            String location = getReference(in, locations);
+            int capacity = (int) unzigzag(getVarLong(in));
+            String imagePath = getString(in);
+            String notes = getString(in);
+            Room room = new Room(id, name, type, location, capacity, privilege, status, imagePath, notes);
+            int equipment = (int) getVarLong(in);
+            for (int i = 0; i < equipment; i++) {
+                room.addEquipment(new Equipment(getString(in), (int) unzigzag(getVarLong(in)), getString(in)));
+            }
+            return room;
+        }
+
+        public User readUser(ByteBuffer in) {
+            requireHeader();
+            String matricNo = getReference(in, userIds);
+            Role role = ROLES[in.get()];
+            String name = getString(in);
+            String password = getString(in);
+            switch (role) {
+                case ADMIN:
+                    return new Admin(matricNo, password, name);
+                case STAFF:
+                    return new Staff(matricNo, password, name);
+                case POSTGRADUATE:
+                    return new Postgraduate(matricNo, password, name);
+                default:
+                    return new Student(matricNo, password, name);
+            }
+        }
+
+        private void requireHeader() {
+            if (version == 0) {
+                throw new IllegalStateException("readHeader must be called before reading records");
+            }
+        }
+    }
+
+    /**
+     * Encoder side of a dictionary: string to code, with undo of a half-written record
+     */
+    private static class EncodeDictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> entries = new ArrayList<>();
+        private int marked;
+
+        void put(ByteBuffer out, String value) {
+            if (value == null) {
+                putVarLong(out, REF_NULL);
+                return;
+            }
+            Integer code = codes.get(value);
+            if (code != null) {
+                putVarLong(out, code + REF_BASE);
+                return;
+            }
+            codes.put(value, entries.size());
+            entries.add(value);
+            putVarLong(out, REF_NEW);
+            putString(out, value);
+        }
+
+        void mark() {
+            marked = entries.size();
+        }
+
+        void rollback() {
+            while (entries.size() > marked) {
+                codes.remove(entries.remove(entries.size() - 1));
+            }
+        }
+
+        void clear() {
+            codes.clear();
+            entries.clear();
+        }
+    }
+
+    private static String getReference(ByteBuffer in, List<String> dictionary) {
+        int reference = (int) getVarLong(in);
+        if (reference == REF_NULL) {
+            return null;
+        }
+        if (reference == REF_NEW) {
+            String value = getString(in);
+            dictionary.add(value);
+            return value;
+        }
+        int code = reference - REF_BASE;
+        if (code >= dictionary.size()) {
+            throw new IllegalArgumentException("Unknown dictionary code " + code);
+        }
+        return dictionary.get(code);
+    }
+
+    /**
+     * Write a string as its UTF-8 byte length + 1 (0 for null) and the bytes; ASCII,
+     * which is nearly everything here, goes straight into the buffer
+     */
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            putVarLong(out, 0);
+            return;
+        }
+        int length = value.length();
+        boolean ascii = true;
+        for (int i = 0; i < length && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            putVarLong(out, length + 1L);
+            for (int i = 0; i < length; i++) {
+                out.put((byte) value.charAt(i));
+            }
+        } else {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putVarLong(out, bytes.length + 1L);
+            out.put(bytes);
+        }
+    }
+
+    private static String getString(ByteBuffer in) {
+        int length = (int) getVarLong(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.remaining()) {
+            throw new IllegalArgumentException("String runs past the end of the buffer");
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * The number of a "B%03d" booking ID, or -1 if the ID would not format back to itself
+     */
+    private static int bookingNumber(String bookingId) {
+        int length = bookingId.length();
+        if (length < 4 || length > 10 || bookingId.charAt(0) != 'B' || (length > 4 && bookingId.charAt(1) == '0')) {
+            return -1;
+        }
+        int number = 0;
+        for (int i = 1; i < length; i++) {
+            char c = bookingId.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    private static String bookingId(int number) {
+        return number < 10 ? "B00" + number : number < 100 ? "B0" + number : "B" + number;
+    }
+}
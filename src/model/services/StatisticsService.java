@@ -0,0 +1,223 @@
+package model.services;
+
+import model.Booking;
+import model.Facility;
+import model.enums.BookingStatus;
+import model.enums.FacilityStatus;
+import model.enums.FacilityType;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live booking and facility counters.
+ *
+ * Every status transition adjusts a LongAdder, so reading a snapshot costs the same
+ * however many bookings or facilities exist. Counters are also broken down by
+ * facility type and by level. Each booking and facility remembers the type and level
+ * it was counted under, so a later edit of the facility cannot make a decrement land
+ * in the wrong breakdown. BookingService and FacilityService feed this class;
+ * callers read it through BookingService.getBookingStats and FacilityService.getFacilityStats.
+ */
+public class StatisticsService {
+
+    private static final int BOOKING_STATUSES = BookingStatus.values().length;
+    private static final int FACILITY_STATUSES = FacilityStatus.values().length;
+
+    private static LongAdder[] bookingCounts = newCounters(BOOKING_STATUSES);
+    private static Map<FacilityType, LongAdder[]> bookingCountsByType = newTypeCounters(BOOKING_STATUSES);
+    private static Map<String, LongAdder[]> bookingCountsByLevel = new ConcurrentHashMap<>();
+
+    private static LongAdder[] facilityCounts = newCounters(FACILITY_STATUSES);
+    private static Map<FacilityType, LongAdder[]> facilityCountsByType = newTypeCounters(FACILITY_STATUSES);
+    private static Map<String, LongAdder[]> facilityCountsByLevel = new ConcurrentHashMap<>();
+
+    // What each live booking (by ID) and catalog facility was counted under
+    private static Map<String, Breakdown> bookingBreakdowns = new ConcurrentHashMap<>();
+    private static Map<Facility, Breakdown> facilityBreakdowns = Collections.synchronizedMap(new IdentityHashMap<>());
+    private static Map<String, Breakdown> breakdowns = new ConcurrentHashMap<>();
+
+    /**
+     * Count a newly stored booking
+     */
+    static void bookingAdded(Booking booking) {
+        // Unknown facilities only count in the totals
+        Facility facility = FacilityService.findFacilityById(booking.getFacilityId());
+        if (facility != null) {
+            bookingBreakdowns.put(booking.getBookingID(), breakdownOf(facility));
+        }
+        adjustBooking(booking, booking.getStatus(), 1);
+    }
+
+    /**
+     * Move a booking from one status counter to another
+     */
+    static void bookingStatusChanged(Booking booking, BookingStatus oldStatus, BookingStatus newStatus) {
+        if (oldStatus != newStatus) {
+            adjustBooking(booking, oldStatus, -1);
+            adjustBooking(booking, newStatus, 1);
+        }
+    }
+
+    /**
+     * Stop tracking archived bookings; they stay counted but never change status again
+     */
+    static void bookingsArchived(Collection<Booking> bookings) {
+        for (Booking booking : bookings) {
+            bookingBreakdowns.remove(booking.getBookingID());
+        }
+    }
+
+    /**
+     * Count a facility joining the catalog
+     */
+    static void facilityAdded(Facility facility) {
+        facilityBreakdowns.put(facility, breakdownOf(facility));
+        adjustFacility(facility, facility.getStatus(), 1);
+    }
+
+    /**
+     * Uncount a facility leaving the catalog
+     */
+    static void facilityRemoved(Facility facility) {
+        adjustFacility(facility, facility.getStatus(), -1);
+        facilityBreakdowns.remove(facility);
+    }
+
+    /**
+     * Recount a catalog facility whose type or location was edited in place
+     */
+    static void facilityEdited(Facility facility) {
+        Breakdown current = breakdownOf(facility);
+        if (facilityBreakdowns.get(facility) != current) {
+            adjustFacility(facility, facility.getStatus(), -1);
+            facilityBreakdowns.put(facility, current);
+            adjustFacility(facility, facility.getStatus(), 1);
+        }
+    }
+
+    /**
+     * Move a catalog facility from one status counter to another
+     */
+    static void facilityStatusChanged(Facility facility, FacilityStatus oldStatus, FacilityStatus newStatus) {
+        if (oldStatus != newStatus) {
+            adjustFacility(facility, oldStatus, -1);
+            adjustFacility(facility, newStatus, 1);
+        }
+    }
+
+    /**
+     * Get the number of bookings with a status
+     */
+    public static long getBookingCount(BookingStatus status) {
+        return bookingCounts[status.ordinal()].sum();
+    }
+
+    /**
+     * Get the number of catalog facilities with a status
+     */
+    public static long getFacilityCount(FacilityStatus status) {
+        return facilityCounts[status.ordinal()].sum();
+    }
+
+    /**
+     * Get the number of bookings with a status per facility type
+     */
+    public static Map<FacilityType, Long> getBookingCountsByType(BookingStatus status) {
+        Map<FacilityType, Long> counts = new EnumMap<>(FacilityType.class);
+        bookingCountsByType.forEach((type, counters) -> counts.put(type, counters[status.ordinal()].sum()));
+        return counts;
+    }
+
+    /**
+     * Get the number of bookings with a status per level
+     */
+    public static Map<String, Long> getBookingCountsByLevel(BookingStatus status) {
+        Map<String, Long> counts = new TreeMap<>();
+        bookingCountsByLevel.forEach((level, counters) -> counts.put(level, counters[status.ordinal()].sum()));
+        return counts;
+    }
+
+    /**
+     * Get the number of catalog facilities with a status per facility type
+     */
+    public static Map<FacilityType, Long> getFacilityCountsByType(FacilityStatus status) {
+        Map<FacilityType, Long> counts = new EnumMap<>(FacilityType.class);
+        facilityCountsByType.forEach((type, counters) -> counts.put(type, counters[status.ordinal()].sum()));
+        return counts;
+    }
+
+    /**
+     * Get the number of catalog facilities with a status per level
+     */
+    public static Map<String, Long> getFacilityCountsByLevel(FacilityStatus status) {
+        Map<String, Long> counts = new TreeMap<>();
+        facilityCountsByLevel.forEach((level, counters) -> counts.put(level, counters[status.ordinal()].sum()));
+        return counts;
+    }
+
+    private static void adjustBooking(Booking booking, BookingStatus status, int delta) {
+        int slot = status.ordinal();
+        bookingCounts[slot].add(delta);
+
+        Breakdown breakdown = bookingBreakdowns.get(booking.getBookingID());
+        if (breakdown != null) {
+            bookingCountsByType.get(breakdown.type)[slot].add(delta);
+            bookingCountsByLevel.computeIfAbsent(breakdown.level, level -> newCounters(BOOKING_STATUSES))[slot].add(delta);
+        }
+    }
+
+    private static void adjustFacility(Facility facility, FacilityStatus status, int delta) {
+        int slot = status.ordinal();
+        facilityCounts[slot].add(delta);
+
+        Breakdown breakdown = facilityBreakdowns.get(facility);
+        if (breakdown != null) {
+            facilityCountsByType.get(breakdown.type)[slot].add(delta);
+            facilityCountsByLevel.computeIfAbsent(breakdown.level, level -> newCounters(FACILITY_STATUSES))[slot].add(delta);
+        }
+    }
+
+    /**
+     * The shared breakdown for a facility's current type and level
+     */
+    private static Breakdown breakdownOf(Facility facility) {
+        String level = FacilityService.levelOf(facility);
+        return breakdowns.computeIfAbsent(facility.getType() + "|" + level,
+                key -> new Breakdown(facility.getType(), level));
+    }
+
+    private static LongAdder[] newCounters(int size) {
+        LongAdder[] counters = new LongAdder[size];
+        for (int i = 0; i < size; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    /**
+     * A facility type and level pair that counts are broken down by
+     */
+    private static class Breakdown {
+        final FacilityType type;
+        final String level;
+
+        Breakdown(FacilityType type, String level) {
+            this.type = type;
+            this.level = level;
+        }
+    }
+
+    private static Map<FacilityType, LongAdder[]> newTypeCounters(int size) {
+        Map<FacilityType, LongAdder[]> counters = new EnumMap<>(FacilityType.class);
+        for (FacilityType type : FacilityType.values()) {
+            counters.put(type, newCounters(size));
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,40 @@
+package model.services;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks selected by key hash, so writers on different keys
+ * rarely contend while the same key always maps to the same lock
+ */
+class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    StripedLocks(int stripeCount) {
+        stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Get the stripe index for a key; locks must be taken in ascending index order
+     */
+    int indexOf(String key) {
+        return (key.hashCode() & 0x7fffffff) % stripes.length;
+    }
+
+    /**
+     * Get the lock guarding a key
+     */
+    ReentrantLock forKey(String key) {
+        return stripes[indexOf(key)];
+    }
+
+    /**
+     * Get the lock at a stripe index
+     */
+    ReentrantLock at(int index) {
+        return stripes[index];
+    }
+}
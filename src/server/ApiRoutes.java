@@ -0,0 +1,429 @@
+package server;
+
+import model.Booking;
+import model.Equipment;
+import model.Facility;
+import model.User;
+import model.enums.BookingStatus;
+import model.enums.FacilityStatus;
+import model.enums.FacilityType;
+import model.services.AuthService;
+import model.services.AvailabilityService;
+import model.services.BookingPolicy;
+import model.services.BookingService;
+import model.services.FacilityService;
+import server.ApiServer.ApiException;
+import server.ApiServer.Request;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The HTTP API endpoints. Every path is below /api/ and every endpoint except
+ * login needs a session token.
+ *
+ *   POST /login                          {matricNo, password} -> {token, user}
+ *   POST /logout
+ *   GET  /me
+ *   GET  /facilities                     ?q, type, status, level, minCapacity, equipment, bookable=true
+ *   GET  /facilities/{id}
+ *   GET  /facilities/{id}/slots          ?date [, start] -> bookable start (and end) times
+ *   GET  /availability                   ?from, to, duration [, type, minCapacity, limit] -> free windows
+ *   GET  /bookings                       the caller's bookings
+ *   POST /bookings                       {facilityId, start, end}
+ *   POST /bookings/{id}/cancel
+ *   POST /bookings/{id}/checkin
+ *   GET  /admin/bookings                 ?status, limit
+ *   POST /admin/facilities/{id}/status   {status}
+ *   GET  /admin/stats
+ *   GET  /stream                         server-sent events, see EventStream
+ *
+ * Times are ISO-8601 local date-times (2025-01-31T14:30), dates ISO dates.
+ */
+class ApiRoutes {
+
+    private final ApiServer server;
+
+    ApiRoutes(ApiServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Serve a request, writing the JSON response
+     * @return the HTTP status
+     */
+    int dispatch(Request request, Json.Writer out) {
+        String resource = request.segment(0);
+        if (resource == null) {
+            throw new ApiException(404, "Unknown endpoint");
+        }
+        if (resource.equals("login")) {
+            requireMethod(request, "POST");
+            return login(request, out);
+        }
+
+        User user = server.sessionUser(request);
+        if (user == null) {
+            throw new ApiException(401, "Missing or expired session token");
+        }
+
+        switch (resource) {
+            case "logout":
+                requireMethod(request, "POST");
+                server.closeSession(request.token());
+                out.beginObject().field("loggedOut", true).endObject();
+                return 200;
+            case "me":
+                requireMethod(request, "GET");
+                writeUser(out, user);
+                return 200;
+            case "facilities":
+                return facilities(request, user, out);
+            case "availability":
+                requireMethod(request, "GET");
+                return availability(request, user, out);
+            case "bookings":
+                return bookings(request, user, out);
+            case "admin":
+                if (!AuthService.canAccessAdminFeatures(user)) {
+                    throw new ApiException(403, "Admin access required");
+                }
+                return admin(request, out);
+            default:
+                throw new ApiException(404, "Unknown endpoint");
+        }
+    }
+
+    private int login(Request request, Json.Writer out) {
+        Map<String, Object> body = request.body();
+        User user = AuthService.login(stringField(body, "matricNo"), stringField(body, "password"));
+        if (user == null) {
+            throw new ApiException(401, "Invalid matric number or password");
+        }
+        out.beginObject().field("token", server.openSession(user)).name("user");
+        writeUser(out, user);
+        out.endObject();
+        return 200;
+    }
+
+    private int facilities(Request request, User user, Json.Writer out) {
+        requireMethod(request, "GET");
+        String id = request.segment(1);
+        if (id == null) {
+            FacilityService.FacilityQuery query = new FacilityService.FacilityQuery()
+                    .accessibleBy(user)
+                    .text(request.param("q"))
+                    .level(request.param("level"))
+                    .minCapacity(intParam(request, "minCapacity", 0))
+                    .withEquipment(request.param("equipment"));
+            if (request.param("type") != null) {
+                query.types(enumParam(request, "type", FacilityType.class));
+            }
+            if (request.param("status") != null) {
+                query.status(enumParam(request, "status", FacilityStatus.class));
+            }
+            if ("true".equals(request.param("bookable"))) {
+                query.bookableBy(user);
+            }
+
+            out.beginArray();
+            for (Facility facility : FacilityService.query(query)) {
+                writeFacility(out, facility);
+            }
+            out.endArray();
+            return 200;
+        }
+
+        Facility facility = FacilityService.findFacilityById(id);
+        if (facility == null || !FacilityService.canAccessFacility(user, facility)) {
+            throw new ApiException(404, "No such facility: " + id);
+        }
+        String sub = request.segment(2);
+        if (sub == null) {
+            writeFacility(out, facility);
+            return 200;
+        }
+        if (!sub.equals("slots")) {
+            throw new ApiException(404, "Unknown endpoint");
+        }
+
+        LocalDate date = request.param("date") == null ? LocalDate.now() : dateParam(request, "date");
+        out.beginObject()
+                .field("facilityId", facility.getId())
+                .field("date", date)
+                .field("opening", AvailabilityService.OPENING_TIME)
+                .field("slotMinutes", AvailabilityService.SLOT_MINUTES)
+                .field("occupancy", AvailabilityService.getOccupancy(facility.getId(), date));
+        out.name("starts").beginArray();
+        for (LocalDateTime start : AvailabilityService.getBookableStartTimes(user, facility, date)) {
+            out.value(start);
+        }
+        out.endArray();
+        if (request.param("start") != null) {
+            out.name("ends").beginArray();
+            for (LocalDateTime end : AvailabilityService.getBookableEndTimes(user, facility, dateTimeParam(request, "start"))) {
+                out.value(end);
+            }
+            out.endArray();
+        }
+        out.endObject();
+        return 200;
+    }
+
+    private int availability(Request request, User user, Json.Writer out) {
+        LocalDateTime from = dateTimeParam(request, "from");
+        LocalDateTime to = dateTimeParam(request, "to");
+        int duration = intParam(request, "duration", BookingPolicy.getMinBookingMinutes());
+        FacilityType type = request.param("type") == null ? null : enumParam(request, "type", FacilityType.class);
+        int limit = intParam(request, "limit", 20);
+
+        out.beginArray();
+        int written = 0;
+        for (AvailabilityService.FreeWindow window : AvailabilityService.findFreeWindows(
+                type, intParam(request, "minCapacity", 0), from, to, duration, 0)) {
+            if (limit > 0 && written == limit) {
+                break;
+            }
+            if (!BookingPolicy.canUserBookFacility(user, window.facility)) {
+                continue;
+            }
+            out.beginObject()
+                    .field("facilityId", window.facility.getId())
+                    .field("name", window.facility.getName())
+                    .field("start", window.start)
+                    .field("end", window.end)
+                    .endObject();
+            written++;
+        }
+        out.endArray();
+        return 200;
+    }
+
+    private int bookings(Request request, User user, Json.Writer out) {
+        String id = request.segment(1);
+        if (id == null) {
+            if (request.method.equals("GET")) {
+                out.beginArray();
+                for (Booking booking : BookingService.getBookingsForUser(user.getMatricNo())) {
+                    writeBooking(out, booking);
+                }
+                out.endArray();
+                return 200;
+            }
+            requireMethod(request, "POST");
+            return createBooking(request, user, out);
+        }
+
+        requireMethod(request, "POST");
+        Booking booking = BookingService.findBookingById(id);
+        if (booking == null || !booking.getUserId().equals(user.getMatricNo())) {
+            throw new ApiException(404, "No such booking: " + id);
+        }
+        String action = request.segment(2);
+        if ("cancel".equals(action)) {
+            if (!BookingService.cancelBooking(user, booking)) {
+                throw new ApiException(409, "Only active bookings can be cancelled");
+            }
+        } else if ("checkin".equals(action)) {
+            if (!BookingService.checkIn(user, booking)) {
+                throw new ApiException(409, "Check-in is not open for this booking");
+            }
+        } else {
+            throw new ApiException(404, "Unknown endpoint");
+        }
+        writeBooking(out, booking);
+        return 200;
+    }
+
+    private int createBooking(Request request, User user, Json.Writer out) {
+        Map<String, Object> body = request.body();
+        String facilityId = stringField(body, "facilityId");
+        Facility facility = facilityId == null ? null : FacilityService.findFacilityById(facilityId);
+        if (facility == null) {
+            throw new ApiException(404, "No such facility: " + facilityId);
+        }
+        LocalDateTime start = dateTimeField(body, "start");
+        LocalDateTime end = dateTimeField(body, "end");
+
+        // Same policy createBooking applies, asked first so the client gets the reason
+        String refusal = BookingPolicy.checkBooking(user, facility, start, end);
+        if (refusal != null) {
+            throw new ApiException(422, refusal);
+        }
+        Booking booking = BookingService.createBooking(user, facility, start, end);
+        if (booking == null) {
+            throw new ApiException(409, "That time slot is no longer available");
+        }
+        writeBooking(out, booking);
+        return 201;
+    }
+
+    private int admin(Request request, Json.Writer out) {
+        String resource = request.segment(1);
+        if ("bookings".equals(resource) && request.segment(2) == null) {
+            requireMethod(request, "GET");
+            List<Booking> bookings = request.param("status") == null ? BookingService.getAllBookings()
+                    : BookingService.getBookingsByStatus(enumParam(request, "status", BookingStatus.class));
+            int limit = intParam(request, "limit", 0);
+            out.beginArray();
+            for (int i = 0; i < bookings.size() && (limit <= 0 || i < limit); i++) {
+                writeBooking(out, bookings.get(i));
+            }
+            out.endArray();
+            return 200;
+        }
+
+        if ("facilities".equals(resource) && request.segment(2) != null && "status".equals(request.segment(3))) {
+            requireMethod(request, "POST");
+            String id = request.segment(2);
+            String status = stringField(request.body(), "status");
+            FacilityStatus newStatus;
+            try {
+                newStatus = FacilityStatus.valueOf(status == null ? "" : status.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Unknown facility status: " + status);
+            }
+            if (!FacilityService.updateFacilityStatus(id, newStatus)) {
+                throw new ApiException(404, "No such facility: " + id);
+            }
+            writeFacility(out, FacilityService.findFacilityById(id));
+            return 200;
+        }
+
+        if ("stats".equals(resource) && request.segment(2) == null) {
+            requireMethod(request, "GET");
+            BookingService.BookingStats bookings = BookingService.getBookingStats();
+            FacilityService.FacilityStats facilities = FacilityService.getFacilityStats();
+            out.beginObject();
+            out.name("bookings").beginObject()
+                    .field("total", bookings.total)
+                    .field("active", bookings.active)
+                    .field("cancelled", bookings.cancelled)
+                    .field("completed", bookings.completed)
+                    .field("noShow", bookings.noShow)
+                    .endObject();
+            out.name("facilities").beginObject()
+                    .field("total", facilities.total)
+                    .field("available", facilities.available)
+                    .field("booked", facilities.booked)
+                    .field("closed", facilities.closed)
+                    .field("maintenance", facilities.maintenance)
+                    .endObject();
+            out.endObject();
+            return 200;
+        }
+
+        throw new ApiException(404, "Unknown endpoint");
+    }
+
+    private static void writeUser(Json.Writer out, User user) {
+        out.beginObject()
+                .field("matricNo", user.getMatricNo())
+                .field("name", user.getName())
+                .field("role", user.getRole())
+                .field("maxBookingHours", user.getMaxBookingHours())
+                .endObject();
+    }
+
+    private static void writeFacility(Json.Writer out, Facility facility) {
+        out.beginObject()
+                .field("id", facility.getId())
+                .field("name", facility.getName())
+                .field("type", facility.getType().name())
+                .field("location", facility.getLocation())
+                .field("level", FacilityService.levelOf(facility))
+                .field("capacity", facility.getCapacity())
+                .field("privilege", facility.getPrivilege().name())
+                .field("status", facility.getStatus().name())
+                .field("notes", facility.getNotes());
+        out.name("equipment").beginArray();
+        for (Equipment equipment : facility.getEquipment()) {
+            out.beginObject()
+                    .field("name", equipment.getName())
+                    .field("quantity", equipment.getQuantity())
+                    .endObject();
+        }
+        out.endArray();
+        out.endObject();
+    }
+
+    private static void writeBooking(Json.Writer out, Booking booking) {
+        out.beginObject()
+                .field("id", booking.getBookingID())
+                .field("facilityId", booking.getFacilityId())
+                .field("userId", booking.getUserId())
+                .field("start", booking.getStartTime())
+                .field("end", booking.getEndTime())
+                .field("status", booking.getStatus().name())
+                .field("checkedIn", booking.isCheckedIn())
+                .endObject();
+    }
+
+    private static void requireMethod(Request request, String method) {
+        if (!request.method.equals(method)) {
+            throw new ApiException(405, "Use " + method + " for this endpoint");
+        }
+    }
+
+    private static String stringField(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        return value == null ? null : value.toString();
+    }
+
+    private static LocalDateTime dateTimeField(Map<String, Object> body, String name) {
+        String value = stringField(body, name);
+        if (value == null) {
+            throw new ApiException(400, "Missing field: " + name);
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Bad date-time for " + name + ": " + value);
+        }
+    }
+
+    private static LocalDateTime dateTimeParam(Request request, String name) {
+        String value = request.param(name);
+        if (value == null) {
+            throw new ApiException(400, "Missing parameter: " + name);
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Bad date-time for " + name + ": " + value);
+        }
+    }
+
+    private static LocalDate dateParam(Request request, String name) {
+        String value = request.param(name);
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ApiException(400, "Bad date for " + name + ": " + value);
+        }
+    }
+
+    private static int intParam(Request request, String name, int defaultValue) {
+        String value = request.param(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ApiException(400, "Bad number for " + name + ": " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E enumParam(Request request, String name, Class<E> type) {
+        String value = request.param(name);
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Unknown " + name + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.User;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Headless entry point: serves the booking services as a JSON API over HTTP,
+ * without JavaFX.
+ *
+ * Each request runs on its own virtual thread when the JVM has them (Java 21+),
+ * so a request blocked on a facility lock or a journal group commit costs no
+ * platform thread; older JVMs fall back to a fixed pool. Clients log in once and
+ * send the returned token as "Authorization: Bearer <token>". Endpoints are listed
+ * in ApiRoutes.
+ *
+ * Settings: -Diium.server.host (default 127.0.0.1), -Diium.server.port (default 8080),
+ * -Diium.session.idle.minutes (default 30; a token unused for that long expires),
+ * plus the usual -Diium.persistence / -Diium.data.dir of BookingService.
+ */
+public class ApiServer {
+
+    private static final int BACKLOG = 4096;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+    private final ApiRoutes routes = new ApiRoutes(this);
+    private final EventStream eventStream;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long sessionIdleNanos =
+            TimeUnit.MINUTES.toNanos(Math.max(1, Integer.getInteger("iium.session.idle.minutes", 30)));
+    private final AtomicLong nextSessionSweep = new AtomicLong(System.nanoTime());
+
+    private ApiServer(HttpServer httpServer, ExecutorService executor) {
+        this.httpServer = httpServer;
+        this.executor = executor;
+        this.eventStream = new EventStream(newStreamExecutor());
+    }
+
+    public static void main(String[] args) {
+        String host = System.getProperty("iium.server.host", "127.0.0.1");
+        int port = Integer.getInteger("iium.server.port", 8080);
+        if (args.length > 0) {
+            port = Integer.parseInt(args[0]);
+        }
+
+        try {
+            ApiServer server = start(host, port);
+            System.out.println("IIUM booking API listening on http://" + host + ":" + server.getPort() + "/api/");
+            Runtime.getRuntime().addShutdownHook(new Thread(server::stop, "api-server-shutdown"));
+        } catch (IOException e) {
+            System.err.println("Could not start API server: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Start serving on a host and port (0 picks a free port)
+     */
+    public static ApiServer start(String host, int port) throws IOException {
+        // The JDK server writes headers and body separately; without TCP_NODELAY every
+        // small response waits out the client's delayed ACK (~40 ms)
+        defaultProperty("sun.net.httpserver.nodelay", "true");
+        // Keep one idle connection per kiosk rather than closing all but 200 of them
+        defaultProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(BACKLOG));
+        HttpServer httpServer = HttpServer.create(new InetSocketAddress(host, port), BACKLOG);
+        ApiServer server = new ApiServer(httpServer, newRequestExecutor());
+        httpServer.createContext("/api/", server::handle);
+        httpServer.createContext("/api/stream", server::handleStream);
+        httpServer.setExecutor(server.executor);
+        httpServer.start();
+        return server;
+    }
+
+    private static void defaultProperty(String name, String value) {
+        if (System.getProperty(name) == null) {
+            System.setProperty(name, value);
+        }
+    }
+
+    /**
+     * Stop accepting requests and wait briefly for running ones
+     */
+    public void stop() {
+        eventStream.close();
+        httpServer.stop(1);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return httpServer.getAddress().getPort();
+    }
+
+    /**
+     * Number of clients connected to the event stream
+     */
+    public int getStreamClientCount() {
+        return eventStream.clientCount();
+    }
+
+    /**
+     * One virtual thread per request where available, else a fixed platform pool
+     */
+    static ExecutorService newRequestExecutor() {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        if (virtual != null) {
+            return virtual;
+        }
+        int threads = Math.max(16, Runtime.getRuntime().availableProcessors() * 8);
+        System.out.println("Virtual threads unavailable; serving requests on " + threads + " threads");
+        return Executors.newFixedThreadPool(threads, daemonThreads("api-worker-"));
+    }
+
+    /**
+     * One virtual thread per event stream writer where available, else one platform
+     * thread each; stream writers live as long as their client, so they must not
+     * occupy the request pool
+     */
+    static ExecutorService newStreamExecutor() {
+        ExecutorService virtual = newVirtualThreadExecutor();
+        return virtual != null ? virtual : Executors.newCachedThreadPool(daemonThreads("event-stream-writer-"));
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            // Looked up reflectively so the server still builds and runs before Java 21
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Open a session for an authenticated user
+     * @return the bearer token
+     */
+    String openSession(User user) {
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        long now = System.nanoTime();
+        sessions.put(token, new Session(user, now));
+        sweepSessions(now);
+        return token;
+    }
+
+    void closeSession(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    /**
+     * Get the user a request's bearer token belongs to, or null
+     */
+    User sessionUser(Request request) {
+        String token = request.token();
+        Session session = token == null ? null : sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - session.lastUsed > sessionIdleNanos) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.lastUsed = now;
+        return session.user;
+    }
+
+    /**
+     * Drop sessions idle past the timeout, at most once per timeout period, so tokens
+     * that are never used again do not pile up
+     */
+    private void sweepSessions(long now) {
+        long due = nextSessionSweep.get();
+        if (now - due < 0 || !nextSessionSweep.compareAndSet(due, now + sessionIdleNanos)) {
+            return;
+        }
+        sessions.values().removeIf(session -> now - session.lastUsed > sessionIdleNanos);
+    }
+
+    private void handle(HttpExchange exchange) {
+        int status;
+        String body;
+        try {
+            Request request = new Request(exchange);
+            Json.Writer out = new Json.Writer();
+            status = routes.dispatch(request, out);
+            body = out.toString();
+        } catch (ApiException e) {
+            status = e.status;
+            body = new Json.Writer().beginObject().field("error", e.getMessage()).endObject().toString();
+        } catch (RuntimeException e) {
+            System.err.println("API request failed: " + exchange.getRequestMethod() + " "
+                    + exchange.getRequestURI() + ": " + e);
+            status = 500;
+            body = new Json.Writer().beginObject().field("error", "Internal server error").endObject().toString();
+        }
+        send(exchange, status, body);
+    }
+
+    /**
+     * GET /api/stream: server-sent events (see EventStream). Browsers' EventSource
+     * cannot set headers, so the token may also be passed as ?token=
+     */
+    private void handleStream(HttpExchange exchange) {
+        try {
+            Request request = new Request(exchange);
+            if (!request.method.equals("GET") || request.path.length != 1) {
+                throw new ApiException(404, "Unknown endpoint");
+            }
+            if (sessionUser(request) == null) {
+                throw new ApiException(401, "Missing or expired session token");
+            }
+            String lastEventId = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+            eventStream.open(exchange, lastEventId != null ? lastEventId : request.param("lastEventId"));
+        } catch (ApiException e) {
+            send(exchange, e.status, new Json.Writer().beginObject().field("error", e.getMessage()).endObject().toString());
+        } catch (IOException e) {
+            exchange.close();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) {
+        try {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+            if (bytes.length > 0) {
+                try (OutputStream response = exchange.getResponseBody()) {
+                    response.write(bytes);
+                }
+            }
+        } catch (IOException e) {
+            // The client went away; nothing left to tell it
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * A request as seen by the routes: method, path segments below /api, query and body
+     */
+    static class Request {
+        final String method;
+        final String[] path;
+        final Map<String, String> query;
+        private final HttpExchange exchange;
+        private Map<String, Object> body;
+
+        Request(HttpExchange exchange) {
+            this.exchange = exchange;
+            this.method = exchange.getRequestMethod();
+            String rawPath = exchange.getRequestURI().getRawPath().substring("/api/".length());
+            String[] segments = rawPath.isEmpty() ? new String[0] : rawPath.split("/");
+            for (int i = 0; i < segments.length; i++) {
+                segments[i] = decode(segments[i]);
+            }
+            this.path = segments;
+            this.query = parseQuery(exchange.getRequestURI().getRawQuery());
+        }
+
+        /**
+         * Path segment i, or null
+         */
+        String segment(int i) {
+            return i < path.length ? path[i] : null;
+        }
+
+        String param(String name) {
+            String value = query.get(name);
+            return value == null || value.isEmpty() ? null : value;
+        }
+
+        String token() {
+            String header = exchange.getRequestHeaders().getFirst("Authorization");
+            if (header == null || !header.startsWith("Bearer ")) {
+                return param("token");
+            }
+            return header.substring("Bearer ".length()).trim();
+        }
+
+        /**
+         * The JSON object body; an empty body reads as an empty object
+         */
+        Map<String, Object> body() {
+            if (body != null) {
+                return body;
+            }
+            String text = readBody();
+            try {
+                body = text.trim().isEmpty() ? new HashMap<>() : Json.parseObject(text);
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Malformed JSON body: " + e.getMessage());
+            }
+            return body;
+        }
+
+        private String readBody() {
+            try (InputStream in = exchange.getRequestBody()) {
+                byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+                if (bytes.length > MAX_BODY_BYTES) {
+                    throw new ApiException(413, "Request body too large");
+                }
+                return new String(bytes, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new ApiException(400, "Could not read request body");
+            }
+        }
+
+        private static Map<String, String> parseQuery(String rawQuery) {
+            Map<String, String> query = new HashMap<>();
+            if (rawQuery == null || rawQuery.isEmpty()) {
+                return query;
+            }
+            for (String pair : rawQuery.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq < 0) {
+                    query.put(decode(pair), "");
+                } else {
+                    query.put(decode(pair.substring(0, eq)), decode(pair.substring(eq + 1)));
+                }
+            }
+            return query;
+        }
+
+        private static String decode(String text) {
+            try {
+                return URLDecoder.decode(text, StandardCharsets.UTF_8);
+            } catch (IllegalArgumentException e) {
+                throw new ApiException(400, "Malformed URL encoding");
+            }
+        }
+    }
+
+    /**
+     * A logged-in user and when their token was last used
+     */
+    private static class Session {
+        final User user;
+        volatile long lastUsed;
+
+        Session(User user, long lastUsed) {
+            this.user = user;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    /**
+     * A request that cannot be served, reported to the client with an HTTP status
+     */
+    static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,305 @@
+package server;
+
+import com.sun.net.httpserver.HttpExchange;
+import model.Booking;
+import model.Facility;
+import model.services.AvailabilityService;
+import model.services.BookingPolicy;
+import model.services.ChangeEventBus;
+import model.services.ChangeEventBus.BookingCreated;
+import model.services.ChangeEventBus.BookingStatusChanged;
+import model.services.ChangeEventBus.ChangeEvent;
+import model.services.ChangeEventBus.FacilityStatusChanged;
+import model.services.FacilityService;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-sent-events push of live facility status and slot availability.
+ *
+ * Each domain change is serialized into an SSE frame once. Frames published while a
+ * fan-out is pending are numbered and joined into one chunk, and that same chunk is
+ * queued to every connected client, so a burst of changes costs each client one
+ * wake-up and one write rather than one per change. Events:
+ *   facility  {"id", "status"}                    a catalog facility changed status
+ *   slots     {"facilityId", "date", "occupancy"} the slot bitmap of a facility-day
+ *                                                 (see AvailabilityService.getOccupancy)
+ *   snapshot  {"facilities": {id: status, ...},   sent first to a new or lagging client;
+ *              "slots": [{"facilityId", "date",   slot bitmaps not listed for the
+ *                         "occupancy"}, ...]}     bookable dates are empty
+ *
+ * Frames carry increasing ids and the recent ones are kept, so a client reconnecting
+ * with Last-Event-ID gets what it missed; if that is no longer kept it gets a fresh
+ * snapshot instead. Every client has a bounded queue of chunks drained by its own
+ * writer; a client whose queue fills up is disconnected rather than slowing the
+ * others down, and resumes the same way when it reconnects.
+ */
+class EventStream {
+
+    private static final int CLIENT_QUEUE_CHUNKS = 256;
+    private static final int HISTORY_FRAMES = 1024;
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final byte[] HEARTBEAT = ": keep-alive\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] CLOSED = new byte[0];
+
+    private final ExecutorService writers;
+    private final List<Client> clients = new CopyOnWriteArrayList<>();
+    private final ChangeEventBus.Subscription subscription;
+    private final ScheduledExecutorService fanout = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "event-stream-fanout");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Frames not yet numbered and fanned out, as "event: ...\ndata: ...\n\n"
+    private final Object pendingLock = new Object();
+    private List<String> pending = new ArrayList<>();
+
+    // Guarded by history: ids are assigned and chunks queued in one order for everyone
+    private final byte[][] history = new byte[HISTORY_FRAMES][];
+    private long lastId;
+
+    EventStream(ExecutorService writers) {
+        this.writers = writers;
+        this.subscription = ChangeEventBus.subscribeWithOccupancy(ChangeEvent.class, this::publish);
+        fanout.scheduleAtFixedRate(() -> broadcast(HEARTBEAT), HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Number of connected clients
+     */
+    int clientCount() {
+        return clients.size();
+    }
+
+    /**
+     * Start streaming to a client; the exchange stays open until the client leaves,
+     * is evicted or the stream is closed
+     * @param lastEventId the Last-Event-ID the client reconnected with, or null
+     */
+    void open(HttpExchange exchange, String lastEventId) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=utf-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.sendResponseHeaders(200, 0);
+
+        Client client = new Client(exchange);
+        synchronized (history) {
+            long resumeFrom = parseId(lastEventId);
+            if (resumeFrom >= 0 && resumeFrom <= lastId && lastId - resumeFrom < HISTORY_FRAMES) {
+                ByteArrayOutputStream missed = new ByteArrayOutputStream();
+                for (long id = resumeFrom + 1; id <= lastId; id++) {
+                    missed.writeBytes(history[(int) (id % HISTORY_FRAMES)]);
+                }
+                client.queue.offer(missed.toByteArray());
+            } else {
+                client.queue.offer(snapshotFrame());
+            }
+            clients.add(client);
+        }
+        writers.execute(client::drain);
+    }
+
+    /**
+     * Disconnect every client and stop listening for changes
+     */
+    void close() {
+        subscription.cancel();
+        fanout.shutdownNow();
+        for (Client client : clients) {
+            client.disconnect();
+        }
+        writers.shutdown();
+    }
+
+    private void publish(ChangeEvent event) {
+        if (event instanceof FacilityStatusChanged) {
+            Facility facility = ((FacilityStatusChanged) event).facility;
+            frame("facility", new Json.Writer().beginObject()
+                    .field("id", facility.getId())
+                    .field("status", facility.getStatus().name())
+                    .endObject().toString());
+            return;
+        }
+
+        Booking booking = null;
+        long[] occupancy = null;
+        if (event instanceof BookingCreated) {
+            booking = ((BookingCreated) event).booking;
+            occupancy = ((BookingCreated) event).occupancy;
+        } else if (event instanceof BookingStatusChanged) {
+            booking = ((BookingStatusChanged) event).booking;
+            occupancy = ((BookingStatusChanged) event).occupancy;
+        }
+        if (booking == null || occupancy == null) {
+            // Without bitmaps the event predates this stream; its snapshot covers it
+            return;
+        }
+        // Send the whole day's bitmap, not the booking: applying it is idempotent
+        // and it already accounts for neighbouring bookings. The bitmaps travel with
+        // the event, so frames follow the order of the changes, not of the dispatch
+        LocalDate first = booking.getStartTime().toLocalDate();
+        for (int day = 0; day < occupancy.length; day++) {
+            frame("slots", new Json.Writer().beginObject()
+                    .field("facilityId", booking.getFacilityId())
+                    .field("date", first.plusDays(day))
+                    .field("occupancy", occupancy[day])
+                    .endObject().toString());
+        }
+    }
+
+    /**
+     * Queue one event for the next fan-out
+     */
+    private void frame(String type, String data) {
+        boolean schedule;
+        synchronized (pendingLock) {
+            schedule = pending.isEmpty();
+            pending.add("event: " + type + "\ndata: " + data + "\n\n");
+        }
+        // Only the first frame of a batch schedules a fan-out; the rest ride along
+        if (schedule) {
+            fanout.execute(this::flush);
+        }
+    }
+
+    /**
+     * Number the pending frames, keep them for resuming clients and send them to
+     * every client as one chunk
+     */
+    private void flush() {
+        List<String> batch;
+        synchronized (pendingLock) {
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+        synchronized (history) {
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream(batch.size() * 128);
+            for (String frame : batch) {
+                long id = ++lastId;
+                byte[] bytes = ("id: " + id + "\n" + frame).getBytes(StandardCharsets.UTF_8);
+                history[(int) (id % HISTORY_FRAMES)] = bytes;
+                chunk.writeBytes(bytes);
+            }
+            broadcast(chunk.toByteArray());
+        }
+    }
+
+    private void broadcast(byte[] frame) {
+        for (Client client : clients) {
+            if (!client.queue.offer(frame)) {
+                System.err.println("Disconnecting slow event stream client " + client.exchange.getRemoteAddress());
+                client.disconnect();
+            }
+        }
+    }
+
+    /**
+     * Current status of every facility and every non-empty slot bitmap on the bookable
+     * dates; callers hold the history lock so nothing is published between the snapshot
+     * and the frames that follow it
+     */
+    private byte[] snapshotFrame() {
+        List<Facility> facilities = FacilityService.getAllFacilities();
+        Json.Writer data = new Json.Writer().beginObject().name("facilities").beginObject();
+        for (Facility facility : facilities) {
+            data.field(facility.getId(), facility.getStatus().name());
+        }
+        data.endObject().name("slots").beginArray();
+        LocalDate today = LocalDate.now();
+        for (Facility facility : facilities) {
+            for (int day = 0; day <= BookingPolicy.getMaxAdvanceDays(); day++) {
+                LocalDate date = today.plusDays(day);
+                long occupancy = AvailabilityService.getOccupancy(facility.getId(), date);
+                if (occupancy != 0) {
+                    data.beginObject()
+                            .field("facilityId", facility.getId())
+                            .field("date", date)
+                            .field("occupancy", occupancy)
+                            .endObject();
+                }
+            }
+        }
+        data.endArray().endObject();
+        return ("id: " + lastId + "\nevent: snapshot\ndata: " + data + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long parseId(String id) {
+        if (id == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(id.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private class Client {
+        final HttpExchange exchange;
+        final BlockingQueue<byte[]> queue = new ArrayBlockingQueue<>(CLIENT_QUEUE_CHUNKS);
+        volatile boolean connected = true;
+        volatile Thread writer;
+
+        Client(HttpExchange exchange) {
+            this.exchange = exchange;
+        }
+
+        /**
+         * Write queued frames until the client goes away
+         */
+        void drain() {
+            writer = Thread.currentThread();
+            OutputStream out = exchange.getResponseBody();
+            try {
+                while (connected) {
+                    byte[] frame = queue.take();
+                    if (frame == CLOSED) {
+                        break;
+                    }
+                    out.write(frame);
+                    // Write everything already queued before flushing
+                    byte[] next;
+                    while ((next = queue.poll()) != null && next != CLOSED) {
+                        out.write(next);
+                    }
+                    out.flush();
+                    if (next == CLOSED) {
+                        break;
+                    }
+                }
+            } catch (IOException | InterruptedException e) {
+                // Client went away or the server is stopping
+            } finally {
+                connected = false;
+                clients.remove(this);
+                Thread.interrupted();
+                exchange.close();
+            }
+        }
+
+        void disconnect() {
+            connected = false;
+            clients.remove(this);
+            queue.clear();
+            queue.offer(CLOSED);
+            // A writer stuck on a full socket only wakes up when interrupted
+            Thread current = writer;
+            if (current != null) {
+                current.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package test;
+
+import model.Facility;
+import model.User;
+import model.enums.FacilityStatus;
+import model.services.AuthService;
+import model.services.BookingPolicy;
+import model.services.BookingRuleEngine;
+import model.services.BookingService;
+import model.services.FacilityService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Compares the compiled BookingRuleEngine with the if-chain BookingPolicy.canBook
+ * used before it, on the same randomized requests: every role, every catalog
+ * facility in a mix of statuses, start times from yesterday to past the advance
+ * limit, and users who already hold bookings so the daily-limit and overlap rules
+ * fire. Reports the time per check for both and every request they disagree on.
+ * Disagreements are allowed only where the policy was changed on purpose: BOOKED
+ * facilities can take other slots, and the maximum duration is the user's own.
+ *
+ * Usage: BookingRuleBenchmark [requests]
+ * Run with -Diium.persistence=false so the generated bookings are not journaled.
+ */
+public class BookingRuleBenchmark {
+
+    private static final String[] USERS = {"0900001", "1900001", "2900001", "2900002", "3900001"};
+    private static final FacilityStatus[] STATUSES = {
+            FacilityStatus.AVAILABLE, FacilityStatus.AVAILABLE, FacilityStatus.AVAILABLE,
+            FacilityStatus.BOOKED, FacilityStatus.MAINTENANCE, FacilityStatus.TEMPORARILY_CLOSED};
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 300_000;
+        System.out.println("=== Booking Rule Engine vs If-Chain ===");
+
+        Random random = new Random(42);
+        List<User> users = new ArrayList<>();
+        for (String matricNo : USERS) {
+            users.add(AuthService.login(matricNo, "rule-test"));
+        }
+        List<Facility> facilities = FacilityService.getAllFacilities();
+
+        // Existing bookings, so the daily-limit and overlap rules have something to find
+        LocalDate tomorrow = LocalDate.now().plusDays(1);
+        for (User user : users) {
+            for (int hour = 9; hour < 15; hour += 2) {
+                Facility facility = facilities.get(random.nextInt(facilities.size()));
+                BookingService.createBooking(user, facility, tomorrow.atTime(hour, 0), tomorrow.atTime(hour + 1, 0));
+            }
+        }
+        for (Facility facility : facilities) {
+            facility.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+        }
+
+        User[] requestUsers = new User[count];
+        Facility[] requestFacilities = new Facility[count];
+        LocalDateTime[] starts = new LocalDateTime[count];
+        LocalDateTime[] ends = new LocalDateTime[count];
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < count; i++) {
+            requestUsers[i] = users.get(random.nextInt(users.size()));
+            requestFacilities[i] = facilities.get(random.nextInt(facilities.size()));
+            starts[i] = today.plusDays(random.nextInt(17) - 1).atTime(6 + random.nextInt(18), 15 * random.nextInt(4));
+            ends[i] = starts[i].plusMinutes(15L * random.nextInt(21));
+        }
+
+        // Verdicts first, then timing
+        Map<String, Integer> disagreements = new TreeMap<>();
+        int unexpected = 0;
+        int allowed = 0;
+        for (int i = 0; i < count; i++) {
+            String failed = ifChain(requestUsers[i], requestFacilities[i], starts[i], ends[i]);
+            String reason = BookingRuleEngine.evaluate(requestUsers[i], requestFacilities[i], starts[i], ends[i]);
+            if (reason == null) {
+                allowed++;
+            }
+            if ((failed == null) != (reason == null)) {
+                String key = (failed == null ? "if-chain allows" : "if-chain refuses (" + failed + ")")
+                        + ", engine " + (reason == null ? "allows" : "refuses: " + reason);
+                disagreements.merge(key, 1, Integer::sum);
+                if (!deliberate(failed, reason, requestFacilities[i])) {
+                    unexpected++;
+                    if (unexpected <= 10) {
+                        System.out.println("UNEXPECTED: " + requestUsers[i].getRole() + " " + requestFacilities[i].getId()
+                                + " " + starts[i] + " to " + ends[i] + ": " + key);
+                    }
+                }
+            }
+        }
+        System.out.printf("%d requests, %d allowed by the engine%n", count, allowed);
+        if (disagreements.isEmpty()) {
+            System.out.println("Both gave the same verdict on every request");
+        }
+        disagreements.forEach((key, n) -> System.out.printf("%7d  %s%n", n, key));
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            int chainAllowed = 0;
+            for (int i = 0; i < count; i++) {
+                if (ifChain(requestUsers[i], requestFacilities[i], starts[i], ends[i]) == null) {
+                    chainAllowed++;
+                }
+            }
+            long chain = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            int engineAllowed = 0;
+            for (int i = 0; i < count; i++) {
+                if (BookingRuleEngine.evaluate(requestUsers[i], requestFacilities[i], starts[i], ends[i]) == null) {
+                    engineAllowed++;
+                }
+            }
+            long engine = System.nanoTime() - start;
+            if (round == ROUNDS - 1) {
+                System.out.printf("if-chain %.0f ns/check, compiled engine %.0f ns/check (%.1fx); allowed %d / %d%n",
+                        (double) chain / count, (double) engine / count, (double) chain / engine, chainAllowed, engineAllowed);
+            }
+        }
+
+        System.out.println(unexpected == 0 ? "Only deliberate policy changes differ" : unexpected + " UNEXPECTED disagreements");
+        System.exit(unexpected == 0 ? 0 : 1);
+    }
+
+    /**
+     * BookingPolicy.canBook as it was before the rule engine
+     * @return the name of the first failing check, or null if the booking is allowed
+     */
+    private static String ifChain(User user, Facility facility, LocalDateTime startTime, LocalDateTime endTime) {
+        if (!facility.isAvailable()) {
+            return "available";
+        }
+        if (!BookingPolicy.hasRequiredPrivilege(user, facility)) {
+            return "privilege";
+        }
+        if (!BookingPolicy.isValidDuration(startTime, endTime)) {
+            return "duration";
+        }
+        if (!BookingPolicy.hasMinimumAdvanceTime(startTime)) {
+            return "minimum-advance";
+        }
+        if (!BookingPolicy.isWithinAdvanceLimit(startTime)) {
+            return "advance-limit";
+        }
+        if (!BookingPolicy.isWithinUserDailyLimit(user, startTime)) {
+            return "daily-limit";
+        }
+        if (BookingPolicy.hasUserBookingConflict(user, startTime, endTime)) {
+            return "user-overlap";
+        }
+        if (startTime.isBefore(LocalDateTime.now())) {
+            return "future-start";
+        }
+        if (!BookingPolicy.isWithinBusinessHours(startTime, endTime)) {
+            return "business-hours";
+        }
+        return null;
+    }
+
+    /**
+     * Whether a disagreement comes from a deliberate policy change: the engine accepts
+     * BOOKED facilities, and limits duration by the user's own maximum in minutes
+     * where the chain truncated to whole hours against a global three
+     */
+    private static boolean deliberate(String failed, String reason, Facility facility) {
+        if ("available".equals(failed) && facility.getStatus() == FacilityStatus.BOOKED) {
+            return true;
+        }
+        return "duration".equals(failed) || (reason != null && reason.startsWith("Booking duration is too long"));
+    }
+}
@@ -0,0 +1,238 @@
+package test;
+
+import model.Booking;
+import model.Facility;
+import model.User;
+import model.enums.BookingStatus;
+import model.enums.FacilityType;
+import model.services.AuthService;
+import model.services.AvailabilityService;
+import model.services.BookingService;
+import model.services.BookingService.BookingRequest;
+import model.services.BookingService.BookingResult;
+import model.services.FacilityService;
+import model.services.StatisticsService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Stress test for concurrent booking: in every round several threads race for the
+ * same slot of the same facility, half through createBooking and half through a
+ * createBookings batch that also asks for the following slot. Then some winners
+ * cancel while the losers try again. Checks that each slot has at most one winner,
+ * that a losing batch booked nothing, and that the booking index, the statistics
+ * counters and the slot bitmaps all agree with the bookings that were made.
+ *
+ * Usage: BookingStressTest [threads] [rounds]
+ * Run with -Diium.persistence=false so the generated bookings are not journaled.
+ */
+public class BookingStressTest {
+
+    private static final String[] FACILITIES = {"SL-01", "DR-01", "DR-02", "DR-03", "AZKA-01"};
+    private static final int PAIRS_PER_DAY = AvailabilityService.SLOTS_PER_DAY / 2;
+    private static final int FIRST_STUDENT = 2_600_000;
+
+    private static int nextStudent = FIRST_STUDENT;
+    private static int failures = 0;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 400;
+        int maxRounds = FACILITIES.length * PAIRS_PER_DAY * 13;
+        if (rounds > maxRounds) {
+            System.out.println("At most " + maxRounds + " rounds fit in the booking window; using that");
+            rounds = maxRounds;
+        }
+
+        System.out.println("=== Concurrent Booking Stress Test ===");
+        System.out.println(threads + " threads, " + rounds + " rounds");
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+
+        // Phase 1: every thread races for the same slot
+        long start = System.nanoTime();
+        Booking[] winners = new Booking[rounds];
+        int batchWins = 0;
+        for (int round = 0; round < rounds; round++) {
+            Facility facility = FacilityService.findFacilityById(FACILITIES[round % FACILITIES.length]);
+            LocalDateTime slot = contestedSlot(firstDay, round);
+            List<Callable<Booking>> racers = new ArrayList<>();
+            CountDownLatch gate = new CountDownLatch(1);
+            for (int t = 0; t < threads; t++) {
+                User user = newStudent();
+                boolean batch = t % 2 == 1;
+                racers.add(() -> {
+                    gate.await();
+                    return batch ? bookPair(user, facility, slot) : BookingService.createBooking(user, facility, slot, slot.plusMinutes(30));
+                });
+            }
+            List<Booking> won = race(pool, racers, gate);
+            check(won.size() == 1, "round " + round + " had " + won.size() + " winners");
+            if (!won.isEmpty()) {
+                winners[round] = won.get(0);
+                // A winning batch also holds the next slot; a losing one holds nothing
+                List<Booking> next = BookingService.getConflictingBookings(facility.getId(), slot.plusMinutes(30), slot.plusMinutes(60));
+                boolean pair = !next.isEmpty();
+                if (pair) {
+                    batchWins++;
+                    check(next.size() == 1 && next.get(0).getUserId().equals(winners[round].getUserId()),
+                            "round " + round + " next slot is not held by the batch winner");
+                }
+            }
+        }
+        long raced = System.nanoTime();
+        System.out.printf("Phase 1: %d rounds in %.2f s, %d won by a batch, %d by a single booking%n",
+                rounds, (raced - start) / 1e9, batchWins, rounds - batchWins);
+        verify("after phase 1");
+
+        // Phase 2: in every third round the winner cancels while fresh users try again
+        int rebooked = 0;
+        for (int round = 0; round < rounds; round += 3) {
+            Booking winner = winners[round];
+            if (winner == null) {
+                continue;
+            }
+            Facility facility = FacilityService.findFacilityById(winner.getFacilityId());
+            LocalDateTime slot = winner.getStartTime();
+            User owner = AuthService.getUser(winner.getUserId());
+            List<Callable<Booking>> racers = new ArrayList<>();
+            CountDownLatch gate = new CountDownLatch(1);
+            racers.add(() -> {
+                gate.await();
+                check(BookingService.cancelBooking(owner, winner), "winner " + winner.getBookingID() + " could not cancel");
+                return null;
+            });
+            for (int t = 1; t < threads; t++) {
+                User user = newStudent();
+                racers.add(() -> {
+                    gate.await();
+                    // Retry until booked, or until one attempt made after the cancellation fails
+                    for (int attempt = 0; attempt < 100_000; attempt++) {
+                        boolean cancelled = winner.getStatus() != BookingStatus.ACTIVE;
+                        Booking booking = BookingService.createBooking(user, facility, slot, slot.plusMinutes(30));
+                        if (booking != null || cancelled) {
+                            return booking;
+                        }
+                        Thread.yield();
+                    }
+                    return null;
+                });
+            }
+            List<Booking> won = race(pool, racers, gate);
+            check(won.size() <= 1, "round " + round + " was rebooked " + won.size() + " times");
+            check(BookingService.getConflictingBookings(facility.getId(), slot, slot.plusMinutes(30)).size() <= 1,
+                    "round " + round + " has overlapping active bookings after the cancellation");
+            rebooked += won.size();
+        }
+        System.out.printf("Phase 2: %d winners cancelled under contention, %d slots rebooked%n",
+                (rounds + 2) / 3, rebooked);
+        verify("after phase 2");
+
+        pool.shutdown();
+        System.out.println(failures == 0 ? "All checks passed" : failures + " checks FAILED");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * The first of the two slots contested in a round: rounds walk the facilities,
+     * then the slot pairs of a day, then the days
+     */
+    private static LocalDateTime contestedSlot(LocalDate firstDay, int round) {
+        int pair = (round / FACILITIES.length) % PAIRS_PER_DAY;
+        LocalDate date = firstDay.plusDays(round / (FACILITIES.length * PAIRS_PER_DAY));
+        return AvailabilityService.slotStart(date, pair * 2);
+    }
+
+    private static Booking bookPair(User user, Facility facility, LocalDateTime slot) {
+        List<BookingRequest> requests = new ArrayList<>();
+        requests.add(new BookingRequest(user, facility, slot, slot.plusMinutes(30)));
+        requests.add(new BookingRequest(user, facility, slot.plusMinutes(30), slot.plusMinutes(60)));
+        List<BookingResult> results = BookingService.createBookings(requests);
+        boolean first = results.get(0).isSuccess();
+        check(first == results.get(1).isSuccess(), "batch for " + slot + " was only partly booked");
+        return first ? results.get(0).booking : null;
+    }
+
+    /**
+     * Release the gate and collect the bookings the racers made
+     */
+    private static List<Booking> race(ExecutorService pool, List<Callable<Booking>> racers, CountDownLatch gate) throws Exception {
+        List<Future<Booking>> futures = new ArrayList<>();
+        for (Callable<Booking> racer : racers) {
+            futures.add(pool.submit(racer));
+        }
+        gate.countDown();
+        List<Booking> won = new ArrayList<>();
+        for (Future<Booking> future : futures) {
+            Booking booking = future.get();
+            if (booking != null) {
+                won.add(booking);
+            }
+        }
+        return won;
+    }
+
+    /**
+     * Check the booking index, the statistics counters and the slot bitmaps against
+     * the bookings themselves
+     */
+    private static void verify(String phase) {
+        List<Booking> all = BookingService.getAllBookings();
+        for (BookingStatus status : BookingStatus.values()) {
+            long expected = all.stream().filter(b -> b.getStatus() == status).count();
+            check(BookingService.getBookingsByStatus(status).size() == expected,
+                    phase + ": index has " + BookingService.getBookingsByStatus(status).size() + " " + status + ", expected " + expected);
+            check(StatisticsService.getBookingCount(status) == expected,
+                    phase + ": statistics count " + StatisticsService.getBookingCount(status) + " " + status + ", expected " + expected);
+            long byType = 0;
+            for (Map.Entry<FacilityType, Long> entry : StatisticsService.getBookingCountsByType(status).entrySet()) {
+                byType += entry.getValue();
+            }
+            check(byType == expected, phase + ": statistics count " + byType + " " + status + " by type, expected " + expected);
+        }
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        for (String facilityId : FACILITIES) {
+            List<Booking> bookings = BookingService.getBookingsForFacility(facilityId);
+            for (int day = 0; day < 14; day++) {
+                LocalDate date = firstDay.plusDays(day);
+                long expected = 0L;
+                for (Booking booking : bookings) {
+                    if (booking.getStatus() == BookingStatus.ACTIVE && booking.getStartTime().toLocalDate().equals(date)) {
+                        long from = ChronoUnit.MINUTES.between(AvailabilityService.slotStart(date, 0), booking.getStartTime()) / 30;
+                        long to = ChronoUnit.MINUTES.between(AvailabilityService.slotStart(date, 0), booking.getEndTime()) / 30;
+                        for (long slot = from; slot < to; slot++) {
+                            check((expected & (1L << slot)) == 0, phase + ": " + facilityId + " slot " + slot + " on " + date + " is double booked");
+                            expected |= 1L << slot;
+                        }
+                    }
+                }
+                long actual = AvailabilityService.getOccupancy(facilityId, date);
+                check(actual == expected, phase + ": " + facilityId + " bitmap on " + date + " is "
+                        + Long.toBinaryString(actual) + ", expected " + Long.toBinaryString(expected));
+            }
+        }
+        System.out.println("Index, statistics and slot bitmaps consistent " + phase);
+    }
+
+    private static User newStudent() {
+        return AuthService.login(String.valueOf(nextStudent++), "stress-test");
+    }
+
+    private static synchronized void check(boolean condition, String message) {
+        if (!condition) {
+            failures++;
+            System.out.println("FAIL: " + message);
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package test;
+
+import model.Admin;
+import model.Booking;
+import model.Equipment;
+import model.Facility;
+import model.Postgraduate;
+import model.Staff;
+import model.Student;
+import model.User;
+import model.enums.BookingStatus;
+import model.services.FacilityService;
+import model.services.ModelCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Round-trip checks and benchmarks for ModelCodec.
+ *
+ * First every catalog facility, a set of users and bookings including the awkward
+ * cases (odd IDs, times with seconds, dates before 1970, non-ASCII text) are written
+ * and read back, also through a buffer too small for the stream. Then encode/decode
+ * throughput and bytes per booking are compared with Java serialization of the
+ * same fields (the model classes are not Serializable themselves).
+ *
+ * Usage: CodecBenchmark [bookings]
+ */
+public class CodecBenchmark {
+
+    private static final int ROUNDS = 10;
+    private static int failures;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        System.out.println("=== Model Codec Round Trip ===");
+        checkRoundTrips();
+        if (failures > 0) {
+            System.out.println(failures + " round-trip check(s) FAILED");
+            System.exit(1);
+        }
+        System.out.println("All round-trip checks passed");
+
+        System.out.println();
+        System.out.println("=== Model Codec Benchmark (" + count + " bookings) ===");
+        List<Booking> bookings = generate(count);
+        benchmarkCodec(bookings);
+        benchmarkJavaSerialization(bookings);
+    }
+
+    private static void checkRoundTrips() {
+        List<Facility> facilities = FacilityService.getAllFacilities();
+        List<User> users = new ArrayList<>();
+        users.add(new Admin("0123456", "admin123", "Admin User"));
+        users.add(new Staff("1123456", "staff123", "Staff User"));
+        users.add(new Student("2123456", "student123", "Nur Äisyah binti Ali"));
+        users.add(new Postgraduate("3123456", "pässwörd", "研究生"));
+
+        LocalDateTime base = LocalDate.now().plusDays(1).atTime(9, 0);
+        List<Booking> bookings = new ArrayList<>();
+        bookings.add(new Booking("B001", "DR-01", "2123456", base, base.plusHours(1), BookingStatus.ACTIVE));
+        bookings.add(new Booking("B999", "DR-01", "2123456", base.plusHours(2), base.plusHours(4), BookingStatus.COMPLETED));
+        bookings.add(new Booking("B123456", "SL-01", "3123456", base, base.plusDays(2), BookingStatus.CANCELLED));
+        bookings.add(new Booking("B0100", "SL-01", "3123456", base, base.plusMinutes(30), BookingStatus.NO_SHOW));
+        bookings.add(new Booking("IMPORT-7", "AUD-01", "1123456", base, base.plusMinutes(90), BookingStatus.ACTIVE));
+        bookings.add(new Booking("B002", "AUD-01", "1123456", base.withSecond(17).withNano(5000),
+                base.plusHours(1).withSecond(59), BookingStatus.ACTIVE));
+        bookings.add(new Booking("B003", "CR-L1-01", "0123456", LocalDateTime.of(1965, 3, 1, 8, 0),
+                LocalDateTime.of(1965, 3, 1, 10, 30), BookingStatus.COMPLETED));
+        bookings.add(new Booking("B004", "DR-01", "2123456", base.plusHours(1), base, BookingStatus.ACTIVE));
+        bookings.get(0).setCheckedIn(true);
+
+        // One stream of everything, in a roomy buffer
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        ModelCodec.Encoder encoder = new ModelCodec.Encoder();
+        encoder.writeHeader(buffer);
+        for (Facility facility : facilities) {
+            encoder.writeFacility(buffer, facility);
+        }
+        for (User user : users) {
+            encoder.writeUser(buffer, user);
+        }
+        for (Booking booking : bookings) {
+            encoder.writeBooking(buffer, booking);
+        }
+        buffer.flip();
+        System.out.println("Catalog of " + facilities.size() + " facilities, " + users.size() + " users and "
+                + bookings.size() + " bookings: " + buffer.remaining() + " bytes");
+
+        ModelCodec.Decoder decoder = new ModelCodec.Decoder();
+        check("version", decoder.readHeader(buffer) == ModelCodec.VERSION);
+        for (Facility facility : facilities) {
+            checkFacility(facility, decoder.readFacility(buffer));
+        }
+        for (User user : users) {
+            checkUser(user, decoder.readUser(buffer));
+        }
+        for (Booking booking : bookings) {
+            checkBooking(booking, decoder.readBooking(buffer));
+        }
+        check("whole stream consumed", !buffer.hasRemaining());
+
+        // The same bookings through a 64-byte buffer: a record that does not fit is
+        // left out whole, the buffer is drained and the record written again
+        List<Booking> repeated = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            repeated.addAll(bookings);
+        }
+        ByteBuffer small = ByteBuffer.allocate(64);
+        ByteBuffer drained = ByteBuffer.allocate(64 * 1024);
+        encoder.writeHeader(small);
+        for (Booking booking : repeated) {
+            try {
+                encoder.writeBooking(small, booking);
+            } catch (BufferOverflowException e) {
+                small.flip();
+                drained.put(small);
+                small.clear();
+                encoder.writeBooking(small, booking);
+            }
+        }
+        small.flip();
+        drained.put(small).flip();
+        decoder.readHeader(drained);
+        for (Booking booking : repeated) {
+            checkBooking(booking, decoder.readBooking(drained));
+        }
+        check("small-buffer stream consumed", !drained.hasRemaining());
+
+        // Garbage is rejected rather than misread
+        try {
+            decoder.readHeader(ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5}));
+            check("bad magic rejected", false);
+        } catch (IllegalArgumentException expected) {
+            // Rejected as it should be
+        }
+    }
+
+    private static void checkBooking(Booking expected, Booking actual) {
+        String what = "booking " + expected.getBookingID();
+        check(what + " id", expected.getBookingID().equals(actual.getBookingID()));
+        check(what + " facility", expected.getFacilityId().equals(actual.getFacilityId()));
+        check(what + " user", expected.getUserId().equals(actual.getUserId()));
+        check(what + " start", expected.getStartTime().equals(actual.getStartTime()));
+        check(what + " end", expected.getEndTime().equals(actual.getEndTime()));
+        check(what + " status", expected.getStatus() == actual.getStatus());
+        check(what + " checked in", expected.isCheckedIn() == actual.isCheckedIn());
+    }
+
+    private static void checkFacility(Facility expected, Facility actual) {
+        String what = "facility " + expected.getId();
+        check(what + " id", expected.getId().equals(actual.getId()));
+        check(what + " name", Objects.equals(expected.getName(), actual.getName()));
+        check(what + " type", expected.getType() == actual.getType());
+        check(what + " location", Objects.equals(expected.getLocation(), actual.getLocation()));
+        check(what + " capacity", expected.getCapacity() == actual.getCapacity());
+        check(what + " privilege", expected.getPrivilege() == actual.getPrivilege());
+        check(what + " status", expected.getStatus() == actual.getStatus());
+        check(what + " image", Objects.equals(expected.getImagePath(), actual.getImagePath()));
+        check(what + " notes", Objects.equals(expected.getNotes(), actual.getNotes()));
+        List<Equipment> expectedEquipment = expected.getEquipment();
+        List<Equipment> actualEquipment = actual.getEquipment();
+        check(what + " equipment count", expectedEquipment.size() == actualEquipment.size());
+        for (int i = 0; i < Math.min(expectedEquipment.size(), actualEquipment.size()); i++) {
+            Equipment e = expectedEquipment.get(i);
+            Equipment a = actualEquipment.get(i);
+            check(what + " equipment " + i, e.getName().equals(a.getName()) && e.getQuantity() == a.getQuantity()
+                    && Objects.equals(e.getDescription(), a.getDescription()));
+        }
+    }
+
+    private static void checkUser(User expected, User actual) {
+        String what = "user " + expected.getMatricNo();
+        check(what + " matric", expected.getMatricNo().equals(actual.getMatricNo()));
+        check(what + " role", expected.getRole() == actual.getRole());
+        check(what + " class", expected.getClass() == actual.getClass());
+        check(what + " name", expected.getName().equals(actual.getName()));
+        check(what + " password", expected.getPassword().equals(actual.getPassword()));
+    }
+
+    private static void check(String what, boolean ok) {
+        if (!ok) {
+            failures++;
+            System.out.println("FAILED: " + what);
+        }
+    }
+
+    /**
+     * Bookings spread over the real catalog and a few thousand users, as a journal would see them
+     */
+    private static List<Booking> generate(int count) {
+        List<Facility> facilities = FacilityService.getAllFacilities();
+        LocalDateTime first = LocalDate.now().atTime(8, 0);
+        BookingStatus[] statuses = BookingStatus.values();
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int slot = i / facilities.size();
+            LocalDateTime start = first.plusDays(slot / 28).plusMinutes(30L * (slot % 28));
+            Booking booking = new Booking("B" + String.format("%03d", 1000 + i), facilities.get(i % facilities.size()).getId(),
+                    String.valueOf(2_000_000 + (i * 7919) % 5000), start, start.plusMinutes(30L * (1 + i % 4)),
+                    statuses[i % statuses.length]);
+            booking.setCheckedIn(i % 3 == 0);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    private static void benchmarkCodec(List<Booking> bookings) {
+        ByteBuffer buffer = ByteBuffer.allocate(bookings.size() * 32 + 16);
+        long encodeNanos = Long.MAX_VALUE;
+        long decodeNanos = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            buffer.clear();
+            long start = System.nanoTime();
+            ModelCodec.Encoder encoder = new ModelCodec.Encoder();
+            encoder.writeHeader(buffer);
+            for (Booking booking : bookings) {
+                encoder.writeBooking(buffer, booking);
+            }
+            encodeNanos = Math.min(encodeNanos, System.nanoTime() - start);
+
+            buffer.flip();
+            start = System.nanoTime();
+            ModelCodec.Decoder decoder = new ModelCodec.Decoder();
+            decoder.readHeader(buffer);
+            for (int i = 0; i < bookings.size(); i++) {
+                checksum += decoder.readBooking(buffer).getEndTime().getMinute();
+            }
+            decodeNanos = Math.min(decodeNanos, System.nanoTime() - start);
+        }
+        report("ModelCodec", bookings.size(), buffer.limit(), encodeNanos, decodeNanos, checksum);
+    }
+
+    private static void benchmarkJavaSerialization(List<Booking> bookings) throws IOException, ClassNotFoundException {
+        byte[] bytes = null;
+        long encodeNanos = Long.MAX_VALUE;
+        long decodeNanos = Long.MAX_VALUE;
+        long checksum = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bookings.size() * 64);
+            try (ObjectOutputStream objects = new ObjectOutputStream(out)) {
+                for (Booking booking : bookings) {
+                    objects.writeObject(booking.getBookingID());
+                    objects.writeObject(booking.getFacilityId());
+                    objects.writeObject(booking.getUserId());
+                    objects.writeObject(booking.getStartTime());
+                    objects.writeObject(booking.getEndTime());
+                    objects.writeObject(booking.getStatus());
+                    objects.writeBoolean(booking.isCheckedIn());
+                }
+            }
+            bytes = out.toByteArray();
+            encodeNanos = Math.min(encodeNanos, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            try (ObjectInputStream objects = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                for (int i = 0; i < bookings.size(); i++) {
+                    Booking booking = new Booking((String) objects.readObject(), (String) objects.readObject(),
+                            (String) objects.readObject(), (LocalDateTime) objects.readObject(),
+                            (LocalDateTime) objects.readObject(), (BookingStatus) objects.readObject());
+                    booking.setCheckedIn(objects.readBoolean());
+                    checksum += booking.getEndTime().getMinute();
+                }
+            }
+            decodeNanos = Math.min(decodeNanos, System.nanoTime() - start);
+        }
+        report("Java serialization", bookings.size(), bytes.length, encodeNanos, decodeNanos, checksum);
+    }
+
+    private static void report(String name, int count, int bytes, long encodeNanos, long decodeNanos, long checksum) {
+        System.out.printf("%-20s %6.1f bytes/booking  encode %5.0f ns/booking (%6.1f MB/s)  decode %5.0f ns/booking  [%d]%n",
+                name, bytes / (double) count, encodeNanos / (double) count, bytes / (encodeNanos / 1e9) / 1e6,
+                decodeNanos / (double) count, checksum);
+    }
+}
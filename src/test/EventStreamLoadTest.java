@@ -0,0 +1,291 @@
+package test;
+
+import model.Booking;
+import model.User;
+import model.enums.FacilityStatus;
+import model.services.AuthService;
+import model.services.AvailabilityService;
+import model.services.BookingService;
+import model.services.FacilityService;
+import server.ApiServer;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fan-out test for the server-sent-events stream: connects many clients that each keep
+ * a local mirror of facility statuses and slot bitmaps, plus one client that never
+ * reads, then drives a burst of bookings, cancellations and status changes through
+ * the services.
+ * Reports delivery throughput, checks that every mirror matches the server afterwards
+ * and that the stalled client was evicted without holding anyone up.
+ *
+ * Usage: EventStreamLoadTest [clients] [bookings]
+ * Run with -Diium.persistence=false so the generated bookings are not journaled.
+ */
+public class EventStreamLoadTest {
+
+    private static final String[] FACILITIES = {"SL-01", "DR-01", "DR-02", "DR-03", "AZKA-01"};
+    private static final int STATUS_TOGGLES = 5000;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int bookings = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+
+        ApiServer server = ApiServer.start("127.0.0.1", 0);
+        String baseUrl = "http://127.0.0.1:" + server.getPort() + "/api/";
+        // Handle responses on the client's selector thread; handing every line to a
+        // worker pool would make the clients, not the server, the bottleneck
+        HttpClient http = HttpClient.newBuilder().executor(Runnable::run).build();
+        String token = login(http, baseUrl);
+        System.out.println("=== Event Stream Fan-out Test ===");
+
+        Mirror[] mirrors = new Mirror[clients];
+        for (int i = 0; i < clients; i++) {
+            mirrors[i] = new Mirror(http, baseUrl + "stream?token=" + token);
+            mirrors[i].connect();
+        }
+        Socket stalled = connectStalled(server.getPort(), token);
+        for (Mirror mirror : mirrors) {
+            mirror.snapshot.await(30, TimeUnit.SECONDS);
+        }
+        System.out.println("Connected " + server.getStreamClientCount() + " stream clients (one never reads)");
+
+        // Bookings publish slot bitmaps and facility status changes
+        long start = System.nanoTime();
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+        List<User> owners = new ArrayList<>();
+        List<Booking> made = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            String facilityId = FACILITIES[i % FACILITIES.length];
+            int slot = (i / FACILITIES.length) % AvailabilityService.SLOTS_PER_DAY;
+            LocalDate date = firstDay.plusDays(i / (FACILITIES.length * AvailabilityService.SLOTS_PER_DAY));
+            LocalDateTime slotStart = AvailabilityService.slotStart(date, slot);
+            User user = AuthService.login(String.valueOf(2_500_000 + i), "stream-test");
+            Booking booking = BookingService.createBooking(user, FacilityService.findFacilityById(facilityId),
+                    slotStart, slotStart.plusMinutes(AvailabilityService.SLOT_MINUTES));
+            if (booking != null) {
+                owners.add(user);
+                made.add(booking);
+            }
+        }
+        // Cancel every third booking, so releases must reach the mirrors too
+        int cancelled = 0;
+        for (int i = 0; i < made.size(); i += 3) {
+            if (BookingService.cancelBooking(owners.get(i), made.get(i))) {
+                cancelled++;
+            }
+        }
+        // Then a burst of status changes on one facility
+        for (int i = 0; i < STATUS_TOGGLES; i++) {
+            FacilityService.updateFacilityStatus(FACILITIES[0], i % 2 == 0 ? FacilityStatus.MAINTENANCE : FacilityStatus.AVAILABLE);
+        }
+        long published = System.nanoTime();
+
+        // Wait until every mirror has caught up with the server
+        long deadline = System.currentTimeMillis() + 60_000;
+        int behind = clients;
+        while (behind > 0 && System.currentTimeMillis() < deadline) {
+            behind = 0;
+            for (Mirror mirror : mirrors) {
+                if (!mirror.matchesServer(firstDay, bookings)) {
+                    behind++;
+                }
+            }
+            if (behind > 0) {
+                Thread.sleep(20);
+            }
+        }
+        long caughtUp = System.nanoTime();
+
+        long frames = 0;
+        int reconnects = 0;
+        for (Mirror mirror : mirrors) {
+            mirror.stop();
+            frames += mirror.frames.get();
+            reconnects += mirror.reconnects.get();
+        }
+        System.out.printf("Published %d bookings, %d cancellations + %d status changes in %.2f s%n",
+                made.size(), cancelled, STATUS_TOGGLES, (published - start) / 1e9);
+        System.out.printf("Delivered %d frames to %d clients, all caught up %.0f ms after the last change (%.0f frames/s)%n",
+                frames, clients - behind, (caughtUp - published) / 1e6, frames / ((caughtUp - start) / 1e9));
+        System.out.println("Mirrors not matching the server: " + behind + ", reconnects after eviction: " + reconnects);
+
+        // With the mirrors gone, keep publishing until the stalled client's socket
+        // buffers and queue are full and the server drops it
+        int extra = 0;
+        while (server.getStreamClientCount() > 0 && extra < 500_000) {
+            FacilityService.updateFacilityStatus(FACILITIES[0], extra++ % 2 == 0 ? FacilityStatus.MAINTENANCE : FacilityStatus.AVAILABLE);
+        }
+        System.out.println(server.getStreamClientCount() == 0
+                ? "Stalled client evicted after " + (STATUS_TOGGLES + extra) + " status changes"
+                : "Stalled client was not evicted");
+
+        stalled.close();
+        server.stop();
+        System.exit(behind == 0 ? 0 : 1);
+    }
+
+    private static String login(HttpClient http, String baseUrl) throws Exception {
+        String json = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "login"))
+                .POST(HttpRequest.BodyPublishers.ofString("{\"matricNo\":\"0123456\",\"password\":\"admin123\"}")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        int start = json.indexOf("\"token\":\"") + "\"token\":\"".length();
+        return json.substring(start, json.indexOf('"', start));
+    }
+
+    /**
+     * A raw connection with a tiny receive buffer that subscribes and then never reads
+     */
+    private static Socket connectStalled(int port, String token) throws Exception {
+        Socket socket = new Socket();
+        socket.setReceiveBufferSize(4096);
+        socket.connect(new InetSocketAddress("127.0.0.1", port));
+        OutputStream out = socket.getOutputStream();
+        out.write(("GET /api/stream?token=" + token + " HTTP/1.1\r\nHost: localhost\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+        return socket;
+    }
+
+    /**
+     * A client-side mirror fed only by the event stream; like a browser EventSource it
+     * reconnects with Last-Event-ID whenever the server drops it
+     */
+    private static class Mirror implements Flow.Subscriber<String> {
+        private static final Pattern STATUS = Pattern.compile("\"([^\"]+)\":\"([A-Z_]+)\"");
+        private static final Pattern SLOTS = Pattern.compile(
+                "\\{\"facilityId\":\"([^\"]+)\",\"date\":\"([^\"]+)\",\"occupancy\":(\\d+)\\}");
+
+        final Map<String, String> statuses = new ConcurrentHashMap<>();
+        final Map<String, Long> occupancy = new ConcurrentHashMap<>();
+        final CountDownLatch snapshot = new CountDownLatch(1);
+        final AtomicLong frames = new AtomicLong();
+        final AtomicInteger reconnects = new AtomicInteger();
+        private final HttpClient http;
+        private final String url;
+        private volatile boolean running = true;
+        private volatile String lastEventId;
+        private volatile Flow.Subscription subscription;
+        private String event;
+
+        Mirror(HttpClient http, String url) {
+            this.http = http;
+            this.url = url;
+        }
+
+        void connect() {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url));
+            if (lastEventId != null) {
+                request.header("Last-Event-ID", lastEventId);
+            }
+            http.sendAsync(request.build(), HttpResponse.BodyHandlers.fromLineSubscriber(this));
+        }
+
+        void stop() {
+            running = false;
+            Flow.Subscription current = subscription;
+            if (current != null) {
+                current.cancel();
+            }
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            if (line.startsWith("id: ")) {
+                lastEventId = line.substring("id: ".length());
+            } else if (line.startsWith("event: ")) {
+                event = line.substring("event: ".length());
+            } else if (line.startsWith("data: ")) {
+                apply(event, line.substring("data: ".length()));
+                frames.incrementAndGet();
+            }
+        }
+
+        private void apply(String type, String data) {
+            if ("snapshot".equals(type)) {
+                int slots = data.indexOf("\"slots\":");
+                Matcher status = STATUS.matcher(data.substring(0, slots));
+                while (status.find()) {
+                    statuses.put(status.group(1), status.group(2));
+                }
+                occupancy.clear();
+                Matcher slot = SLOTS.matcher(data.substring(slots));
+                while (slot.find()) {
+                    occupancy.put(slot.group(1) + "@" + slot.group(2), Long.parseLong(slot.group(3)));
+                }
+                snapshot.countDown();
+            } else if ("facility".equals(type)) {
+                statuses.put(field(data, "id"), field(data, "status"));
+            } else if ("slots".equals(type)) {
+                Matcher slot = SLOTS.matcher(data);
+                if (slot.find()) {
+                    occupancy.put(slot.group(1) + "@" + slot.group(2), Long.parseLong(slot.group(3)));
+                }
+            }
+        }
+
+        boolean matchesServer(LocalDate firstDay, int bookings) {
+            for (String id : FACILITIES) {
+                if (!FacilityService.findFacilityById(id).getStatus().name().equals(statuses.get(id))) {
+                    return false;
+                }
+            }
+            int days = bookings / (FACILITIES.length * AvailabilityService.SLOTS_PER_DAY) + 1;
+            for (String id : FACILITIES) {
+                for (int d = 0; d < days; d++) {
+                    LocalDate date = firstDay.plusDays(d);
+                    long expected = AvailabilityService.getOccupancy(id, date);
+                    if (expected != occupancy.getOrDefault(id + "@" + date, 0L)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            onComplete();
+        }
+
+        @Override
+        public void onComplete() {
+            if (running) {
+                reconnects.incrementAndGet();
+                connect();
+            }
+        }
+
+        private static String field(String json, String name) {
+            String key = "\"" + name + "\":\"";
+            int start = json.indexOf(key) + key.length();
+            return json.substring(start, json.indexOf('"', start));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package test;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import model.Facility;
+import model.Room;
+import model.enums.FacilityStatus;
+import model.enums.FacilityType;
+import model.enums.ReservationPrivilege;
+import view.components.FacilityGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures frame (pulse) times of the virtualized facility grid with 5,000 facilities
+ * while it scrolls continuously and is re-filtered every half second.
+ */
+public class FacilityGridBenchmark extends Application {
+
+    private static final int FACILITIES = 5000;
+    private static final int FRAMES = 1200;
+    private static final double SCROLL_PER_FRAME = 40;
+
+    private final long[] frameNanos = new long[FRAMES];
+    private int frame;
+    private long lastPulse;
+
+    public static void main(String[] args) {
+        launch(args);
+    }
+
+    @Override
+    public void start(Stage stage) {
+        Random random = new Random(42);
+        FacilityType[] types = FacilityType.values();
+        FacilityStatus[] statuses = FacilityStatus.values();
+        List<Facility> facilities = new ArrayList<>();
+        for (int i = 0; i < FACILITIES; i++) {
+            facilities.add(new Room("BM-" + i, "Benchmark Room " + i, types[random.nextInt(types.length)],
+                    "Level " + (1 + random.nextInt(3)), 1 + random.nextInt(40), ReservationPrivilege.OPEN,
+                    statuses[random.nextInt(statuses.length)], "", ""));
+        }
+        List<Facility> everyOther = new ArrayList<>();
+        for (int i = 0; i < facilities.size(); i += 2) {
+            everyOther.add(facilities.get(i));
+        }
+
+        FacilityGrid grid = new FacilityGrid();
+        grid.setItems(facilities);
+        stage.setScene(new Scene(grid, 1000, 700));
+        stage.setTitle("Facility grid benchmark");
+        stage.show();
+
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (lastPulse != 0) {
+                    frameNanos[frame++] = now - lastPulse;
+                }
+                lastPulse = now;
+                if (frame == FRAMES) {
+                    stop();
+                    report();
+                    Platform.exit();
+                    return;
+                }
+
+                // Scroll every frame; swap the filter every 30 frames
+                if (frame % 30 == 0) {
+                    grid.setItems(frame % 60 == 0 ? facilities : everyOther);
+                }
+                if (grid.isAtBottom()) {
+                    grid.scrollToTop();
+                } else {
+                    grid.scrollBy(SCROLL_PER_FRAME);
+                }
+            }
+        }.start();
+    }
+
+    private void report() {
+        long[] sorted = frameNanos.clone();
+        Arrays.sort(sorted);
+        double total = 0;
+        int slow = 0;
+        for (long nanos : sorted) {
+            total += nanos;
+            if (nanos > 1_000_000_000L / 55) {
+                slow++;
+            }
+        }
+        System.out.println("=== Facility Grid Pulse Benchmark (" + FACILITIES + " facilities) ===");
+        System.out.printf("Frames: %d, average %.2f ms (%.1f fps)%n", sorted.length,
+                total / sorted.length / 1e6, 1e9 / (total / sorted.length));
+        System.out.printf("p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                sorted[sorted.length / 2] / 1e6, sorted[sorted.length * 95 / 100] / 1e6,
+                sorted[sorted.length * 99 / 100] / 1e6, sorted[sorted.length - 1] / 1e6);
+        System.out.println("Frames slower than 55 fps: " + slow);
+    }
+}
@@ -0,0 +1,129 @@
+package test;
+
+import model.Booking;
+import model.enums.BookingStatus;
+import model.repository.BookingRepository;
+import model.repository.ConnectionPool;
+import model.repository.InMemoryBookingRepository;
+import model.repository.JdbcBookingRepository;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark for the booking repositories: batch inserts, one-by-one inserts and
+ * indexed conflict and user-history queries, run against the in-memory repository
+ * and, when its JDBC driver is on the classpath, an embedded database. Both must
+ * give the same answers.
+ *
+ * Usage: RepositoryBenchmark [bookings] [jdbcUrl]
+ * e.g. java -cp bin:h2.jar test.RepositoryBenchmark 100000 jdbc:h2:mem:bench
+ */
+public class RepositoryBenchmark {
+
+    private static final int FACILITIES = 30;
+    private static final int USERS = 500;
+    private static final int SINGLE_INSERTS = 1000;
+    private static final int QUERIES = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int bookings = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        String url = args.length > 1 ? args[1] : "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1";
+
+        List<Booking> batch = generate(bookings, 0);
+        List<Booking> singles = generate(SINGLE_INSERTS, bookings);
+        System.out.println("=== Booking Repository Benchmark ===");
+        System.out.println(bookings + " bookings over " + FACILITIES + " facilities and " + USERS + " users");
+
+        long[] memory = run("in-memory", new InMemoryBookingRepository(), batch, singles);
+
+        try {
+            DriverManager.getDriver(url);
+        } catch (SQLException e) {
+            System.out.println("No JDBC driver for " + url + " on the classpath; database run skipped");
+            return;
+        }
+        try (ConnectionPool pool = new ConnectionPool(url, null, null, 4)) {
+            long[] database = run(url, new JdbcBookingRepository(pool), batch, singles);
+            for (int i = 0; i < memory.length; i++) {
+                if (memory[i] != database[i]) {
+                    System.out.println("MISMATCH: query set " + i + " found " + memory[i] + " in memory, "
+                            + database[i] + " in the database");
+                    System.exit(1);
+                }
+            }
+            System.out.println("Both repositories gave the same answers");
+        }
+    }
+
+    /**
+     * Time each phase against one repository
+     * @return the number of rows each query set found, for comparison
+     */
+    private static long[] run(String name, BookingRepository repository, List<Booking> batch, List<Booking> singles) {
+        System.out.println("\n-- " + name);
+        long start = System.nanoTime();
+        repository.saveAll(batch);
+        report("batch insert", batch.size(), System.nanoTime() - start);
+
+        start = System.nanoTime();
+        for (Booking booking : singles) {
+            repository.save(booking);
+        }
+        report("single inserts", singles.size(), System.nanoTime() - start);
+
+        Random random = new Random(42);
+        LocalDateTime first = LocalDate.now().plusDays(1).atTime(8, 0);
+        int days = (batch.size() + singles.size()) / (FACILITIES * 28) + 1;
+        long conflicts = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES; i++) {
+            LocalDateTime from = first.plusDays(random.nextInt(days)).plusMinutes(30L * random.nextInt(28));
+            conflicts += repository.findOverlapping(facility(random.nextInt(FACILITIES)), from, from.plusHours(1)).size();
+        }
+        report("conflict queries", QUERIES, System.nanoTime() - start);
+
+        long history = 0;
+        start = System.nanoTime();
+        for (int i = 0; i < QUERIES / 10; i++) {
+            history += repository.findByUser(user(random.nextInt(USERS))).size();
+        }
+        report("user history queries", QUERIES / 10, System.nanoTime() - start);
+
+        long active = repository.findByStatus(BookingStatus.ACTIVE).size();
+        return new long[]{repository.findAll().size(), conflicts, history, active};
+    }
+
+    /**
+     * Back-to-back 30-minute bookings filling each facility's day, every tenth one cancelled
+     */
+    private static List<Booking> generate(int count, int offset) {
+        LocalDateTime first = LocalDate.now().plusDays(1).atTime(8, 0);
+        List<Booking> result = new ArrayList<>(count);
+        for (int i = offset; i < offset + count; i++) {
+            int slot = i / FACILITIES;
+            LocalDateTime start = first.plusDays(slot / 28).plusMinutes(30L * (slot % 28));
+            Booking booking = new Booking("BENCH" + i, facility(i % FACILITIES), user(i % USERS),
+                    start, start.plusMinutes(30), i % 10 == 0 ? BookingStatus.CANCELLED : BookingStatus.ACTIVE);
+            result.add(booking);
+        }
+        return result;
+    }
+
+    private static String facility(int n) {
+        return String.format("F-%02d", n);
+    }
+
+    private static String user(int n) {
+        return String.valueOf(2_000_000 + n);
+    }
+
+    private static void report(String phase, int operations, long nanos) {
+        System.out.printf("%-22s %8d in %8.1f ms  (%.0f/s)%n", phase, operations, nanos / 1e6, operations / (nanos / 1e9));
+    }
+}
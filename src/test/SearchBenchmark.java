@@ -0,0 +1,66 @@
+package test;
+
+import model.*;
+import model.services.*;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Measures per-keystroke facility search latency on a large synthetic catalog.
+ * Run with -Diium.persistence=false so the generated facilities are not journaled.
+ */
+public class SearchBenchmark {
+
+    private static final int FACILITIES = 10000;
+    private static final String[] NAMES = {"Discussion Room", "Carrel Room", "Computer Lab", "Study Pod",
+            "Seminar Hall", "Research Lounge", "Media Studio", "Reading Room"};
+    private static final String[] EQUIPMENT = {"Projector", "Whiteboard", "Computer", "Plasma TV",
+            "Audio System", "N/A"};
+    private static final String[] QUERIES = {"d", "di", "dis", "disc", "discussion", "discusion room",
+            "comp", "lab level 2", "projector", "whitebord", "ro", "room 12", "seminar", "studio 9"};
+
+    public static void main(String[] args) {
+        System.out.println("=== Facility Search Benchmark ===\n");
+
+        long buildStart = System.nanoTime();
+        Random random = new Random(42);
+        for (int i = 0; i < FACILITIES; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            FacilityService.addFacility(new Room("BM-" + i, name + " " + i, 1 + random.nextInt(40),
+                    "Level " + (1 + random.nextInt(3)), "Available",
+                    EQUIPMENT[random.nextInt(EQUIPMENT.length)], "Open", "Benchmark facility"));
+        }
+        System.out.printf("Indexed %d facilities in %.1f ms%n%n",
+                FacilityService.getAllFacilities().size(), (System.nanoTime() - buildStart) / 1e6);
+
+        // Warm up
+        for (int round = 0; round < 200; round++) {
+            for (String query : QUERIES) {
+                FacilityService.getSearchSet(query);
+                FacilityService.searchFacilities(query);
+            }
+        }
+
+        int rounds = 500;
+        for (String query : QUERIES) {
+            long start = System.nanoTime();
+            int hits = 0;
+            for (int round = 0; round < rounds; round++) {
+                hits = FacilityService.getSearchSet(query).cardinality();
+            }
+            double setMicros = (System.nanoTime() - start) / 1e3 / rounds;
+
+            start = System.nanoTime();
+            List<Facility> ranked = null;
+            for (int round = 0; round < rounds; round++) {
+                ranked = FacilityService.searchFacilities(query);
+            }
+            double rankedMicros = (System.nanoTime() - start) / 1e3 / rounds;
+
+            System.out.printf("%-16s %6d hits  set %8.1f us  ranked %8.1f us  top: %s%n", "\"" + query + "\"",
+                    hits, setMicros, rankedMicros, ranked.isEmpty() ? "-" : ranked.get(0).getName());
+        }
+
+        System.out.println("\n=== Benchmark Completed ===");
+    }
+}
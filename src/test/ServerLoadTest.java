@@ -0,0 +1,147 @@
+package test;
+
+import server.ApiServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Load test for the headless API: starts the server in this JVM and drives it with
+ * thousands of concurrent simulated kiosks. Each kiosk logs in as its own user, then
+ * runs a loop of catalog searches, slot lookups and occasional booking attempts.
+ *
+ * Usage: ServerLoadTest [clients] [requestsPerClient]
+ * Run with -Diium.persistence=false so the generated bookings are not journaled.
+ */
+public class ServerLoadTest {
+
+    private static final String[] QUERIES = {"room", "discussion", "carrel", "level 2", "projector", "lab"};
+    private static final String[] FACILITIES = {"SL-01", "DR-01", "DR-02", "DR-03", "AZKA-01"};
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final String baseUrl;
+    private final int requestsPerClient;
+    private final long[] latencies;
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicLong failures = new AtomicLong();
+    private final ConcurrentHashMap<Integer, AtomicInteger> statuses = new ConcurrentHashMap<>();
+
+    private ServerLoadTest(String baseUrl, int clients, int requestsPerClient) {
+        this.baseUrl = baseUrl;
+        this.requestsPerClient = requestsPerClient;
+        this.latencies = new long[clients * (requestsPerClient + 1)];
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int requestsPerClient = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        ApiServer server = ApiServer.start("127.0.0.1", 0);
+        String baseUrl = "http://127.0.0.1:" + server.getPort() + "/api/";
+        System.out.println("=== API Server Load Test ===");
+        System.out.println(clients + " concurrent clients x " + requestsPerClient + " requests against " + baseUrl);
+
+        // Warm up the JIT with a small run first
+        new ServerLoadTest(baseUrl, 50, 20).run(50, 1_000_000);
+
+        ServerLoadTest test = new ServerLoadTest(baseUrl, clients, requestsPerClient);
+        long start = System.nanoTime();
+        test.run(clients, 0);
+        test.report(System.nanoTime() - start);
+
+        server.stop();
+        System.exit(0);
+    }
+
+    /**
+     * Start every client at once and wait for all of them to finish
+     */
+    private void run(int clients, int userOffset) {
+        CompletableFuture<?>[] running = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            String matricNo = String.valueOf(2_000_000 + userOffset + i);
+            running[i] = login(matricNo)
+                    .thenCompose(token -> session(token, new Random(matricNo.hashCode()), 0))
+                    .exceptionally(error -> null);
+        }
+        CompletableFuture.allOf(running).join();
+    }
+
+    private CompletableFuture<String> login(String matricNo) {
+        String body = "{\"matricNo\":\"" + matricNo + "\",\"password\":\"load-test\"}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "login"))
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build())
+                .thenApply(response -> {
+                    String json = response.body();
+                    int start = json.indexOf("\"token\":\"") + "\"token\":\"".length();
+                    return json.substring(start, json.indexOf('"', start));
+                });
+    }
+
+    /**
+     * One client's requests, each sent when the previous response has arrived
+     */
+    private CompletableFuture<Void> session(String token, Random random, int sent) {
+        if (sent == requestsPerClient) {
+            return CompletableFuture.completedFuture(null);
+        }
+        String facility = FACILITIES[random.nextInt(FACILITIES.length)];
+        LocalDate date = LocalDate.now().plusDays(1 + random.nextInt(7));
+        HttpRequest.Builder request;
+        int kind = random.nextInt(10);
+        if (kind < 5) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "facilities?q="
+                    + QUERIES[random.nextInt(QUERIES.length)].replace(" ", "+"))).GET();
+        } else if (kind < 9) {
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "facilities/" + facility + "/slots?date=" + date)).GET();
+        } else {
+            String start = date.atTime(8 + random.nextInt(13), 0).toString();
+            String end = date.atTime(8 + random.nextInt(13), 0).plusMinutes(60).toString();
+            request = HttpRequest.newBuilder(URI.create(baseUrl + "bookings")).POST(HttpRequest.BodyPublishers.ofString(
+                    "{\"facilityId\":\"" + facility + "\",\"start\":\"" + start + "\",\"end\":\"" + end + "\"}"));
+        }
+        // A failed request is counted and the client carries on, as a kiosk would
+        return send(request.header("Authorization", "Bearer " + token).build())
+                .handle((response, error) -> null)
+                .thenCompose(ignored -> session(token, random, sent + 1));
+    }
+
+    private CompletableFuture<HttpResponse<String>> send(HttpRequest request) {
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    int slot = recorded.getAndIncrement();
+                    if (slot < latencies.length) {
+                        latencies[slot] = System.nanoTime() - start;
+                    }
+                    if (error != null) {
+                        failures.incrementAndGet();
+                    } else {
+                        statuses.computeIfAbsent(response.statusCode(), code -> new AtomicInteger()).incrementAndGet();
+                    }
+                });
+    }
+
+    private void report(long elapsedNanos) {
+        int count = Math.min(recorded.get(), latencies.length);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("Requests: %d in %.2f s (%.0f req/s), transport failures: %d%n",
+                count, elapsedNanos / 1e9, count / (elapsedNanos / 1e9), failures.get());
+        System.out.printf("Latency p50 %.2f ms, p95 %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                sorted[count / 2] / 1e6, sorted[count * 95 / 100] / 1e6,
+                sorted[count * 99 / 100] / 1e6, sorted[count - 1] / 1e6);
+        System.out.println("Responses by status: " + new TreeMap<>(statuses));
+    }
+}
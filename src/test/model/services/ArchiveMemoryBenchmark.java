@@ -0,0 +1,118 @@
+package model.services;
+
+import model.Booking;
+import model.enums.BookingStatus;
+import model.repository.InMemoryBookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the heap taken by finished booking history kept live (Booking objects in
+ * the in-memory repository and the booking index, as before archiving) with the
+ * same history in the columnar archive. Lives in model.services because the index
+ * and the archive are package-private.
+ *
+ * Usage: ArchiveMemoryBenchmark [bookings...]   (default 1000000 10000000)
+ * e.g. javac -cp bin -d bin src/test/model/services/ArchiveMemoryBenchmark.java
+ *      java -Xmx8g -cp bin model.services.ArchiveMemoryBenchmark
+ * Sizes that do not fit in the heap are reported and skipped.
+ */
+public class ArchiveMemoryBenchmark {
+
+    private static final int FACILITIES = 200;
+    private static final int USERS = 20_000;
+    private static final BookingStatus[] FINISHED = {
+            BookingStatus.COMPLETED, BookingStatus.COMPLETED, BookingStatus.CANCELLED, BookingStatus.NO_SHOW};
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2020, 1, 1, 8, 0);
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? new int[] {1_000_000, 10_000_000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+
+        System.out.println("=== Booking History Memory: Live Objects vs Columnar Archive ===");
+        System.out.printf("Max heap %d MB%n", Runtime.getRuntime().maxMemory() >> 20);
+        for (int size : sizes) {
+            System.out.println("\n-- " + size + " finished bookings");
+            long live = measureLive(size);
+            long archived = measureArchive(size);
+            if (live > 0 && archived > 0) {
+                System.out.printf("Archive uses %.1fx less memory%n", (double) live / archived);
+            }
+        }
+    }
+
+    private static long measureLive(int size) {
+        long before = usedHeap();
+        try {
+            InMemoryBookingRepository repository = new InMemoryBookingRepository();
+            BookingIndex index = new BookingIndex();
+            List<Booking> bookings = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                bookings.add(booking(i));
+            }
+            repository.saveAll(bookings);
+            for (Booking booking : bookings) {
+                index.add(booking);
+            }
+            bookings = null;
+            long used = usedHeap() - before;
+            report("live objects", used, size);
+            keep(repository, index);
+            return used;
+        } catch (OutOfMemoryError e) {
+            System.out.println("live objects: does not fit in the heap");
+            return -1;
+        }
+    }
+
+    private static long measureArchive(int size) {
+        long before = usedHeap();
+        try {
+            ColumnarBookingStore archive = new ColumnarBookingStore();
+            for (int i = 0; i < size; i++) {
+                archive.add(booking(i));
+            }
+            long used = usedHeap() - before;
+            report("columnar archive", used, size);
+            keep(archive, null);
+            return used;
+        } catch (OutOfMemoryError e) {
+            System.out.println("columnar archive: does not fit in the heap");
+            return -1;
+        }
+    }
+
+    /**
+     * A finished booking with its own strings, as restored from storage
+     */
+    private static Booking booking(int i) {
+        LocalDateTime start = FIRST_DAY.plusDays(i / (FACILITIES * 20)).plusMinutes(30L * (i % 20));
+        return new Booking("B" + String.format("%03d", i + 1), "F-" + (i % FACILITIES), String.valueOf(2_000_000 + i % USERS),
+                start, start.plusMinutes(60), FINISHED[i % FINISHED.length]);
+    }
+
+    private static void report(String name, long bytes, int size) {
+        System.out.printf("%-17s %,8d MB  %6.1f bytes/booking%n", name, bytes >> 20, (double) bytes / size);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Keeps the measured structures reachable until the heap has been read
+    private static volatile Object sink;
+
+    private static void keep(Object first, Object second) {
+        sink = first;
+        sink = second;
+        sink = null;
+    }
+}
@@ -0,0 +1,179 @@
+package model.services;
+
+import model.Booking;
+import model.enums.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark for the booking index's conflict checks at 10k, 100k and 1M active
+ * bookings, against a linear scan of the facility's bookings. Also checks that one
+ * unusually long booking only slows queries while it is active: once it is cancelled
+ * the search window shrinks back. Lives in model.services because BookingIndex is
+ * package-private.
+ *
+ * Usage: BookingIndexBenchmark [bookings...]   (default 10000 100000 1000000)
+ * e.g. javac -cp bin -d bin src/test/model/services/BookingIndexBenchmark.java
+ *      java -cp bin model.services.BookingIndexBenchmark
+ */
+public class BookingIndexBenchmark {
+
+    private static final int FACILITIES = 100;
+    private static final int QUERIES = 200_000;
+    private static final int SCAN_QUERIES = 2_000;
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    private static int failures = 0;
+
+    public static void main(String[] args) {
+        int[] sizes = args.length == 0 ? new int[] {10_000, 100_000, 1_000_000} : new int[args.length];
+        for (int i = 0; i < args.length; i++) {
+            sizes[i] = Integer.parseInt(args[i]);
+        }
+
+        System.out.println("=== Booking Index Conflict Check Benchmark ===");
+        for (int size : sizes) {
+            run(size);
+        }
+        System.out.println(failures == 0 ? "\nAll answers matched the linear scan" : "\n" + failures + " answers DIFFERED");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void run(int size) {
+        System.out.println("\n-- " + size + " active bookings over " + FACILITIES + " facilities");
+        BookingIndex index = new BookingIndex();
+        List<List<Booking>> byFacility = new ArrayList<>();
+        for (int f = 0; f < FACILITIES; f++) {
+            byFacility.add(new ArrayList<>());
+        }
+
+        // Back-to-back bookings of 30 to 120 minutes with random gaps
+        Random random = new Random(42);
+        LocalDateTime[] next = new LocalDateTime[FACILITIES];
+        Arrays.fill(next, FIRST_DAY);
+        long start = System.nanoTime();
+        for (int i = 0; i < size; i++) {
+            int f = i % FACILITIES;
+            LocalDateTime begin = next[f].plusMinutes(30L * random.nextInt(3));
+            LocalDateTime end = begin.plusMinutes(30L * (1 + random.nextInt(4)));
+            Booking booking = new Booking("B" + (i + 1), "F-" + f, "U-" + random.nextInt(5_000), begin, end, BookingStatus.ACTIVE);
+            index.add(booking);
+            byFacility.get(f).add(booking);
+            next[f] = end;
+        }
+        report("index build", size, System.nanoTime() - start);
+
+        LocalDateTime last = FIRST_DAY;
+        for (LocalDateTime end : next) {
+            if (end.isAfter(last)) {
+                last = end;
+            }
+        }
+        long span = Duration.between(FIRST_DAY, last).toMinutes();
+
+        long indexed = queries(index, span, "indexed check");
+        check(index, byFacility, span);
+
+        // A week-long booking per facility widens every facility's search window
+        List<Booking> longBookings = new ArrayList<>();
+        for (int f = 0; f < FACILITIES; f++) {
+            LocalDateTime begin = FIRST_DAY.plusMinutes(span / 2);
+            Booking booking = new Booking("L" + f, "F-" + f, "U-long", begin, begin.plusDays(7), BookingStatus.ACTIVE);
+            index.add(booking);
+            byFacility.get(f).add(booking);
+            longBookings.add(booking);
+        }
+        long widened = queries(index, span, "with long booking");
+        check(index, byFacility, span);
+
+        // Cancelling them must bring the window, and the query time, back
+        for (Booking booking : longBookings) {
+            booking.setStatus(BookingStatus.CANCELLED);
+            index.statusChanged(booking, BookingStatus.ACTIVE);
+            byFacility.get(Integer.parseInt(booking.getFacilityId().substring(2))).remove(booking);
+        }
+        long restored = queries(index, span, "after cancelling");
+        check(index, byFacility, span);
+        System.out.printf("Long bookings slowed queries %.1fx; after cancelling %.1fx of the original%n",
+                (double) widened / indexed, (double) restored / indexed);
+
+        Random queryRandom = new Random(7);
+        start = System.nanoTime();
+        int hits = 0;
+        for (int q = 0; q < SCAN_QUERIES; q++) {
+            int f = queryRandom.nextInt(FACILITIES);
+            LocalDateTime from = FIRST_DAY.plusMinutes(30L * queryRandom.nextInt((int) (span / 30)));
+            hits += scan(byFacility.get(f), from, from.plusMinutes(60)).size();
+        }
+        long perScan = (System.nanoTime() - start) / SCAN_QUERIES;
+        System.out.printf("%-20s %,10d ns/query (%d hits)%n", "linear scan", perScan, hits);
+        System.out.printf("Indexed check is %.0fx faster than the scan%n", (double) perScan / indexed);
+    }
+
+    /**
+     * Time random one-hour conflict checks
+     * @return nanoseconds per query
+     */
+    private static long queries(BookingIndex index, long span, String name) {
+        // The first pass warms up the JIT and is not reported
+        queryPass(index, span, name, false);
+        return queryPass(index, span, name, true);
+    }
+
+    private static long queryPass(BookingIndex index, long span, String name, boolean print) {
+        Random random = new Random(7);
+        int hits = 0;
+        long start = System.nanoTime();
+        for (int q = 0; q < QUERIES; q++) {
+            String facilityId = "F-" + random.nextInt(FACILITIES);
+            LocalDateTime from = FIRST_DAY.plusMinutes(30L * random.nextInt((int) (span / 30)));
+            if (index.hasOverlap(facilityId, from, from.plusMinutes(60))) {
+                hits++;
+            }
+        }
+        long perQuery = (System.nanoTime() - start) / QUERIES;
+        if (print) {
+            System.out.printf("%-20s %,10d ns/query (%d hits)%n", name, perQuery, hits);
+        }
+        return perQuery;
+    }
+
+    /**
+     * Compare the index's answers with a linear scan on a sample of slots
+     */
+    private static void check(BookingIndex index, List<List<Booking>> byFacility, long span) {
+        Random random = new Random(11);
+        for (int q = 0; q < SCAN_QUERIES; q++) {
+            int f = random.nextInt(FACILITIES);
+            LocalDateTime from = FIRST_DAY.plusMinutes(30L * random.nextInt((int) (span / 30)));
+            LocalDateTime to = from.plusMinutes(30L * (1 + random.nextInt(4)));
+            List<Booking> expected = scan(byFacility.get(f), from, to);
+            List<Booking> actual = index.findOverlapping("F-" + f, from, to);
+            if (actual.size() != expected.size() || !actual.containsAll(expected)
+                    || index.hasOverlap("F-" + f, from, to) == expected.isEmpty()) {
+                failures++;
+                System.out.println("MISMATCH: F-" + f + " " + from + " to " + to + ": index " + actual.size()
+                        + ", scan " + expected.size());
+            }
+        }
+    }
+
+    private static List<Booking> scan(List<Booking> bookings, LocalDateTime from, LocalDateTime to) {
+        List<Booking> result = new ArrayList<>();
+        for (Booking booking : bookings) {
+            if (booking.getStartTime().isBefore(to) && booking.getEndTime().isAfter(from)) {
+                result.add(booking);
+            }
+        }
+        return result;
+    }
+
+    private static void report(String name, int count, long nanos) {
+        System.out.printf("%-20s %,10.1f ms (%,.0f ns each)%n", name, nanos / 1e6, (double) nanos / count);
+    }
+}
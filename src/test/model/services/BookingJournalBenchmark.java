@@ -0,0 +1,197 @@
+package model.services;
+
+import model.Booking;
+import model.enums.BookingStatus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Benchmark for the booking journal: group-commit throughput with 1 to 64 writers
+ * each waiting for its own fsync, and recovery time for 1M bookings, replayed once
+ * from the journal alone and once from a snapshot plus the journal tail. The
+ * journal-only run makes every snapshot fail, which also checks that a failed
+ * snapshot is retried once per interval rather than after every batch, and every
+ * run checks in some bookings to check that check-ins survive recovery. Lives in
+ * model.services because BookingJournal is package-private.
+ *
+ * Usage: BookingJournalBenchmark [bookings]   (default 1000000)
+ * e.g. javac -cp bin -d bin src/test/model/services/BookingJournalBenchmark.java
+ *      java -cp bin model.services.BookingJournalBenchmark
+ */
+public class BookingJournalBenchmark {
+
+    private static final int[] WRITERS = {1, 8, 64};
+    private static final int COMMIT_RECORDS = 20_000;
+    private static final LocalDateTime FIRST_DAY = LocalDateTime.of(2030, 1, 1, 8, 0);
+
+    private static int failures = 0;
+
+    public static void main(String[] args) throws Exception {
+        int bookings = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        System.out.println("=== Booking Journal Benchmark ===");
+
+        System.out.println("\n-- Group commit, every writer waits for its record to be fsynced");
+        for (int writers : WRITERS) {
+            groupCommit(writers);
+        }
+
+        Booking[] generated = new Booking[bookings];
+        for (int i = 0; i < bookings; i++) {
+            LocalDateTime start = FIRST_DAY.plusMinutes(30L * (i / 50));
+            generated[i] = new Booking("B" + (i + 1), "F-" + (i % 50), String.valueOf(2_000_000 + i % 20_000),
+                    start, start.plusMinutes(60), BookingStatus.ACTIVE);
+        }
+
+        System.out.println("\n-- Recovery of " + bookings + " bookings plus " + bookings / 10 + " status changes and "
+                + (bookings + 5) / 10 + " check-ins");
+        AtomicInteger snapshotAttempts = new AtomicInteger();
+        recovery("journal only", generated, appended -> () -> {
+            snapshotAttempts.incrementAndGet();
+            throw new IllegalStateException("snapshots disabled for this run");
+        });
+        int allowed = (bookings + bookings / 10 + (bookings + 5) / 10) / BookingJournal.SNAPSHOT_INTERVAL + 1;
+        check(snapshotAttempts.get() <= allowed,
+                snapshotAttempts.get() + " snapshot attempts after failures, expected at most " + allowed);
+        System.out.println("Failed snapshots were attempted " + snapshotAttempts.get() + " times");
+
+        recovery("snapshot + tail", generated,
+                appended -> () -> Arrays.asList(generated).subList(0, appended.get()));
+
+        System.out.println(failures == 0 ? "\nAll checks passed" : "\n" + failures + " checks FAILED");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    private static void groupCommit(int writers) throws Exception {
+        Path directory = Files.createTempDirectory("journal-bench");
+        try {
+            BookingJournal journal = BookingJournal.open(directory);
+            journal.recover(b -> { }, (id, status) -> { });
+            journal.start(ArrayList::new);
+
+            int perWriter = COMMIT_RECORDS / writers;
+            List<Thread> threads = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                threads.add(new Thread(() -> {
+                    for (int i = 0; i < perWriter; i++) {
+                        LocalDateTime start = FIRST_DAY.plusMinutes(30L * i);
+                        Booking booking = new Booking("W" + writer + "-" + i, "F-" + writer, "U-" + writer,
+                                start, start.plusMinutes(60), BookingStatus.ACTIVE);
+                        journal.appendCreate(booking).join();
+                    }
+                }));
+            }
+            long start = System.nanoTime();
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            long nanos = System.nanoTime() - start;
+            int records = perWriter * writers;
+            System.out.printf("%3d writers: %,8.0f records/s (%,.0f us per commit)%n",
+                    writers, records / (nanos / 1e9), nanos / 1e3 / perWriter);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Journal every booking and a cancellation of every tenth one, then time a cold
+     * recovery from the same directory
+     */
+    private static void recovery(String name, Booking[] bookings,
+                                 Function<AtomicInteger, Supplier<Collection<Booking>>> snapshots)
+            throws Exception {
+        for (Booking booking : bookings) {
+            booking.setStatus(BookingStatus.ACTIVE);
+            booking.setCheckedIn(false);
+        }
+        Path directory = Files.createTempDirectory("journal-bench");
+        try {
+            BookingJournal journal = BookingJournal.open(directory);
+            journal.recover(b -> { }, (id, status) -> { });
+            AtomicInteger appended = new AtomicInteger();
+            journal.start(snapshots.apply(appended));
+
+            long start = System.nanoTime();
+            CompletableFuture<Void> last = null;
+            for (int i = 0; i < bookings.length; i++) {
+                last = journal.appendCreate(bookings[i]);
+                appended.incrementAndGet();
+                if (i % 10 == 9) {
+                    // As BookingService does: change the booking, then journal the change
+                    bookings[i].setStatus(BookingStatus.CANCELLED);
+                    last = journal.appendStatus(bookings[i].getBookingID(), BookingStatus.CANCELLED);
+                } else if (i % 10 == 4) {
+                    bookings[i].setCheckedIn(true);
+                    last = journal.appendCheckIn(bookings[i].getBookingID());
+                }
+            }
+            if (last != null) {
+                last.join();
+            }
+            long written = System.nanoTime() - start;
+
+            Map<String, Booking> restored = new HashMap<>();
+            int[] statusChanges = new int[1];
+            start = System.nanoTime();
+            BookingJournal reopened = BookingJournal.open(directory);
+            reopened.recover(b -> restored.put(b.getBookingID(), b), (id, status) -> {
+                Booking booking = restored.get(id);
+                if (booking != null) {
+                    booking.setStatus(status);
+                    statusChanges[0]++;
+                }
+            }, id -> {
+                Booking booking = restored.get(id);
+                if (booking != null) {
+                    booking.setCheckedIn(true);
+                }
+            });
+            long recovered = System.nanoTime() - start;
+
+            long cancelled = restored.values().stream().filter(b -> b.getStatus() == BookingStatus.CANCELLED).count();
+            long checkedIn = restored.values().stream().filter(Booking::isCheckedIn).count();
+            System.out.printf("%-16s written in %.2f s, recovered in %.2f s (%,.0f bookings/s, %d replayed status changes)%n",
+                    name, written / 1e9, recovered / 1e9, restored.size() / (recovered / 1e9), statusChanges[0]);
+            check(restored.size() == bookings.length, name + ": recovered " + restored.size() + " of " + bookings.length);
+            check(cancelled == bookings.length / 10, name + ": " + cancelled + " cancelled, expected " + bookings.length / 10);
+            long expectedCheckedIn = (bookings.length + 5) / 10;
+            check(checkedIn == expectedCheckedIn, name + ": " + checkedIn + " checked in, expected " + expectedCheckedIn);
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            failures++;
+            System.out.println("FAIL: " + message);
+        }
+    }
+}
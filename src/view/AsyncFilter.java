@@ -0,0 +1,127 @@
+package view;
+
+import javafx.application.Platform;
+import javafx.scene.control.Alert;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Debounced background filter for search and filter inputs.
+ *
+ * The page captures its inputs on the FX thread and submits them; the query runs on
+ * a shared background worker once the input has been quiet for the debounce delay.
+ * Every submission supersedes the previous one: a query still waiting is dropped,
+ * one already running is interrupted, and a result that arrives after newer input
+ * is discarded, so only the latest result is handed back through Platform.runLater.
+ *
+ * Queries must not touch scene graph state; everything they need goes in the input.
+ * A query that fails ends the submission like a result would, and the failure is
+ * handed to the error handler on the FX thread (by default an error dialog).
+ */
+public class AsyncFilter<I, R> {
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "filter-worker-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long debounceMillis;
+    private final Function<I, R> query;
+    private final Consumer<R> onResult;
+    private final Consumer<RuntimeException> onError;
+
+    // Only touched on the FX thread
+    private int generation;
+    private Future<?> pending;
+
+    public AsyncFilter(long debounceMillis, Function<I, R> query, Consumer<R> onResult) {
+        this(debounceMillis, query, onResult, AsyncFilter::showError);
+    }
+
+    public AsyncFilter(long debounceMillis, Function<I, R> query, Consumer<R> onResult,
+                       Consumer<RuntimeException> onError) {
+        this.debounceMillis = debounceMillis;
+        this.query = query;
+        this.onResult = onResult;
+        this.onError = onError;
+    }
+
+    /**
+     * Run the query for new input once typing pauses
+     */
+    public void submit(I input) {
+        schedule(input, debounceMillis);
+    }
+
+    /**
+     * Run the query for new input without waiting (e.g. a combo box selection)
+     */
+    public void submitNow(I input) {
+        schedule(input, 0);
+    }
+
+    /**
+     * Whether a submitted query has not delivered its result yet
+     */
+    public boolean isPending() {
+        return pending != null;
+    }
+
+    /**
+     * Drop any waiting or running query; its result will not be delivered
+     */
+    public void cancel() {
+        generation++;
+        if (pending != null) {
+            pending.cancel(true);
+            pending = null;
+        }
+    }
+
+    private void schedule(I input, long delayMillis) {
+        cancel();
+        int submitted = generation;
+        pending = executor.schedule(() -> {
+            R result;
+            try {
+                result = query.apply(input);
+            } catch (RuntimeException e) {
+                deliver(submitted, () -> onError.accept(e));
+                return;
+            }
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            deliver(submitted, () -> onResult.accept(result));
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Finish a submission on the FX thread, unless newer input has superseded it
+     * while the outcome was queued
+     */
+    private void deliver(int submitted, Runnable outcome) {
+        Platform.runLater(() -> {
+            if (submitted == generation) {
+                pending = null;
+                outcome.run();
+            }
+        });
+    }
+
+    private static void showError(RuntimeException e) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle("Search");
+        alert.setHeaderText(null);
+        alert.setContentText("The search could not be completed: " + e.getMessage());
+        alert.show();
+    }
+}
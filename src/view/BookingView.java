@@ -24,6 +24,7 @@ import model.User;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,6 +34,7 @@ public class BookingView extends Application {
     private ObservableList<Room> roomsList;
     private ObservableList<Room> filteredRoomsList;
     private ObservableList<Booking> bookingsList;
+    private AsyncFilter<FilterCriteria, List<Room>> roomFilter = new AsyncFilter<>(150, BookingView::findRooms, this::showFilteredRooms);
     
     // UI Components
     private TableView<Room> roomsTable;
@@ -120,7 +122,7 @@ public class BookingView extends Application {
         searchField = new TextField();
         searchField.setPromptText("Search by room ID, type, or location...");
         searchField.setPrefWidth(300);
-        searchField.textProperty().addListener((obs, oldVal, newVal) -> applyFilters());
+        searchField.textProperty().addListener((obs, oldVal, newVal) -> roomFilter.submit(currentCriteria()));
         searchBox.getChildren().addAll(searchLabel, searchField);
 
         // Filter Controls
@@ -440,11 +442,23 @@ public class BookingView extends Application {
     }
 
     private void applyFilters() {
-        String searchText = searchField.getText().toLowerCase();
-        String locationFilter = filterLocationCombo.getValue();
-        String eligibilityFilter = filterEligibilityCombo.getValue();
+        roomFilter.submitNow(currentCriteria());
+    }
+
+    private FilterCriteria currentCriteria() {
+        return new FilterCriteria(new ArrayList<>(roomsList), searchField.getText().toLowerCase(),
+                filterLocationCombo.getValue(), filterEligibilityCombo.getValue());
+    }
+
+    /**
+     * Runs on the filter worker, so it only reads the captured criteria
+     */
+    private static List<Room> findRooms(FilterCriteria criteria) {
+        String searchText = criteria.search;
+        String locationFilter = criteria.location;
+        String eligibilityFilter = criteria.eligibility;
 
-        List<Room> filtered = roomsList.stream()
+        return criteria.rooms.stream()
             .filter(room -> {
                 // Search filter
                 boolean matchesSearch = searchText.isEmpty() ||
@@ -463,12 +477,15 @@ public class BookingView extends Application {
                 return matchesSearch && matchesLocation && matchesEligibility;
             })
             .collect(Collectors.toList());
+    }
 
+    private void showFilteredRooms(List<Room> filtered) {
         filteredRoomsList.setAll(filtered);
         showStatus("Showing " + filtered.size() + " of " + roomsList.size() + " rooms", "#3498db");
     }
 
     private void showAvailableRooms() {
+        roomFilter.cancel();
         List<Room> available = roomsList.stream()
             .filter(room -> room.getAvailabilityStatus().equals("Available"))
             .collect(Collectors.toList());
@@ -481,6 +498,8 @@ public class BookingView extends Application {
         searchField.clear();
         filterLocationCombo.setValue("All Locations");
         filterEligibilityCombo.setValue("All");
+        // Resetting the controls queued filter runs; the full list is already shown
+        roomFilter.cancel();
         showStatus("Showing all " + roomsList.size() + " rooms", "#3498db");
     }
 
@@ -600,4 +619,21 @@ public class BookingView extends Application {
     public static void main(String[] args) {
         launch(args);
     }
+
+    /**
+     * Filter inputs captured on the FX thread
+     */
+    private static class FilterCriteria {
+        final List<Room> rooms;
+        final String search;
+        final String location;
+        final String eligibility;
+
+        FilterCriteria(List<Room> rooms, String search, String location, String eligibility) {
+            this.rooms = rooms;
+            this.search = search;
+            this.location = location;
+            this.eligibility = eligibility;
+        }
+    }
 }
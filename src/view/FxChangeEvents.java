@@ -0,0 +1,102 @@
+package view;
+
+import javafx.application.Platform;
+import model.services.ChangeEventBus;
+import model.services.ChangeEventBus.BookingStatusChanged;
+import model.services.ChangeEventBus.ChangeEvent;
+import model.services.ChangeEventBus.FacilityStatusChanged;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bridges the domain ChangeEventBus onto the JavaFX Application Thread.
+ *
+ * Events arriving between two pulses are collected and handed to listeners as one
+ * batch from a single Platform.runLater, with repeated status changes of the same
+ * booking or facility folded into one event. Pages apply the batch as deltas to
+ * their own lists instead of reloading everything.
+ */
+public class FxChangeEvents {
+
+    private static final Object lock = new Object();
+    private static List<ChangeEvent> pending = new ArrayList<>();
+    private static List<Consumer<List<ChangeEvent>>> listeners = new CopyOnWriteArrayList<>();
+
+    static {
+        ChangeEventBus.subscribe(ChangeEvent.class, FxChangeEvents::enqueue);
+    }
+
+    /**
+     * Receive batches of change events on the FX thread
+     */
+    public static ChangeEventBus.Subscription subscribe(Consumer<List<ChangeEvent>> listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    private static void enqueue(ChangeEvent event) {
+        boolean schedule;
+        synchronized (lock) {
+            schedule = pending.isEmpty();
+            pending.add(event);
+        }
+        // Only the first event of a batch schedules a flush; the rest ride along
+        if (schedule) {
+            Platform.runLater(FxChangeEvents::flush);
+        }
+    }
+
+    private static void flush() {
+        List<ChangeEvent> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new ArrayList<>();
+        }
+
+        List<ChangeEvent> events = coalesce(batch);
+        for (Consumer<List<ChangeEvent>> listener : listeners) {
+            try {
+                listener.accept(events);
+            } catch (RuntimeException e) {
+                System.err.println("UI change listener failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Fold repeated status changes of one booking or facility into a single
+     * first-old-to-last-new event, kept at the position of the first one
+     */
+    private static List<ChangeEvent> coalesce(List<ChangeEvent> batch) {
+        Map<Object, ChangeEvent> folded = new LinkedHashMap<>();
+        for (ChangeEvent event : batch) {
+            if (event instanceof BookingStatusChanged) {
+                BookingStatusChanged change = (BookingStatusChanged) event;
+                String key = "booking:" + change.booking.getBookingID();
+                ChangeEvent previous = folded.get(key);
+                if (previous != null) {
+                    change = new BookingStatusChanged(change.booking,
+                            ((BookingStatusChanged) previous).oldStatus, change.newStatus, change.occupancy);
+                }
+                folded.put(key, change);
+            } else if (event instanceof FacilityStatusChanged) {
+                FacilityStatusChanged change = (FacilityStatusChanged) event;
+                String key = "facility:" + change.facility.getId();
+                ChangeEvent previous = folded.get(key);
+                if (previous != null) {
+                    change = new FacilityStatusChanged(change.facility,
+                            ((FacilityStatusChanged) previous).oldStatus, change.newStatus);
+                }
+                folded.put(key, change);
+            } else {
+                folded.put(event, event);
+            }
+        }
+        return new ArrayList<>(folded.values());
+    }
+}
@@ -0,0 +1,184 @@
+package view;
+
+import javafx.application.Platform;
+import javafx.geometry.VPos;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared, offline image loading for facility pictures.
+ *
+ * Images are decoded and scaled to the requested size on a background worker and
+ * kept in one LRU cache bounded by decoded size, shared by every page, so opening
+ * a facility again costs no decode work. Concurrent requests for the same image
+ * share one load. While an image loads, or when its file is missing or unreadable,
+ * the view shows a placeholder drawn locally on a Canvas (also cached); nothing is
+ * ever fetched over the network.
+ */
+public class ImageService {
+
+    private static final long MAX_CACHE_BYTES = 64L * 1024 * 1024;
+    private static final String PLACEHOLDER_COLOR = "#3498db";
+    private static final String ERROR_COLOR = "#e74c3c";
+    private static final String REQUEST_KEY = "image-service-request";
+
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService executor = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "image-loader-" + threadCount.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Access-ordered, so iteration starts at the least recently used image
+    private static final LinkedHashMap<String, Image> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private static final Map<String, CompletableFuture<Image>> loading = new HashMap<>();
+    private static long cachedBytes;
+
+    /**
+     * Show an image file in a view, scaled to fit width x height; the label is
+     * drawn on the placeholder shown while loading or when the file is missing
+     */
+    public static void show(ImageView view, String path, double width, double height, String label) {
+        String key = keyOf(path, width, height);
+        view.getProperties().put(REQUEST_KEY, key);
+
+        Image cached = getCached(key);
+        if (cached != null) {
+            view.setImage(cached);
+            return;
+        }
+
+        view.setImage(placeholder(label, PLACEHOLDER_COLOR, width, height));
+        if (path == null || path.isEmpty() || !new File(path).isFile()) {
+            return;
+        }
+
+        load(key, path, width, height).whenComplete((image, error) -> Platform.runLater(() -> {
+            // The view may have moved on to another image while this one loaded
+            if (!key.equals(view.getProperties().get(REQUEST_KEY))) {
+                return;
+            }
+            if (image != null) {
+                view.setImage(image);
+            } else {
+                view.setImage(placeholder("Error", ERROR_COLOR, width, height));
+            }
+        }));
+    }
+
+    /**
+     * Start loading an image into the cache ahead of time
+     */
+    public static void preload(String path, double width, double height) {
+        String key = keyOf(path, width, height);
+        if (path != null && !path.isEmpty() && getCached(key) == null && new File(path).isFile()) {
+            load(key, path, width, height);
+        }
+    }
+
+    /**
+     * A flat placeholder with centered text, drawn locally; must be called on the FX thread
+     */
+    public static Image placeholder(String text, String color, double width, double height) {
+        String key = "placeholder:" + color + ":" + text + "@" + (int) width + "x" + (int) height;
+        Image cached = getCached(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        Canvas canvas = new Canvas(width, height);
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.setFill(Color.web(color));
+        g.fillRect(0, 0, width, height);
+        g.setFill(Color.WHITE);
+        g.setFont(Font.font("Arial", FontWeight.BOLD, Math.max(12, Math.min(width, height) / 8)));
+        g.setTextAlign(TextAlignment.CENTER);
+        g.setTextBaseline(VPos.CENTER);
+        g.fillText(text == null ? "" : text, width / 2, height / 2, width - 20);
+
+        Image image = canvas.snapshot(new SnapshotParameters(), null);
+        putCached(key, image);
+        return image;
+    }
+
+    private static CompletableFuture<Image> load(String key, String path, double width, double height) {
+        CompletableFuture<Image> future;
+        synchronized (loading) {
+            future = loading.get(key);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            loading.put(key, future);
+        }
+
+        CompletableFuture<Image> result = future;
+        executor.execute(() -> {
+            Image image = null;
+            try {
+                // Decoding synchronously here keeps it off the FX thread
+                Image decoded = new Image(new File(path).toURI().toString(), width, height, true, true, false);
+                if (!decoded.isError()) {
+                    image = decoded;
+                    putCached(key, image);
+                } else {
+                    System.err.println("Could not load image " + path + ": " + decoded.getException());
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Could not load image " + path + ": " + e.getMessage());
+            }
+            synchronized (loading) {
+                loading.remove(key);
+            }
+            result.complete(image);
+        });
+        return result;
+    }
+
+    private static Image getCached(String key) {
+        synchronized (cache) {
+            return cache.get(key);
+        }
+    }
+
+    private static void putCached(String key, Image image) {
+        synchronized (cache) {
+            Image previous = cache.put(key, image);
+            if (previous != null) {
+                cachedBytes -= sizeOf(previous);
+            }
+            cachedBytes += sizeOf(image);
+
+            Iterator<Image> eldest = cache.values().iterator();
+            while (cachedBytes > MAX_CACHE_BYTES && cache.size() > 1 && eldest.hasNext()) {
+                cachedBytes -= sizeOf(eldest.next());
+                eldest.remove();
+            }
+        }
+    }
+
+    private static long sizeOf(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    private static String keyOf(String path, double width, double height) {
+        return path + "@" + (int) width + "x" + (int) height;
+    }
+}
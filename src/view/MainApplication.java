@@ -9,15 +9,19 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 import model.User;
 import model.services.AuthService;
+import model.services.BookingService;
+import model.services.FacilityService;
 import view.pages.LoginPage;
 
 public class MainApplication extends Application {
 
     private Stage primaryStage;
     private User currentUser;
+    private boolean servicesStarted;
 
     @Override
     public void start(Stage primaryStage) {
+        StartupProfiler.mark("JavaFX start");
         this.primaryStage = primaryStage;
         primaryStage.setTitle("IIUM Library Booking System");
 
@@ -26,27 +30,52 @@ public class MainApplication extends Application {
     }
 
     private void showLoginPage() {
-        LoginPage loginPage = new LoginPage(this::onLoginSuccess);
+        LoginPage loginPage = StartupProfiler.time("scene build: login", () -> new LoginPage(this::onLoginSuccess));
 
         Scene scene = new Scene(loginPage, 1000, 700);
         primaryStage.setScene(scene);
         primaryStage.show();
+        if (!servicesStarted) {
+            servicesStarted = true;
+            StartupProfiler.onFirstPaint(scene, "first paint: login", this::bootstrapServices);
+        }
+    }
+
+    /**
+     * Initialize the catalog and booking services in the background while the
+     * login screen is up, so signing in does not pay for it
+     */
+    private void bootstrapServices() {
+        Thread bootstrap = new Thread(() -> {
+            StartupProfiler.time("class init: User (room catalog)", () -> User.getAllRooms());
+            StartupProfiler.time("class init: FacilityService", () -> FacilityService.getAllFacilities());
+            StartupProfiler.time("service bootstrap: BookingService", () -> BookingService.getAllBookings());
+        }, "service-bootstrap");
+        bootstrap.setDaemon(true);
+        bootstrap.start();
     }
 
     private void onLoginSuccess(User user) {
+        StartupProfiler.mark("login accepted");
         this.currentUser = user;
         showMainLayout();
     }
 
     private void showMainLayout() {
         // Create the main layout with navigation
-        MainLayout mainLayout = new MainLayout(currentUser, this::showLoginPage);
+        MainLayout mainLayout = StartupProfiler.time("scene build: main layout",
+                () -> new MainLayout(currentUser, this::showLoginPage));
 
         Scene scene = new Scene(mainLayout, 1400, 900);
         scene.getStylesheets().add(getClass().getResource("/styles/theme.css").toExternalForm());
         primaryStage.setTitle("IIUM Library Booking System - " + currentUser.getName());
         primaryStage.setScene(scene);
         primaryStage.show();
+
+        StartupProfiler.onFirstPaint(scene, "first paint: main layout", () -> {
+            StartupProfiler.report("Startup timing for " + currentUser.getName());
+            mainLayout.prewarm();
+        });
     }
 
     private void showLoginFailed() {
@@ -1,5 +1,6 @@
 package view;
 
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
@@ -17,7 +18,7 @@ public class MainLayout extends BorderPane {
     private User currentUser;
     private Runnable logoutCallback;
 
-    // Pages
+    // Pages, each built on first use (or by prewarm)
     private DashboardPage dashboardPage;
     private FacilitiesPage facilitiesPage;
     private MyBookingsPage myBookingsPage;
@@ -41,21 +42,63 @@ public class MainLayout extends BorderPane {
     public MainLayout(User user, Runnable logoutCallback) {
         this.currentUser = user;
         this.logoutCallback = logoutCallback;
-        initializePages();
         setupLayout();
         showPage("dashboard"); // Default page
     }
 
-    private void initializePages() {
-        dashboardPage = new DashboardPage(currentUser, this::showPage);
-        facilitiesPage = new FacilitiesPage(currentUser, this::navigateToFacilityDetail);
-        myBookingsPage = new MyBookingsPage(currentUser, this::refreshFacilitiesPage);
-        facilityDetailPage = new FacilityDetailPage(currentUser, this::showPage);
+    /**
+     * Build the pages a user is likely to open next, one per FX event so input
+     * stays responsive in between; call once the first frame is on screen
+     */
+    public void prewarm() {
+        Platform.runLater(() -> {
+            getFacilitiesPage();
+            Platform.runLater(() -> {
+                getMyBookingsPage();
+                Platform.runLater(this::getFacilityDetailPage);
+            });
+        });
+    }
+
+    private DashboardPage getDashboardPage() {
+        if (dashboardPage == null) {
+            dashboardPage = StartupProfiler.time("page build: dashboard",
+                    () -> new DashboardPage(currentUser, this::showPage));
+        }
+        return dashboardPage;
+    }
+
+    private FacilitiesPage getFacilitiesPage() {
+        if (facilitiesPage == null) {
+            facilitiesPage = StartupProfiler.time("page build: facilities",
+                    () -> new FacilitiesPage(currentUser, this::navigateToFacilityDetail));
+        }
+        return facilitiesPage;
+    }
+
+    private MyBookingsPage getMyBookingsPage() {
+        if (myBookingsPage == null) {
+            myBookingsPage = StartupProfiler.time("page build: my bookings",
+                    () -> new MyBookingsPage(currentUser));
+        }
+        return myBookingsPage;
+    }
+
+    private FacilityDetailPage getFacilityDetailPage() {
+        if (facilityDetailPage == null) {
+            facilityDetailPage = StartupProfiler.time("page build: facility detail",
+                    () -> new FacilityDetailPage(currentUser, this::showPage));
+        }
+        return facilityDetailPage;
+    }
 
+    private AdminPanelPage getAdminPanelPage() {
         // Only create admin panel if user is admin
-        if (currentUser.getRole().toString().equals("ADMIN")) {
-            adminPanelPage = new AdminPanelPage(currentUser);
+        if (adminPanelPage == null && currentUser.getRole().toString().equals("ADMIN")) {
+            adminPanelPage = StartupProfiler.time("page build: admin panel",
+                    () -> new AdminPanelPage(currentUser));
         }
+        return adminPanelPage;
     }
 
     private void setupLayout() {
@@ -64,9 +107,6 @@ public class MainLayout extends BorderPane {
 
         // Set sidebar to left
         setLeft(sidebar);
-
-        // Set default center content
-        setCenter(dashboardPage);
     }
 
     private VBox createSidebar() {
@@ -189,39 +229,39 @@ public class MainLayout extends BorderPane {
 
         switch (pageId) {
             case "dashboard":
-                content = dashboardPage;
+                content = getDashboardPage();
                 setActiveButton(dashboardBtn);
                 break;
             case "facilities":
-                content = facilitiesPage;
+                content = getFacilitiesPage();
                 setActiveButton(facilitiesBtn);
                 break;
             case "facility-detail":
-                if (facilityDetailPage != null && selectedFacility != null) {
-                    facilityDetailPage.setFacility(selectedFacility);
+                if (selectedFacility != null) {
+                    getFacilityDetailPage().setFacility(selectedFacility);
                     content = facilityDetailPage;
                     // Don't set active button for detail pages
                 } else {
-                    content = facilitiesPage;
+                    content = getFacilitiesPage();
                     setActiveButton(facilitiesBtn);
                 }
                 break;
             case "my-bookings":
-                content = myBookingsPage;
+                content = getMyBookingsPage();
                 setActiveButton(myBookingsBtn);
                 break;
             case "admin":
-                if (adminPanelPage != null) {
+                if (getAdminPanelPage() != null) {
                     content = adminPanelPage;
                     setActiveButton(adminBtn);
                 } else {
                     // Fallback to dashboard if admin panel not available
-                    content = dashboardPage;
+                    content = getDashboardPage();
                     setActiveButton(dashboardBtn);
                 }
                 break;
             default:
-                content = dashboardPage;
+                content = getDashboardPage();
                 setActiveButton(dashboardBtn);
                 break;
         }
@@ -236,12 +276,6 @@ public class MainLayout extends BorderPane {
         showPage("facility-detail");
     }
 
-    public void refreshFacilitiesPage() {
-        if (facilitiesPage != null) {
-            facilitiesPage.refreshFacilityStatuses();
-        }
-    }
-
     private VBox createActionSection() {
         VBox actionBox = new VBox(8);
         actionBox.setPadding(new Insets(10, 0, 0, 0));
@@ -295,6 +329,20 @@ public class MainLayout extends BorderPane {
     }
 
     private void handleLogout() {
+        // Detach the pages that were built from model change events before this layout is dropped
+        if (facilitiesPage != null) {
+            facilitiesPage.dispose();
+        }
+        if (myBookingsPage != null) {
+            myBookingsPage.dispose();
+        }
+        if (adminPanelPage != null) {
+            adminPanelPage.dispose();
+        }
+        if (facilityDetailPage != null) {
+            facilityDetailPage.dispose();
+        }
+
         // Call the logout callback to switch back to login screen
         if (logoutCallback != null) {
             logoutCallback.run();
@@ -0,0 +1,80 @@
+package view;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Row positions of a table's items by ID, so a change event finds its row without
+ * scanning the list.
+ *
+ * Appends and same-ID replacements keep the index current; anything else that
+ * moves rows (a column sort, a removal, a reload) marks it stale, and the next
+ * lookup rebuilds it once.
+ */
+public class RowIndex<T> {
+
+    private final ObservableList<T> rows;
+    private final Function<T, String> id;
+    private final Map<String, Integer> positions = new HashMap<>();
+    private boolean stale = true;
+
+    public RowIndex(ObservableList<T> rows, Function<T, String> id) {
+        this.rows = rows;
+        this.id = id;
+        rows.addListener((ListChangeListener<T>) this::onChanged);
+    }
+
+    /**
+     * Get the row of the item with the same ID, or -1
+     */
+    public int rowOf(T item) {
+        if (stale) {
+            positions.clear();
+            for (int row = 0; row < rows.size(); row++) {
+                positions.put(id.apply(rows.get(row)), row);
+            }
+            stale = false;
+        }
+        Integer row = positions.get(id.apply(item));
+        return row == null ? -1 : row;
+    }
+
+    public boolean contains(T item) {
+        return rowOf(item) >= 0;
+    }
+
+    private void onChanged(ListChangeListener.Change<? extends T> change) {
+        while (change.next() && !stale) {
+            if (change.wasPermutated()) {
+                stale = true;
+            } else if (change.wasUpdated()) {
+                continue;
+            } else if (change.wasReplaced()) {
+                stale = !sameIds(change.getRemoved(), change.getAddedSubList());
+            } else if (change.wasAdded() && change.getTo() == rows.size()) {
+                for (int row = change.getFrom(); row < change.getTo(); row++) {
+                    positions.put(id.apply(rows.get(row)), row);
+                }
+            } else {
+                stale = true;
+            }
+        }
+    }
+
+    private boolean sameIds(List<? extends T> removed, List<? extends T> added) {
+        if (removed.size() != added.size()) {
+            return false;
+        }
+        for (int i = 0; i < removed.size(); i++) {
+            if (!id.apply(removed.get(i)).equals(id.apply(added.get(i)))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,129 @@
+package view;
+
+import javafx.application.Platform;
+import javafx.scene.Scene;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records how long startup phases take (class initialization, service bootstrap,
+ * scene construction, first paint) and prints them as a timeline.
+ *
+ * Offsets are measured from JVM start, so the report also shows time spent before
+ * JavaFX came up. Phases may be recorded from any thread; report() prints and
+ * clears what has been recorded so far, so each login gets its own report.
+ *
+ * Off unless run with -Diium.startup.profile=true: phases still run (and
+ * onFirstPaint follow-ups still fire) but nothing is recorded or printed.
+ */
+public class StartupProfiler {
+
+    private static final boolean enabled = Boolean.getBoolean("iium.startup.profile");
+    // Loading the management beans costs startup time, so only when profiling
+    private static final long jvmStartNanos = !enabled ? 0 : System.nanoTime()
+            - (System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime()) * 1_000_000L;
+    private static final List<Phase> phases = new ArrayList<>();
+
+    /**
+     * Record a point in time
+     */
+    public static void mark(String milestone) {
+        record(milestone, System.nanoTime(), 0);
+    }
+
+    /**
+     * Run and record a phase
+     */
+    public static void time(String phase, Runnable work) {
+        long start = System.nanoTime();
+        try {
+            work.run();
+        } finally {
+            record(phase, start, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Run and record a phase that produces a value
+     */
+    public static <T> T time(String phase, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            record(phase, start, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Record when a freshly shown scene has been laid out and painted, then run a
+     * follow-up (e.g. the report or background pre-warming) on the FX thread
+     */
+    public static void onFirstPaint(Scene scene, String milestone, Runnable then) {
+        long shown = System.nanoTime();
+        Runnable[] listener = new Runnable[1];
+        listener[0] = () -> {
+            scene.removePostLayoutPulseListener(listener[0]);
+            // The frame is rendered after the layout pass; pick up once that pulse is done
+            Platform.runLater(() -> {
+                record(milestone, shown, System.nanoTime() - shown);
+                if (then != null) {
+                    then.run();
+                }
+            });
+        };
+        scene.addPostLayoutPulseListener(listener[0]);
+    }
+
+    /**
+     * Print the phases recorded so far and start over
+     */
+    public static void report(String title) {
+        if (!enabled) {
+            return;
+        }
+        List<Phase> recorded;
+        synchronized (phases) {
+            recorded = new ArrayList<>(phases);
+            phases.clear();
+        }
+        recorded.sort((a, b) -> Long.compare(a.start, b.start));
+
+        StringBuilder report = new StringBuilder();
+        report.append("=== ").append(title).append(" ===\n");
+        report.append(String.format("%10s %10s  %-20s %s%n", "at (ms)", "took (ms)", "thread", "phase"));
+        for (Phase phase : recorded) {
+            report.append(String.format("%10.1f %10s  %-20s %s%n",
+                    (phase.start - jvmStartNanos) / 1e6,
+                    phase.duration == 0 ? "" : String.format("%.1f", phase.duration / 1e6),
+                    phase.thread, phase.name));
+        }
+        System.out.print(report);
+    }
+
+    private static void record(String name, long start, long duration) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (phases) {
+            phases.add(new Phase(name, start, duration, Thread.currentThread().getName()));
+        }
+    }
+
+    private static class Phase {
+        final String name;
+        final long start;
+        final long duration;
+        final String thread;
+
+        Phase(String name, long start, long duration, String thread) {
+            this.name = name;
+            this.start = start;
+            this.duration = duration;
+            this.thread = thread;
+        }
+    }
+}
@@ -3,23 +3,28 @@ package view.components;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.Label;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
-import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import model.Facility;
 import model.enums.FacilityStatus;
 import model.enums.ReservationPrivilege;
 
+import java.util.List;
+
 public class FacilityCard extends VBox {
 
     private Facility facility;
     private Runnable onCardClicked;
     private VBox contentBox;
+    private Label iconLabel;
+    private Label nameLabel;
+    private Label levelLabel;
+    private Label privilegeLabel;
+    private Label statusLabel;
+    private String backgroundColor;
 
     public FacilityCard(Facility facility) {
-        this.facility = facility;
         setupCard();
+        bind(facility);
     }
 
     private void setupCard() {
@@ -33,47 +38,32 @@ public class FacilityCard extends VBox {
         contentBox.setAlignment(Pos.TOP_CENTER);
         contentBox.setPrefSize(180, 160); // Make sure it fills the entire card
 
-        // Add colorful background based on facility type with very thin black outline and enhanced shadow
-        String backgroundColor = getFacilityTypeColor(facility.getType());
-        contentBox.setStyle("-fx-background-color: " + backgroundColor + "; -fx-background-radius: 15; -fx-border-color: #000000; -fx-border-width: 0.5; -fx-border-radius: 15; -fx-cursor: hand; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 12, 0.4, 0, 6);");
-
         // Facility icon at the top
-        Label iconLabel = new Label(getFacilityIcon(facility.getType()));
+        iconLabel = new Label();
         iconLabel.setStyle("-fx-font-size: 24px; -fx-text-fill: #000000; -fx-font-weight: bold;");
         iconLabel.setAlignment(Pos.CENTER);
 
         // Facility name (centered, black text, better typography) - remove redundant type info
-        String displayName = cleanFacilityName(facility.getName(), facility.getType()).toUpperCase();
-        Label nameLabel = new Label(displayName);
+        nameLabel = new Label();
         nameLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 13px; -fx-text-fill: #000000; -fx-text-alignment: center;");
         nameLabel.setWrapText(true);
         nameLabel.setMaxWidth(160); // Reverted to original width for compact display
         nameLabel.setPrefHeight(Label.USE_COMPUTED_SIZE);
 
         // Level information
-        Label levelLabel = new Label("📍 " + facility.getLocation());
+        levelLabel = new Label();
         levelLabel.setStyle("-fx-font-size: 12px; -fx-text-fill: #e74c3c; -fx-text-alignment: center; -fx-font-weight: bold;");
         levelLabel.setWrapText(true);
         levelLabel.setMaxWidth(160); // Reverted to original width for compact display
 
-        // Privilege badge (show only if not OPEN)
-        Label privilegeLabel = null;
-        if (facility.getPrivilege() != ReservationPrivilege.OPEN) {
-            privilegeLabel = new Label(getPrivilegeDisplayText(facility.getPrivilege()));
-            privilegeLabel.getStyleClass().add(getPrivilegeBadgeClass(facility.getPrivilege()));
-            privilegeLabel.setStyle(privilegeLabel.getStyle() + "; -fx-font-size: 10px; -fx-font-weight: bold; -fx-padding: 4 8; -fx-background-radius: 15; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.2), 3, 0.3, 0, 1);");
-        }
+        // Privilege badge (shown only if not OPEN)
+        privilegeLabel = new Label();
+        privilegeLabel.setStyle("-fx-font-size: 10px; -fx-font-weight: bold; -fx-padding: 4 8; -fx-background-radius: 15; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.2), 3, 0.3, 0, 1);");
 
         // Status badge - positioned at bottom center
-        Label statusLabel = new Label(getStatusDisplayText(facility.getStatus()));
-        statusLabel.getStyleClass().add(getStatusBadgeClass(facility.getStatus()));
-        statusLabel.setStyle(statusLabel.getStyle() + "; -fx-font-size: 12px; -fx-font-weight: bold; -fx-padding: 6 12; -fx-background-radius: 20; -fx-effect: dropshadow(gaussian, " + getStatusGlowColor(facility.getStatus()) + ", 8, 0.8, 0, 0), dropshadow(gaussian, rgba(0,0,0,0.3), 4, 0.5, 0, 1);");
+        statusLabel = new Label();
 
-        if (privilegeLabel != null) {
-            contentBox.getChildren().addAll(iconLabel, nameLabel, levelLabel, privilegeLabel, statusLabel);
-        } else {
-            contentBox.getChildren().addAll(iconLabel, nameLabel, levelLabel, statusLabel);
-        }
+        contentBox.getChildren().addAll(iconLabel, nameLabel, levelLabel, privilegeLabel, statusLabel);
 
         // Add the content box to the VBox
         getChildren().add(contentBox);
@@ -85,7 +75,58 @@ public class FacilityCard extends VBox {
 
         // Enhanced hover effects
         setOnMouseEntered(e -> contentBox.setStyle("-fx-background-color: " + backgroundColor + "; -fx-background-radius: 15; -fx-border-color: #333333; -fx-border-width: 1; -fx-border-radius: 15; -fx-cursor: hand; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.4), 16, 0.5, 0, 8);"));
-        setOnMouseExited(e -> contentBox.setStyle("-fx-background-color: " + backgroundColor + "; -fx-background-radius: 15; -fx-border-color: #000000; -fx-border-width: 0.5; -fx-border-radius: 15; -fx-cursor: hand; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 12, 0.4, 0, 6);"));
+        setOnMouseExited(e -> applyBackground());
+    }
+
+    /**
+     * Show another facility in this card, reusing its nodes
+     */
+    public void bind(Facility facility) {
+        this.facility = facility;
+
+        // Colorful background based on facility type with very thin black outline and enhanced shadow
+        String color = getFacilityTypeColor(facility.getType());
+        if (!color.equals(backgroundColor)) {
+            backgroundColor = color;
+            applyBackground();
+        }
+
+        iconLabel.setText(getFacilityIcon(facility.getType()));
+        nameLabel.setText(cleanFacilityName(facility.getName(), facility.getType()).toUpperCase());
+        levelLabel.setText("📍 " + facility.getLocation());
+
+        boolean restricted = facility.getPrivilege() != ReservationPrivilege.OPEN;
+        privilegeLabel.setVisible(restricted);
+        privilegeLabel.setManaged(restricted);
+        if (restricted) {
+            privilegeLabel.setText(getPrivilegeDisplayText(facility.getPrivilege()));
+            setBadgeClass(privilegeLabel, getPrivilegeBadgeClass(facility.getPrivilege()));
+        }
+
+        showStatus(facility.getStatus());
+    }
+
+    private void applyBackground() {
+        contentBox.setStyle("-fx-background-color: " + backgroundColor + "; -fx-background-radius: 15; -fx-border-color: #000000; -fx-border-width: 0.5; -fx-border-radius: 15; -fx-cursor: hand; -fx-effect: dropshadow(gaussian, rgba(0,0,0,0.3), 12, 0.4, 0, 6);");
+    }
+
+    private void showStatus(FacilityStatus status) {
+        statusLabel.setText(getStatusDisplayText(status));
+        setBadgeClass(statusLabel, getStatusBadgeClass(status));
+        statusLabel.setStyle("-fx-font-size: 12px; -fx-font-weight: bold; -fx-padding: 6 12; -fx-background-radius: 20; -fx-effect: dropshadow(gaussian, " + getStatusGlowColor(status) + ", 8, 0.8, 0, 0), dropshadow(gaussian, rgba(0,0,0,0.3), 4, 0.5, 0, 1);");
+    }
+
+    /**
+     * Swap a label's badge-* style class for another, keeping its other classes
+     * (such as the default "label")
+     */
+    private static void setBadgeClass(Label label, String badgeClass) {
+        List<String> styleClass = label.getStyleClass();
+        if (styleClass.contains(badgeClass)) {
+            return;
+        }
+        styleClass.removeIf(name -> name.startsWith("badge-"));
+        styleClass.add(badgeClass);
     }
 
     private String getStatusGlowColor(model.enums.FacilityStatus status) {
@@ -141,18 +182,7 @@ public class FacilityCard extends VBox {
 
     public void updateStatus(model.enums.FacilityStatus newStatus) {
         facility.setStatus(newStatus);
-        // Find and update the status label (it's the last child in contentBox)
-        if (contentBox.getChildren().size() > 0) {
-            javafx.scene.Node lastNode = contentBox.getChildren().get(contentBox.getChildren().size() - 1);
-            if (lastNode instanceof Label) {
-                Label statusLabel = (Label) lastNode;
-                statusLabel.setText(getStatusDisplayText(newStatus));
-                // Clear existing style classes and add the new one
-                statusLabel.getStyleClass().clear();
-                statusLabel.getStyleClass().add(getStatusBadgeClass(newStatus));
-                statusLabel.setStyle(statusLabel.getStyleClass().toString() + "; -fx-font-size: 12px; -fx-font-weight: bold; -fx-padding: 6 12; -fx-background-radius: 20; -fx-effect: dropshadow(gaussian, " + getStatusGlowColor(newStatus) + ", 8, 0.8, 0, 0), dropshadow(gaussian, rgba(0,0,0,0.3), 4, 0.5, 0, 1);");
-            }
-        }
+        showStatus(newStatus);
     }
 
     public void setOnCardClicked(Runnable handler) {
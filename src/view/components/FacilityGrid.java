@@ -0,0 +1,204 @@
+package view.components;
+
+import javafx.geometry.Orientation;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.shape.Rectangle;
+import model.Facility;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Virtualized grid of facility cards.
+ *
+ * Cards have a fixed size, so the grid lays out its items arithmetically and only
+ * the rows inside the viewport get a FacilityCard. Cards that scroll out of view
+ * (or whose facility is filtered away) are hidden and kept in a pool, and are
+ * rebound to the next facility that needs one, so the number of card nodes is
+ * bounded by what fits on screen rather than by the size of the catalog.
+ */
+public class FacilityGrid extends Region {
+
+    private static final double CARD_WIDTH = 180;
+    private static final double CARD_HEIGHT = 160;
+    private static final double GAP = 25;
+    private static final double PADDING = 20;
+
+    private final Pane viewport = new Pane();
+    private final Rectangle clip = new Rectangle();
+    private final ScrollBar scrollBar = new ScrollBar();
+
+    private List<Facility> items = new ArrayList<>();
+    private Map<Facility, FacilityCard> visibleCards = new IdentityHashMap<>();
+    private final ArrayDeque<FacilityCard> pool = new ArrayDeque<>();
+    private Consumer<Facility> onFacilityClicked;
+    private int columns = 1;
+
+    public FacilityGrid() {
+        scrollBar.setOrientation(Orientation.VERTICAL);
+        scrollBar.valueProperty().addListener((obs, oldValue, newValue) -> layoutCards());
+        viewport.setClip(clip);
+        viewport.setManaged(false);
+        getChildren().addAll(viewport, scrollBar);
+
+        setOnScroll(e -> {
+            scrollBy(-e.getDeltaY());
+            e.consume();
+        });
+    }
+
+    /**
+     * Show a new list of facilities, keeping the scroll position where possible
+     */
+    public void setItems(List<Facility> facilities) {
+        this.items = new ArrayList<>(facilities);
+        requestLayout();
+    }
+
+    public List<Facility> getItems() {
+        return new ArrayList<>(items);
+    }
+
+    public void setOnFacilityClicked(Consumer<Facility> handler) {
+        this.onFacilityClicked = handler;
+    }
+
+    public void scrollToTop() {
+        scrollBar.setValue(0);
+    }
+
+    /**
+     * Scroll by a number of pixels, clamped to the content
+     */
+    public void scrollBy(double pixels) {
+        double value = scrollBar.getValue() + pixels;
+        scrollBar.setValue(Math.max(scrollBar.getMin(), Math.min(scrollBar.getMax(), value)));
+    }
+
+    /**
+     * Whether the view is scrolled to the end of the content
+     */
+    public boolean isAtBottom() {
+        return scrollBar.getValue() >= scrollBar.getMax();
+    }
+
+    /**
+     * Redraw the card of a facility if it is on screen
+     */
+    public void refresh(Facility facility) {
+        FacilityCard card = visibleCards.get(facility);
+        if (card != null) {
+            card.bind(facility);
+        }
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return PADDING * 2 + 4 * CARD_WIDTH + 3 * GAP + scrollBar.prefWidth(-1);
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return PADDING * 2 + 2 * CARD_HEIGHT + GAP;
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = getWidth();
+        double height = getHeight();
+        double barWidth = scrollBar.prefWidth(-1);
+        double contentWidth = Math.max(0, width - barWidth);
+
+        columns = Math.max(1, (int) ((contentWidth - PADDING * 2 + GAP) / (CARD_WIDTH + GAP)));
+        int rows = (items.size() + columns - 1) / columns;
+        double contentHeight = rows == 0 ? 0 : PADDING * 2 + rows * (CARD_HEIGHT + GAP) - GAP;
+
+        double maxScroll = Math.max(0, contentHeight - height);
+        scrollBar.setMax(maxScroll);
+        scrollBar.setVisibleAmount(contentHeight == 0 ? 1 : height / contentHeight * maxScroll);
+        scrollBar.setUnitIncrement(CARD_HEIGHT / 4);
+        scrollBar.setBlockIncrement(height);
+        scrollBar.setVisible(maxScroll > 0);
+        if (scrollBar.getValue() > maxScroll) {
+            scrollBar.setValue(maxScroll);
+        }
+        scrollBar.resizeRelocate(width - barWidth, 0, barWidth, height);
+
+        viewport.resizeRelocate(0, 0, contentWidth, height);
+        clip.setWidth(contentWidth);
+        clip.setHeight(height);
+
+        layoutCards();
+    }
+
+    /**
+     * Bind and position cards for the rows in view; everything else goes back to the pool
+     */
+    private void layoutCards() {
+        double offset = scrollBar.getValue();
+        double height = getHeight();
+        double rowHeight = CARD_HEIGHT + GAP;
+
+        int firstRow = Math.max(0, (int) ((offset - PADDING) / rowHeight));
+        int lastRow = (int) ((offset + height - PADDING) / rowHeight);
+        int first = firstRow * columns;
+        int last = Math.min(items.size() - 1, (lastRow + 1) * columns - 1);
+
+        Map<Facility, FacilityCard> previous = visibleCards;
+        visibleCards = new IdentityHashMap<>();
+
+        // Cards still showing the same facility stay as they are
+        List<Integer> unbound = new ArrayList<>();
+        for (int i = first; i <= last; i++) {
+            FacilityCard card = previous.remove(items.get(i));
+            if (card != null) {
+                visibleCards.put(items.get(i), card);
+                place(card, i, offset);
+            } else {
+                unbound.add(i);
+            }
+        }
+        for (FacilityCard card : previous.values()) {
+            card.setVisible(false);
+            pool.push(card);
+        }
+
+        for (int i : unbound) {
+            Facility facility = items.get(i);
+            FacilityCard card = pool.poll();
+            if (card == null) {
+                card = createCard(facility);
+            } else {
+                card.bind(facility);
+                card.setVisible(true);
+            }
+            visibleCards.put(facility, card);
+            place(card, i, offset);
+        }
+    }
+
+    private void place(FacilityCard card, int index, double offset) {
+        int row = index / columns;
+        int column = index % columns;
+        card.resizeRelocate(PADDING + column * (CARD_WIDTH + GAP),
+                PADDING + row * (CARD_HEIGHT + GAP) - offset, CARD_WIDTH, CARD_HEIGHT);
+    }
+
+    private FacilityCard createCard(Facility facility) {
+        FacilityCard card = new FacilityCard(facility);
+        card.setManaged(false);
+        card.setOnCardClicked(() -> {
+            if (onFacilityClicked != null) {
+                onFacilityClicked.accept(card.getFacility());
+            }
+        });
+        viewport.getChildren().add(card);
+        return card;
+    }
+}
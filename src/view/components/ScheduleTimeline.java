@@ -0,0 +1,412 @@
+package view.components;
+
+import javafx.geometry.Orientation;
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.TextAlignment;
+import model.Booking;
+import model.Facility;
+import model.services.AvailabilityService;
+import model.services.ChangeEventBus;
+import model.services.ChangeEventBus.BookingCreated;
+import model.services.ChangeEventBus.BookingStatusChanged;
+import model.services.ChangeEventBus.ChangeEvent;
+import view.FxChangeEvents;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Facility schedule drawn on a single Canvas: one row per facility, one column per
+ * 30-minute slot of business hours, for one day up to a multi-week horizon.
+ *
+ * Occupancy comes from the AvailabilityService slot bitmaps, cached as one long per
+ * facility and day, and consecutive busy slots are filled as a single rectangle, so
+ * drawing cost depends on the visible area rather than on the number of bookings.
+ * The canvas is only as large as the viewport; scrolling repaints it at the new
+ * offset. When a booking changes, only that facility-day cell is re-read and
+ * repainted (clipped to its rectangle).
+ */
+public class ScheduleTimeline extends Region {
+
+    private static final double ROW_HEADER_WIDTH = 170;
+    private static final double COLUMN_HEADER_HEIGHT = 44;
+    private static final double ROW_HEIGHT = 28;
+    private static final double SLOT_WIDTH = 16;
+    private static final int SLOTS = AvailabilityService.SLOTS_PER_DAY;
+    private static final double DAY_WIDTH = SLOTS * SLOT_WIDTH;
+
+    private static final Color BACKGROUND = Color.WHITE;
+    private static final Color WEEKEND = Color.web("#f4f6f7");
+    private static final Color PAST = Color.web("#e5e8e8");
+    private static final Color GRID = Color.web("#ecf0f1");
+    private static final Color HOUR_LINE = Color.web("#d5dbdb");
+    private static final Color DAY_LINE = Color.web("#7f8c8d");
+    private static final Color BOOKED = Color.web("#e74c3c");
+    private static final Color HEADER = Color.web("#2c3e50");
+    private static final Color HEADER_TEXT = Color.WHITE;
+    private static final Color ROW_TEXT = Color.web("#2c3e50");
+    private static final Color NOW_LINE = Color.web("#2980b9");
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.ofPattern("EEE d MMM");
+
+    private final Canvas canvas = new Canvas();
+    private final ScrollBar horizontal = new ScrollBar();
+    private final ScrollBar vertical = new ScrollBar();
+    private final ChangeEventBus.Subscription changeSubscription;
+
+    private List<Facility> facilities = new ArrayList<>();
+    private Map<String, Integer> rowOf = new HashMap<>();
+    private LocalDate startDate = LocalDate.now();
+    private int days = 7;
+    private long[][] occupancy = new long[0][0];
+    private BiConsumer<Facility, LocalDateTime> onSlotClicked;
+
+    public ScheduleTimeline() {
+        horizontal.setOrientation(Orientation.HORIZONTAL);
+        vertical.setOrientation(Orientation.VERTICAL);
+        horizontal.valueProperty().addListener((obs, oldValue, newValue) -> paintAll());
+        vertical.valueProperty().addListener((obs, oldValue, newValue) -> paintAll());
+        getChildren().addAll(canvas, horizontal, vertical);
+
+        setOnScroll(e -> {
+            // Shift+wheel (or a horizontal trackpad swipe) moves through time
+            double dx = e.isShiftDown() ? e.getDeltaY() : e.getDeltaX();
+            double dy = e.isShiftDown() ? 0 : e.getDeltaY();
+            scroll(horizontal, -dx);
+            scroll(vertical, -dy);
+            e.consume();
+        });
+        canvas.setOnMouseClicked(e -> handleClick(e.getX(), e.getY()));
+
+        changeSubscription = FxChangeEvents.subscribe(this::applyChanges);
+    }
+
+    /**
+     * Stop listening for booking changes
+     */
+    public void dispose() {
+        changeSubscription.cancel();
+    }
+
+    /**
+     * Set the facilities shown, one row each
+     */
+    public void setFacilities(List<Facility> facilities) {
+        this.facilities = new ArrayList<>(facilities);
+        rowOf = new HashMap<>();
+        for (int row = 0; row < this.facilities.size(); row++) {
+            rowOf.put(this.facilities.get(row).getId(), row);
+        }
+        reload();
+    }
+
+    /**
+     * Show the given number of days starting at a date (1 for a day view, 7 or 14 for weeks)
+     */
+    public void setRange(LocalDate startDate, int days) {
+        this.startDate = startDate;
+        this.days = Math.max(1, days);
+        reload();
+    }
+
+    /**
+     * Called with the facility and slot start time when a slot is clicked
+     */
+    public void setOnSlotClicked(BiConsumer<Facility, LocalDateTime> handler) {
+        this.onSlotClicked = handler;
+    }
+
+    /**
+     * Scroll so a date and time is in view
+     */
+    public void scrollTo(LocalDateTime time) {
+        long day = ChronoUnit.DAYS.between(startDate, time.toLocalDate());
+        double slot = (time.getHour() * 60 + time.getMinute()
+                - AvailabilityService.OPENING_TIME.toSecondOfDay() / 60) / (double) AvailabilityService.SLOT_MINUTES;
+        double x = day * DAY_WIDTH + Math.max(0, Math.min(SLOTS, slot)) * SLOT_WIDTH;
+        horizontal.setValue(Math.max(horizontal.getMin(), Math.min(horizontal.getMax(), x - SLOT_WIDTH * 4)));
+    }
+
+    @Override
+    protected double computePrefWidth(double height) {
+        return ROW_HEADER_WIDTH + DAY_WIDTH * Math.min(days, 2) + vertical.prefWidth(-1);
+    }
+
+    @Override
+    protected double computePrefHeight(double width) {
+        return COLUMN_HEADER_HEIGHT + ROW_HEIGHT * Math.max(1, Math.min(facilities.size(), 12))
+                + horizontal.prefHeight(-1);
+    }
+
+    @Override
+    protected void layoutChildren() {
+        double width = getWidth();
+        double height = getHeight();
+        double barWidth = vertical.prefWidth(-1);
+        double barHeight = horizontal.prefHeight(-1);
+        double viewWidth = Math.max(0, width - barWidth);
+        double viewHeight = Math.max(0, height - barHeight);
+
+        configure(horizontal, days * DAY_WIDTH, viewWidth - ROW_HEADER_WIDTH, SLOT_WIDTH * 2);
+        configure(vertical, facilities.size() * ROW_HEIGHT, viewHeight - COLUMN_HEADER_HEIGHT, ROW_HEIGHT);
+        horizontal.resizeRelocate(0, viewHeight, viewWidth, barHeight);
+        vertical.resizeRelocate(viewWidth, 0, barWidth, viewHeight);
+
+        canvas.setWidth(viewWidth);
+        canvas.setHeight(viewHeight);
+        paintAll();
+    }
+
+    private static void configure(ScrollBar bar, double content, double view, double unit) {
+        double max = Math.max(0, content - view);
+        bar.setMin(0);
+        bar.setMax(max);
+        bar.setVisibleAmount(content <= 0 ? 1 : Math.max(0, view) / content * max);
+        bar.setUnitIncrement(unit);
+        bar.setBlockIncrement(Math.max(unit, view));
+        if (bar.getValue() > max) {
+            bar.setValue(max);
+        }
+    }
+
+    private static void scroll(ScrollBar bar, double pixels) {
+        bar.setValue(Math.max(bar.getMin(), Math.min(bar.getMax(), bar.getValue() + pixels)));
+    }
+
+    /**
+     * Re-read every facility-day bitmap and repaint
+     */
+    private void reload() {
+        occupancy = new long[facilities.size()][days];
+        for (int row = 0; row < facilities.size(); row++) {
+            String facilityId = facilities.get(row).getId();
+            for (int day = 0; day < days; day++) {
+                occupancy[row][day] = AvailabilityService.getOccupancy(facilityId, startDate.plusDays(day));
+            }
+        }
+        requestLayout();
+        paintAll();
+    }
+
+    /**
+     * Refresh only the facility-day cells touched by booking changes
+     */
+    private void applyChanges(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            Booking booking;
+            if (event instanceof BookingCreated) {
+                booking = ((BookingCreated) event).booking;
+            } else if (event instanceof BookingStatusChanged) {
+                booking = ((BookingStatusChanged) event).booking;
+            } else {
+                continue;
+            }
+            Integer row = rowOf.get(booking.getFacilityId());
+            if (row == null) {
+                continue;
+            }
+
+            LocalDate last = booking.getEndTime().toLocalDate();
+            for (LocalDate date = booking.getStartTime().toLocalDate(); !date.isAfter(last); date = date.plusDays(1)) {
+                int day = (int) ChronoUnit.DAYS.between(startDate, date);
+                if (day < 0 || day >= days) {
+                    continue;
+                }
+                long updated = AvailabilityService.getOccupancy(booking.getFacilityId(), date);
+                if (updated != occupancy[row][day]) {
+                    occupancy[row][day] = updated;
+                    paintRegion(ROW_HEADER_WIDTH + day * DAY_WIDTH - horizontal.getValue(),
+                            COLUMN_HEADER_HEIGHT + row * ROW_HEIGHT - vertical.getValue(), DAY_WIDTH, ROW_HEIGHT);
+                }
+            }
+        }
+    }
+
+    private void paintAll() {
+        paintRegion(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+
+    /**
+     * Repaint the part of the canvas inside a rectangle (canvas coordinates)
+     */
+    private void paintRegion(double x, double y, double w, double h) {
+        double right = Math.min(canvas.getWidth(), x + w);
+        double bottom = Math.min(canvas.getHeight(), y + h);
+        x = Math.max(0, x);
+        y = Math.max(0, y);
+        if (right <= x || bottom <= y) {
+            return;
+        }
+
+        GraphicsContext g = canvas.getGraphicsContext2D();
+        g.save();
+        g.beginPath();
+        g.rect(x, y, right - x, bottom - y);
+        g.clip();
+
+        paintCells(g, x, y, right, bottom);
+        paintColumnHeader(g, x, right);
+        paintRowHeader(g, y, bottom);
+        g.setFill(HEADER);
+        g.fillRect(0, 0, ROW_HEADER_WIDTH, COLUMN_HEADER_HEIGHT);
+
+        g.restore();
+    }
+
+    private void paintCells(GraphicsContext g, double x, double y, double right, double bottom) {
+        double scrollX = horizontal.getValue();
+        double scrollY = vertical.getValue();
+        double contentLeft = Math.max(x, ROW_HEADER_WIDTH) - ROW_HEADER_WIDTH + scrollX;
+        double contentRight = right - ROW_HEADER_WIDTH + scrollX;
+        int firstDay = Math.max(0, (int) (contentLeft / DAY_WIDTH));
+        int lastDay = Math.min(days - 1, (int) (contentRight / DAY_WIDTH));
+        int firstRow = Math.max(0, (int) ((Math.max(y, COLUMN_HEADER_HEIGHT) - COLUMN_HEADER_HEIGHT + scrollY) / ROW_HEIGHT));
+        int lastRow = Math.min(facilities.size() - 1, (int) ((bottom - COLUMN_HEADER_HEIGHT + scrollY) / ROW_HEIGHT));
+
+        g.setFill(BACKGROUND);
+        g.fillRect(x, y, right - x, bottom - y);
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int day = firstDay; day <= lastDay; day++) {
+            LocalDate date = startDate.plusDays(day);
+            double dayX = ROW_HEADER_WIDTH + day * DAY_WIDTH - scrollX;
+
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) {
+                g.setFill(WEEKEND);
+                g.fillRect(dayX, COLUMN_HEADER_HEIGHT, DAY_WIDTH, bottom);
+            }
+            int pastSlots = pastSlots(date, now);
+            if (pastSlots > 0) {
+                g.setFill(PAST);
+                g.fillRect(dayX, COLUMN_HEADER_HEIGHT, pastSlots * SLOT_WIDTH, bottom);
+            }
+
+            // Busy slots: each run of consecutive bits is one rectangle
+            g.setFill(BOOKED);
+            for (int row = firstRow; row <= lastRow; row++) {
+                long bits = occupancy[row][day];
+                double rowY = COLUMN_HEADER_HEIGHT + row * ROW_HEIGHT - scrollY;
+                while (bits != 0) {
+                    int from = Long.numberOfTrailingZeros(bits);
+                    int to = Long.numberOfTrailingZeros(~(bits >>> from)) + from;
+                    g.fillRect(dayX + from * SLOT_WIDTH + 1, rowY + 4, (to - from) * SLOT_WIDTH - 2, ROW_HEIGHT - 8);
+                    bits &= to >= 64 ? 0 : -1L << to;
+                }
+            }
+
+            // Slot and hour lines, then the day boundary
+            for (int slot = 1; slot < SLOTS; slot++) {
+                g.setStroke(slot % 2 == 0 ? HOUR_LINE : GRID);
+                double lineX = Math.floor(dayX + slot * SLOT_WIDTH) + 0.5;
+                g.strokeLine(lineX, COLUMN_HEADER_HEIGHT, lineX, bottom);
+            }
+            g.setStroke(DAY_LINE);
+            g.strokeLine(Math.floor(dayX) + 0.5, COLUMN_HEADER_HEIGHT, Math.floor(dayX) + 0.5, bottom);
+
+            if (date.equals(now.toLocalDate()) && pastSlots > 0 && pastSlots < SLOTS) {
+                double minutes = now.toLocalTime().toSecondOfDay() / 60.0
+                        - AvailabilityService.OPENING_TIME.toSecondOfDay() / 60.0;
+                double nowX = dayX + minutes / AvailabilityService.SLOT_MINUTES * SLOT_WIDTH;
+                g.setStroke(NOW_LINE);
+                g.strokeLine(nowX, COLUMN_HEADER_HEIGHT, nowX, bottom);
+            }
+        }
+
+        g.setStroke(GRID);
+        for (int row = firstRow; row <= lastRow + 1; row++) {
+            double lineY = Math.floor(COLUMN_HEADER_HEIGHT + row * ROW_HEIGHT - scrollY) + 0.5;
+            g.strokeLine(ROW_HEADER_WIDTH, lineY, right, lineY);
+        }
+    }
+
+    private void paintColumnHeader(GraphicsContext g, double x, double right) {
+        double scrollX = horizontal.getValue();
+        g.setFill(HEADER);
+        g.fillRect(x, 0, right - x, COLUMN_HEADER_HEIGHT);
+
+        double contentLeft = Math.max(x, ROW_HEADER_WIDTH) - ROW_HEADER_WIDTH + scrollX;
+        int firstDay = Math.max(0, (int) (contentLeft / DAY_WIDTH));
+        int lastDay = Math.min(days - 1, (int) ((right - ROW_HEADER_WIDTH + scrollX) / DAY_WIDTH));
+
+        g.setFill(HEADER_TEXT);
+        g.setTextBaseline(VPos.CENTER);
+        for (int day = firstDay; day <= lastDay; day++) {
+            double dayX = ROW_HEADER_WIDTH + day * DAY_WIDTH - scrollX;
+            g.setFont(Font.font("Arial", FontWeight.BOLD, 12));
+            g.setTextAlign(TextAlignment.LEFT);
+            // Keep the day label visible while its day is scrolled partly out of view
+            double labelX = Math.max(dayX, ROW_HEADER_WIDTH) + 6;
+            g.fillText(startDate.plusDays(day).format(DAY_FORMAT), labelX, 12, DAY_WIDTH - 12);
+
+            g.setFont(Font.font("Arial", 10));
+            g.setTextAlign(TextAlignment.CENTER);
+            for (int slot = 0; slot < SLOTS; slot += 2) {
+                int hour = AvailabilityService.OPENING_TIME.getHour() + slot / 2;
+                g.fillText(String.valueOf(hour), dayX + slot * SLOT_WIDTH + SLOT_WIDTH, 32);
+            }
+        }
+    }
+
+    private void paintRowHeader(GraphicsContext g, double y, double bottom) {
+        double scrollY = vertical.getValue();
+        g.setFill(Color.web("#f8f9fa"));
+        g.fillRect(0, y, ROW_HEADER_WIDTH, bottom - y);
+
+        int firstRow = Math.max(0, (int) ((Math.max(y, COLUMN_HEADER_HEIGHT) - COLUMN_HEADER_HEIGHT + scrollY) / ROW_HEIGHT));
+        int lastRow = Math.min(facilities.size() - 1, (int) ((bottom - COLUMN_HEADER_HEIGHT + scrollY) / ROW_HEIGHT));
+
+        g.setFont(Font.font("Arial", FontWeight.BOLD, 11));
+        g.setTextAlign(TextAlignment.LEFT);
+        g.setTextBaseline(VPos.CENTER);
+        for (int row = firstRow; row <= lastRow; row++) {
+            Facility facility = facilities.get(row);
+            double rowY = COLUMN_HEADER_HEIGHT + row * ROW_HEIGHT - scrollY;
+            g.setFill(ROW_TEXT);
+            g.fillText(facility.getId() + "  " + facility.getName(), 8, rowY + ROW_HEIGHT / 2, ROW_HEADER_WIDTH - 14);
+            g.setStroke(GRID);
+            g.strokeLine(0, Math.floor(rowY + ROW_HEIGHT) + 0.5, ROW_HEADER_WIDTH, Math.floor(rowY + ROW_HEIGHT) + 0.5);
+        }
+        g.setStroke(DAY_LINE);
+        g.strokeLine(ROW_HEADER_WIDTH - 0.5, y, ROW_HEADER_WIDTH - 0.5, bottom);
+    }
+
+    private static int pastSlots(LocalDate date, LocalDateTime now) {
+        if (date.isBefore(now.toLocalDate())) {
+            return SLOTS;
+        }
+        if (date.isAfter(now.toLocalDate())) {
+            return 0;
+        }
+        long minutes = now.toLocalTime().toSecondOfDay() / 60
+                - AvailabilityService.OPENING_TIME.toSecondOfDay() / 60;
+        return (int) Math.max(0, Math.min(SLOTS, minutes / AvailabilityService.SLOT_MINUTES));
+    }
+
+    private void handleClick(double x, double y) {
+        if (onSlotClicked == null || x < ROW_HEADER_WIDTH || y < COLUMN_HEADER_HEIGHT) {
+            return;
+        }
+        double contentX = x - ROW_HEADER_WIDTH + horizontal.getValue();
+        int row = (int) ((y - COLUMN_HEADER_HEIGHT + vertical.getValue()) / ROW_HEIGHT);
+        int day = (int) (contentX / DAY_WIDTH);
+        int slot = (int) ((contentX - day * DAY_WIDTH) / SLOT_WIDTH);
+        if (row < facilities.size() && day < days && slot < SLOTS) {
+            onSlotClicked.accept(facilities.get(row), AvailabilityService.slotStart(startDate.plusDays(day), slot));
+        }
+    }
+}
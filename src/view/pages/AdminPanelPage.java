@@ -7,6 +7,7 @@ import javafx.geometry.Pos;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
@@ -14,9 +15,21 @@ import model.Booking;
 import model.Facility;
 import model.User;
 import model.enums.FacilityStatus;
+import model.services.AvailabilityService;
 import model.services.BookingService;
+import model.services.ChangeEventBus;
+import model.services.ChangeEventBus.BookingCheckedIn;
+import model.services.ChangeEventBus.BookingCreated;
+import model.services.ChangeEventBus.BookingStatusChanged;
+import model.services.ChangeEventBus.ChangeEvent;
+import model.services.ChangeEventBus.FacilityStatusChanged;
 import model.services.FacilityService;
+import view.FxChangeEvents;
+import view.RowIndex;
+import view.components.ScheduleTimeline;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public class AdminPanelPage extends VBox {
@@ -24,6 +37,9 @@ public class AdminPanelPage extends VBox {
     private User currentUser;
     private ObservableList<Booking> allBookingsList;
     private ObservableList<Facility> facilitiesList;
+    private RowIndex<Booking> bookingRows;
+    private RowIndex<Facility> facilityRows;
+    private ChangeEventBus.Subscription changeSubscription;
 
     // UI Components
     private TabPane tabPane;
@@ -32,18 +48,30 @@ public class AdminPanelPage extends VBox {
     private Button refreshButton;
     private Button updateFacilityButton;
     private Label statusLabel;
+    private ScheduleTimeline scheduleTimeline;
 
     public AdminPanelPage(User user) {
         this.currentUser = user;
         initializeComponents();
         setupLayout();
         loadData();
+        changeSubscription = FxChangeEvents.subscribe(this::applyChanges);
+    }
+
+    /**
+     * Stop listening for model changes
+     */
+    public void dispose() {
+        changeSubscription.cancel();
+        scheduleTimeline.dispose();
     }
 
     private void initializeComponents() {
         // Initialize data lists
         allBookingsList = FXCollections.observableArrayList();
         facilitiesList = FXCollections.observableArrayList();
+        bookingRows = new RowIndex<>(allBookingsList, Booking::getBookingID);
+        facilityRows = new RowIndex<>(facilitiesList, Facility::getId);
 
         // Tab pane
         tabPane = new TabPane();
@@ -110,7 +138,11 @@ public class AdminPanelPage extends VBox {
         Tab statsTab = new Tab("📊 Statistics");
         statsTab.setContent(createStatisticsTab());
 
-        tabPane.getTabs().addAll(bookingsTab, facilitiesTab, statsTab);
+        // Schedule Tab
+        Tab scheduleTab = new Tab("🗓 Schedule");
+        scheduleTab.setContent(createScheduleTab());
+
+        tabPane.getTabs().addAll(bookingsTab, facilitiesTab, statsTab, scheduleTab);
     }
 
     private VBox createBookingsManagementTab() {
@@ -262,6 +294,52 @@ public class AdminPanelPage extends VBox {
         return statsBox;
     }
 
+    private VBox createScheduleTab() {
+        VBox scheduleBox = new VBox(15);
+        scheduleBox.setPadding(new Insets(20));
+
+        Label titleLabel = new Label("🗓 Facility Schedule");
+        titleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 20));
+        titleLabel.setStyle("-fx-text-fill: #2c3e50;");
+
+        DatePicker startDatePicker = new DatePicker(LocalDate.now());
+        ComboBox<String> rangeCombo = new ComboBox<>();
+        rangeCombo.getItems().addAll("Day", "Week", "Two weeks");
+        rangeCombo.setValue("Week");
+
+        scheduleTimeline = new ScheduleTimeline();
+        scheduleTimeline.setPrefHeight(450);
+        scheduleTimeline.setFacilities(FacilityService.getAllFacilities());
+        scheduleTimeline.setRange(LocalDate.now(), 7);
+        scheduleTimeline.setOnSlotClicked((facility, slotStart) -> statusLabel.setText(
+                facility.getId() + " - " + slotStart.toLocalDate() + " " + slotStart.toLocalTime()
+                + (AvailabilityService.isFree(facility.getId(), slotStart, slotStart.plusMinutes(AvailabilityService.SLOT_MINUTES))
+                        ? " is free" : " is booked")));
+
+        Runnable applyRange = () -> {
+            LocalDate start = startDatePicker.getValue() != null ? startDatePicker.getValue() : LocalDate.now();
+            int days = "Day".equals(rangeCombo.getValue()) ? 1 : "Two weeks".equals(rangeCombo.getValue()) ? 14 : 7;
+            scheduleTimeline.setRange(start, days);
+        };
+        startDatePicker.setOnAction(e -> applyRange.run());
+        rangeCombo.setOnAction(e -> applyRange.run());
+
+        Button todayButton = new Button("Today");
+        todayButton.setOnAction(e -> {
+            startDatePicker.setValue(LocalDate.now());
+            applyRange.run();
+            scheduleTimeline.scrollTo(LocalDateTime.now());
+        });
+
+        HBox controls = new HBox(10);
+        controls.setAlignment(Pos.CENTER_LEFT);
+        controls.getChildren().addAll(new Label("From:"), startDatePicker, new Label("Show:"), rangeCombo, todayButton);
+
+        VBox.setVgrow(scheduleTimeline, Priority.ALWAYS);
+        scheduleBox.getChildren().addAll(titleLabel, controls, scheduleTimeline);
+        return scheduleBox;
+    }
+
     private VBox createActionSection() {
         VBox actionBox = new VBox(15);
         actionBox.setAlignment(Pos.CENTER);
@@ -288,11 +366,43 @@ public class AdminPanelPage extends VBox {
 
         // Update statistics tab
         updateStatisticsTab();
+        if (scheduleTimeline != null) {
+            scheduleTimeline.setFacilities(allFacilities);
+        }
 
         // Update status
         statusLabel.setText("Data refreshed - " + allBookings.size() + " bookings, " + allFacilities.size() + " facilities");
     }
 
+    /**
+     * Apply booking and facility changes row by row, then refresh the counters once
+     */
+    private void applyChanges(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            if (event instanceof BookingCreated) {
+                // A reload while the batch was queued may already have listed it
+                Booking booking = ((BookingCreated) event).booking;
+                if (!bookingRows.contains(booking)) {
+                    allBookingsList.add(booking);
+                }
+            } else if (event instanceof BookingStatusChanged || event instanceof BookingCheckedIn) {
+                Booking booking = event instanceof BookingStatusChanged
+                        ? ((BookingStatusChanged) event).booking : ((BookingCheckedIn) event).booking;
+                int row = bookingRows.rowOf(booking);
+                if (row >= 0) {
+                    allBookingsList.set(row, booking);
+                }
+            } else if (event instanceof FacilityStatusChanged) {
+                Facility facility = ((FacilityStatusChanged) event).facility;
+                int row = facilityRows.rowOf(facility);
+                if (row >= 0) {
+                    facilitiesList.set(row, facility);
+                }
+            }
+        }
+        updateStatisticsTab();
+    }
+
     private void updateStatisticsTab() {
         if (tabPane.getTabs().size() >= 3) {
             VBox statsContent = (VBox) tabPane.getTabs().get(2).getContent();
@@ -300,20 +410,19 @@ public class AdminPanelPage extends VBox {
                 VBox statsCards = (VBox) statsContent.getChildren().get(1);
                 statsCards.getChildren().clear();
 
-                // Calculate statistics
-                long totalBookings = allBookingsList.size();
-                long confirmedBookings = allBookingsList.stream()
-                    .filter(b -> b.getStatus().toString().equals("CONFIRMED")).count();
-                long cancelledBookings = allBookingsList.stream()
-                    .filter(b -> b.getStatus().toString().equals("CANCELLED")).count();
-                long totalFacilities = facilitiesList.size();
-                long availableFacilities = facilitiesList.stream()
-                    .filter(f -> f.getStatus().toString().equals("AVAILABLE")).count();
+                // Read live statistics counters
+                BookingService.BookingStats bookingStats = BookingService.getBookingStats();
+                FacilityService.FacilityStats facilityStats = FacilityService.getFacilityStats();
+                long totalBookings = bookingStats.total;
+                long activeBookings = bookingStats.active;
+                long cancelledBookings = bookingStats.cancelled;
+                long totalFacilities = facilityStats.total;
+                long availableFacilities = facilityStats.available;
 
                 // Create stats cards
                 statsCards.getChildren().addAll(
                     createStatsCard("📅 Total Bookings", String.valueOf(totalBookings), "#3b82f6"),
-                    createStatsCard("✅ Confirmed", String.valueOf(confirmedBookings), "#22c55e"),
+                    createStatsCard("✅ Active", String.valueOf(activeBookings), "#22c55e"),
                     createStatsCard("❌ Cancelled", String.valueOf(cancelledBookings), "#ef4444"),
                     createStatsCard("🏢 Total Facilities", String.valueOf(totalFacilities), "#f59e0b"),
                     createStatsCard("✅ Available", String.valueOf(availableFacilities), "#22c55e")
@@ -359,8 +468,8 @@ public class AdminPanelPage extends VBox {
                 // Update facility status
                 selectedFacility.setStatus(newStatus);
                 // In a real application, you'd save this to database
+                // The table row and statistics update from the change event
                 showToast("✅ Facility status updated successfully.", "success");
-                loadData(); // Refresh data
             }
         });
     }
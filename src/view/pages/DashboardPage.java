@@ -8,11 +8,9 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
-import model.Facility;
 import model.User;
 import model.services.FacilityService;
 
-import java.util.List;
 import java.util.function.Consumer;
 
 public class DashboardPage extends VBox {
@@ -74,14 +72,12 @@ public class DashboardPage extends VBox {
         HBox cardsContainer = new HBox(25);
         cardsContainer.setAlignment(Pos.CENTER);
 
-        // Get facility statistics
-        List<Facility> allFacilities = FacilityService.getAllFacilities();
-        long totalFacilities = allFacilities.size();
-        long availableCount = allFacilities.stream().filter(f -> f.getStatus().toString().equals("AVAILABLE")).count();
-        long bookedCount = allFacilities.stream().filter(f -> f.getStatus().toString().equals("BOOKED")).count();
-        long closedCount = allFacilities.stream().filter(f ->
-            f.getStatus().toString().equals("TEMPORARILY_CLOSED") ||
-            f.getStatus().toString().equals("MAINTENANCE")).count();
+        // Get facility statistics (live counters, no scan)
+        FacilityService.FacilityStats stats = FacilityService.getFacilityStats();
+        long totalFacilities = stats.total;
+        long availableCount = stats.available;
+        long bookedCount = stats.booked;
+        long closedCount = stats.closed + stats.maintenance;
 
         // Create summary cards
         VBox totalCard = createSummaryCard("🏢 Total Facilities", String.valueOf(totalFacilities), "#ffffff", "#3b82f6");
@@ -5,11 +5,9 @@ import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
-import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Region;
 import javafx.scene.layout.Priority;
-import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
@@ -17,13 +15,18 @@ import model.Facility;
 import model.User;
 import model.services.FacilityService;
 import model.services.BookingPolicy;
-import view.components.FacilityCard;
-
+import model.services.ChangeEventBus;
+import model.services.ChangeEventBus.ChangeEvent;
+import model.services.ChangeEventBus.FacilityStatusChanged;
+import view.AsyncFilter;
+import view.FxChangeEvents;
+import view.components.FacilityGrid;
+
+import java.util.BitSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-import java.util.Map;
-import java.util.HashMap;
 
 public class FacilitiesPage extends VBox {
 
@@ -31,36 +34,46 @@ public class FacilitiesPage extends VBox {
     private Consumer<Facility> navigateToDetailCallback;
     private ObservableList<Facility> facilitiesList;
     private ObservableList<Facility> filteredFacilitiesList;
+    // IDs in the two lists, so a change event is matched without scanning them
+    private final Set<String> loadedIds = new HashSet<>();
+    private final Set<String> listedIds = new HashSet<>();
 
     // UI Components
-    private ScrollPane facilitiesScrollPane;
-    private FlowPane facilitiesContainer;
+    private FacilityGrid facilitiesGrid;
     private TextField searchField;
     private ComboBox<String> filterLocationCombo;
-
-    // Store facility cards for dynamic updates
-    private Map<Facility, FacilityCard> facilityCardMap;
+    private ChangeEventBus.Subscription changeSubscription;
+    private AsyncFilter<FilterCriteria, List<Facility>> facilityFilter;
 
     public FacilitiesPage(User user, Consumer<Facility> navigateToDetailCallback) {
         this.currentUser = user;
         this.navigateToDetailCallback = navigateToDetailCallback;
-        this.facilityCardMap = new HashMap<>();
         initializeComponents();
         setupLayout();
         loadData();
+        changeSubscription = FxChangeEvents.subscribe(this::applyChanges);
+    }
+
+    /**
+     * Stop listening for model changes
+     */
+    public void dispose() {
+        changeSubscription.cancel();
+        facilityFilter.cancel();
     }
 
     private void initializeComponents() {
         // Initialize data lists
         facilitiesList = FXCollections.observableArrayList();
         filteredFacilitiesList = FXCollections.observableArrayList();
+        facilityFilter = new AsyncFilter<>(150, this::findFacilities, this::showFilteredFacilities);
 
         // Search and filter components
         searchField = new TextField();
         searchField.setPromptText("🔍 Search facilities...");
         searchField.setPrefWidth(300);
         searchField.setStyle("-fx-font-size: 14px; -fx-padding: 8;");
-        searchField.textProperty().addListener((obs, oldText, newText) -> filterFacilities());
+        searchField.textProperty().addListener((obs, oldText, newText) -> facilityFilter.submit(currentCriteria()));
 
         filterLocationCombo = new ComboBox<>();
         filterLocationCombo.getItems().addAll("All Locations", "Level 1", "Level 2", "Level 3");
@@ -159,41 +172,84 @@ public class FacilitiesPage extends VBox {
         // Ensure title row spans full width so right-aligned button is visible
         facilitiesTitleRow.prefWidthProperty().bind(facilitiesBox.widthProperty());
 
-        // Facilities container
-        facilitiesContainer = new FlowPane();
-        facilitiesContainer.setHgap(25);
-        facilitiesContainer.setVgap(25);
-        facilitiesContainer.setPadding(new Insets(20));
-        facilitiesContainer.setStyle("-fx-background-color: white; -fx-background-radius: 12;");
-
-        facilitiesScrollPane = new ScrollPane(facilitiesContainer);
-        facilitiesScrollPane.setFitToWidth(true);
-        facilitiesScrollPane.setPrefHeight(500);
-        facilitiesScrollPane.setStyle("-fx-background-color: transparent; -fx-border-color: #dee2e6; -fx-border-radius: 12; -fx-background-radius: 12;");
+        // Facilities grid: only the cards in view exist, and they are reused while scrolling
+        facilitiesGrid = new FacilityGrid();
+        facilitiesGrid.setPrefHeight(500);
+        facilitiesGrid.setStyle("-fx-background-color: white; -fx-border-color: #dee2e6; -fx-border-radius: 12; -fx-background-radius: 12;");
+        facilitiesGrid.setOnFacilityClicked(facility -> {
+            if (navigateToDetailCallback != null) {
+                navigateToDetailCallback.accept(facility);
+            }
+        });
 
-        facilitiesBox.getChildren().addAll(facilitiesTitleRow, facilitiesScrollPane);
+        facilitiesBox.getChildren().addAll(facilitiesTitleRow, facilitiesGrid);
         return facilitiesBox;
     }
 
     private void updateFacilitiesDisplay() {
-        facilitiesContainer.getChildren().clear();
-        facilityCardMap.clear();
-
-        for (Facility facility : filteredFacilitiesList) {
-            FacilityCard card = new FacilityCard(facility);
+        facilitiesGrid.setItems(filteredFacilitiesList);
+    }
 
-            // Store reference for dynamic updates
-            facilityCardMap.put(facility, card);
+    /**
+     * Apply facility status changes: refresh the card, or add or remove the
+     * facility when it enters or leaves the filtered view
+     */
+    private void applyChanges(List<ChangeEvent> events) {
+        if (facilityFilter.isPending()) {
+            // The result on its way may predate these changes; query again instead
+            filterFacilities();
+            return;
+        }
+        boolean listChanged = false;
+        for (ChangeEvent event : events) {
+            if (!(event instanceof FacilityStatusChanged)) {
+                continue;
+            }
+            Facility facility = ((FacilityStatusChanged) event).facility;
+            if (!loadedIds.contains(facility.getId())) {
+                continue;
+            }
 
-            // Make card clickable
-            card.setOnMouseClicked(e -> {
-                if (navigateToDetailCallback != null) {
-                    navigateToDetailCallback.accept(facility);
-                }
-            });
+            boolean listed = listedIds.contains(facility.getId());
+            boolean visible = matchesFilters(facility);
+            if (visible && listed) {
+                facilitiesGrid.refresh(facility);
+            } else if (visible != listed && !searchField.getText().isEmpty()) {
+                // Search results are ranked, so let the search place or drop the facility
+                filterFacilities();
+                return;
+            } else if (listed) {
+                filteredFacilitiesList.remove(listedPosition(facility));
+                listedIds.remove(facility.getId());
+                listChanged = true;
+            } else if (visible) {
+                filteredFacilitiesList.add(listedPosition(facility), facility);
+                listedIds.add(facility.getId());
+                listChanged = true;
+            }
+        }
+        if (listChanged) {
+            updateFacilitiesDisplay();
+        }
+    }
 
-            facilitiesContainer.getChildren().add(card);
+    /**
+     * Where a facility is, or belongs, in the unranked filtered list: that list is in
+     * catalog order, so binary search it by catalog ordinal
+     */
+    private int listedPosition(Facility facility) {
+        int ordinal = FacilityService.getCatalogOrdinal(facility);
+        int low = 0;
+        int high = filteredFacilitiesList.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (FacilityService.getCatalogOrdinal(filteredFacilitiesList.get(mid)) < ordinal) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
         }
+        return low;
     }
 
     private void loadData() {
@@ -201,43 +257,67 @@ public class FacilitiesPage extends VBox {
         List<Facility> facilities = FacilityService.getAccessibleFacilities(currentUser);
         facilitiesList.clear();
         facilitiesList.addAll(facilities);
+        loadedIds.clear();
+        for (Facility facility : facilities) {
+            loadedIds.add(facility.getId());
+        }
         filterFacilities();
     }
 
     public void refreshFacilityStatuses() {
-        // Reload facilities data that user can access
-        List<Facility> updatedFacilities = FacilityService.getAccessibleFacilities(currentUser);
-
-        // Update existing facilities and their cards
-        for (Facility updatedFacility : updatedFacilities) {
-            FacilityCard card = facilityCardMap.get(updatedFacility);
-            if (card != null) {
-                // Update the card's status display
-                card.updateStatus(updatedFacility.getStatus());
-            }
-        }
-
-        // Reload the full list in case accessibility changed
+        // Status changes arrive through applyChanges; a manual refresh only has to
+        // pick up catalog or accessibility changes
         loadData();
     }
 
-    private void refreshFacilities() {
-        // Reload all facility data from service
-        loadData();
+    private void filterFacilities() {
+        facilityFilter.submitNow(currentCriteria());
     }
 
-    private void filterFacilities() {
-        List<Facility> filtered = facilitiesList.stream()
-            .filter(f -> searchField.getText().isEmpty() ||
-                        f.getName().toLowerCase().contains(searchField.getText().toLowerCase()) ||
-                        f.getId().toLowerCase().contains(searchField.getText().toLowerCase()))
-            .filter(f -> filterLocationCombo.getValue().equals("All Locations") ||
-                        f.getLocation().contains(filterLocationCombo.getValue()))
-            .filter(f -> BookingPolicy.canUserBookFacility(currentUser, f)) // Only show facilities user can book
-            .collect(Collectors.toList());
+    private FilterCriteria currentCriteria() {
+        return new FilterCriteria(searchField.getText(), filterLocationCombo.getValue());
+    }
 
+    /**
+     * Runs on the filter worker, so it only reads the captured criteria
+     */
+    private List<Facility> findFacilities(FilterCriteria criteria) {
+        // Bookable AND level as catalog bitsets, then ranked by the search text
+        BitSet visible = FacilityService.getBookableSet(currentUser);
+        if (!criteria.level.equals("All Locations")) {
+            visible.and(FacilityService.getLevelSet(criteria.level));
+        }
+        return FacilityService.searchFacilities(criteria.search, visible);
+    }
+
+    private void showFilteredFacilities(List<Facility> filtered) {
         filteredFacilitiesList.clear();
         filteredFacilitiesList.addAll(filtered);
+        listedIds.clear();
+        for (Facility facility : filtered) {
+            listedIds.add(facility.getId());
+        }
         updateFacilitiesDisplay();
+        facilitiesGrid.scrollToTop();
+    }
+
+    private boolean matchesFilters(Facility f) {
+        return FacilityService.matchesSearch(f, searchField.getText())
+            && (filterLocationCombo.getValue().equals("All Locations") ||
+                    FacilityService.levelOf(f).equals(filterLocationCombo.getValue()))
+            && BookingPolicy.canUserBookFacility(currentUser, f); // Only show facilities user can book
+    }
+
+    /**
+     * Filter inputs captured on the FX thread
+     */
+    private static class FilterCriteria {
+        final String search;
+        final String level;
+
+        FilterCriteria(String search, String level) {
+            this.search = search;
+            this.level = level;
+        }
     }
-}
\ No newline at end of file
+}
@@ -7,11 +7,10 @@ import javafx.scene.layout.*;
 import model.Facility;
 import model.User;
 import model.services.FacilityService;
-import model.services.BookingPolicy;
+import view.AsyncFilter;
 import view.components.FacilityCard;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class FacilityCatalog extends VBox {
 
@@ -19,6 +18,7 @@ public class FacilityCatalog extends VBox {
     private FlowPane cardsContainer;
     private TextField searchField;
     private Runnable onFacilitySelected;
+    private AsyncFilter<String, List<Facility>> facilityFilter;
 
     public FacilityCatalog(User user) {
         this.currentUser = user;
@@ -36,7 +36,11 @@ public class FacilityCatalog extends VBox {
         searchField = new TextField();
         searchField.setPromptText("Search facilities...");
         searchField.setPrefWidth(300);
-        searchField.textProperty().addListener((obs, oldText, newText) -> filterFacilities());
+        // Only show facilities user can book, best search match first
+        facilityFilter = new AsyncFilter<>(150,
+                query -> FacilityService.searchFacilities(query, FacilityService.getBookableSet(currentUser)),
+                this::displayFacilities);
+        searchField.textProperty().addListener((obs, oldText, newText) -> facilityFilter.submit(newText));
     }
 
     private void setupLayout() {
@@ -96,19 +100,6 @@ public class FacilityCatalog extends VBox {
         displayFacilities(facilities);
     }
 
-    private void filterFacilities() {
-        List<Facility> allFacilities = FacilityService.getAllFacilities();
-
-        List<Facility> filtered = allFacilities.stream()
-            .filter(f -> searchField.getText().isEmpty() ||
-                        f.getName().toLowerCase().contains(searchField.getText().toLowerCase()) ||
-                        f.getId().toLowerCase().contains(searchField.getText().toLowerCase()))
-            .filter(f -> BookingPolicy.canUserBookFacility(currentUser, f)) // Only show facilities user can book
-            .collect(Collectors.toList());
-
-        displayFacilities(filtered);
-    }
-
     private void displayFacilities(List<Facility> facilities) {
         cardsContainer.getChildren().clear();
 
@@ -3,7 +3,6 @@ package view.pages;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.text.Font;
@@ -12,13 +11,22 @@ import model.Facility;
 import model.User;
 import model.Equipment;
 import model.Booking;
+import model.services.AvailabilityService;
 import model.services.BookingService;
 import model.services.BookingPolicy;
+import model.services.ChangeEventBus;
+import model.services.ChangeEventBus.BookingCreated;
+import model.services.ChangeEventBus.BookingStatusChanged;
+import model.services.ChangeEventBus.ChangeEvent;
 import model.enums.FacilityStatus;
+import view.FxChangeEvents;
+import view.ImageService;
+import view.components.ScheduleTimeline;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
@@ -45,12 +53,15 @@ public class FacilityDetailPage extends VBox {
     private DatePicker endDatePicker;
     private ComboBox<String> startTimeCombo;
     private ComboBox<String> endTimeCombo;
+    private ScheduleTimeline scheduleTimeline;
+    private ChangeEventBus.Subscription changeSubscription;
 
     public FacilityDetailPage(User user, Consumer<String> navigateCallback) {
         this.currentUser = user;
         this.navigateCallback = navigateCallback;
         initializeComponents();
         setupLayout();
+        changeSubscription = FxChangeEvents.subscribe(this::applyChanges);
     }
 
     private void initializeComponents() {
@@ -125,101 +136,25 @@ public class FacilityDetailPage extends VBox {
         startDatePicker.setValue(LocalDate.now());
         endDatePicker.setValue(LocalDate.now());
 
-        // Function to populate time combos based on selected date
-        Runnable populateTimeCombos = () -> {
-            LocalDate selectedDate = startDatePicker.getValue();
-            startTimeCombo.getItems().clear();
-            endTimeCombo.getItems().clear();
-
-            LocalDateTime earliestAllowed;
-            if (selectedDate.equals(LocalDate.now())) {
-                // Today: only times at least 30 minutes from now
-                earliestAllowed = LocalDateTime.now().plusMinutes(30);
-            } else {
-                // Future date: any business hour
-                earliestAllowed = LocalDateTime.of(selectedDate, LocalTime.of(8, 0));
-            }
-
-            for (int hour = 8; hour <= 22; hour++) {
-                for (int minute = 0; minute < 60; minute += 30) {
-                    LocalDateTime timeSlot = LocalDateTime.of(selectedDate, LocalTime.of(hour, minute));
-                    if (timeSlot.isAfter(earliestAllowed) || timeSlot.isEqual(earliestAllowed) ||
-                        !selectedDate.equals(LocalDate.now())) {
-                        String time = String.format("%02d:%02d", hour, minute);
-                        startTimeCombo.getItems().add(time);
-                        endTimeCombo.getItems().add(time);
-                    }
-                }
-            }
-
-            // Set default values if available
-            if (!startTimeCombo.getItems().isEmpty()) {
-                startTimeCombo.setValue(startTimeCombo.getItems().get(0));
-                endTimeCombo.setValue(startTimeCombo.getItems().get(0));
-            }
-        };
-
-        // Initial population
-        populateTimeCombos.run();
-
-        // Update times when date changes
-        startDatePicker.setOnAction(e -> populateTimeCombos.run());
-
-        // Set default start time to next available slot (at least 30 minutes from now)
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime nextAvailable = now.plusMinutes(30);
-        
-        // Round up to next 30-minute interval
-        int minute = nextAvailable.getMinute();
-        int roundedMinute = ((minute + 29) / 30) * 30; // Round up to nearest 30
-        if (roundedMinute >= 60) {
-            nextAvailable = nextAvailable.plusHours(1).withMinute(0);
-        } else {
-            nextAvailable = nextAvailable.withMinute(roundedMinute);
-        }
-        
-        // Ensure within business hours
-        LocalDate startDate = LocalDate.now();
-        if (nextAvailable.getHour() < 8) {
-            nextAvailable = nextAvailable.withHour(8).withMinute(0);
-        } else if (nextAvailable.getHour() >= 22) {
-            // Next day
-            startDate = LocalDate.now().plusDays(1);
-            startDatePicker.setValue(startDate);
-            nextAvailable = LocalDateTime.of(startDate, LocalTime.of(8, 0));
-            populateTimeCombos.run(); // Refresh time options for new date
-        }
-        startDatePicker.setValue(startDate);
-
-        // Set default time if available in combo
-        String defaultStartTime = String.format("%02d:%02d", nextAvailable.getHour(), nextAvailable.getMinute());
-        if (startTimeCombo.getItems().contains(defaultStartTime)) {
-            startTimeCombo.setValue(defaultStartTime);
-        } else if (!startTimeCombo.getItems().isEmpty()) {
-            startTimeCombo.setValue(startTimeCombo.getItems().get(0));
-        }
-
-        // Set end time to minimum booking duration after start
-        LocalDateTime endTime = nextAvailable.plusMinutes(BookingPolicy.getMinBookingMinutes());
-        LocalDate endDate = startDate;
-        if (endTime.getHour() >= 22) {
-            endDate = startDate.plusDays(1);
-        }
-        endDatePicker.setValue(endDate);
-        
-        // Set default end time if available in combo
-        String defaultEndTime = String.format("%02d:%02d", endTime.getHour(), endTime.getMinute());
-        if (endTimeCombo.getItems().contains(defaultEndTime)) {
-            endTimeCombo.setValue(defaultEndTime);
-        } else if (!endTimeCombo.getItems().isEmpty()) {
-            endTimeCombo.setValue(endTimeCombo.getItems().get(0));
-        }
+        // Only free, bookable times are offered; end times follow the chosen start
+        startDatePicker.setOnAction(e -> populateTimeCombos());
+        startTimeCombo.setOnAction(e -> populateEndTimes());
+        // A booking ends on the day it starts
+        endDatePicker.setDisable(true);
+        populateTimeCombos();
 
         dateTimeBox.getChildren().addAll(
             new Label("Start:"), startDatePicker, startTimeCombo,
             new Label("End:"), endDatePicker, endTimeCombo
         );
 
+        // Occupancy for the coming week; clicking a slot picks it as the start time
+        Label scheduleLabel = new Label("Schedule (next 7 days, booked slots in red):");
+        scheduleLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        scheduleTimeline = new ScheduleTimeline();
+        scheduleTimeline.setPrefHeight(110);
+        scheduleTimeline.setOnSlotClicked((clickedFacility, slotStart) -> selectStartTime(slotStart));
+
         // Booking rules
         Label rulesLabel = new Label("Booking Rules:");
         rulesLabel.setFont(Font.font("Arial", FontWeight.BOLD, 14));
@@ -236,7 +171,99 @@ public class FacilityDetailPage extends VBox {
                            "-fx-font-weight: bold; -fx-padding: 12 24; -fx-background-radius: 5;");
         bookButton.setOnAction(e -> handleBooking());
 
-        bookingSection.getChildren().addAll(bookingTitle, dateTimeBox, rulesLabel, rulesArea, bookButton);
+        bookingSection.getChildren().addAll(bookingTitle, scheduleLabel, scheduleTimeline, dateTimeBox,
+                rulesLabel, rulesArea, bookButton);
+    }
+
+    /**
+     * Offer the start times that are free and bookable on the selected date
+     */
+    private void populateTimeCombos() {
+        LocalDate selectedDate = startDatePicker.getValue();
+        endDatePicker.setValue(selectedDate);
+
+        List<String> starts = new ArrayList<>();
+        if (facility != null && selectedDate != null) {
+            for (LocalDateTime start : AvailabilityService.getBookableStartTimes(currentUser, facility, selectedDate)) {
+                starts.add(formatTime(start));
+            }
+        }
+        startTimeCombo.setPromptText(starts.isEmpty() ? "No free times" : "Start time");
+        replaceItems(startTimeCombo, starts);
+        populateEndTimes();
+    }
+
+    /**
+     * Offer the end times that keep a booking from the selected start free and within policy
+     */
+    private void populateEndTimes() {
+        LocalDate selectedDate = startDatePicker.getValue();
+        String start = startTimeCombo.getValue();
+
+        List<String> ends = new ArrayList<>();
+        if (facility != null && selectedDate != null && start != null) {
+            LocalDateTime startTime = LocalDateTime.of(selectedDate, LocalTime.parse(start));
+            for (LocalDateTime end : AvailabilityService.getBookableEndTimes(currentUser, facility, startTime)) {
+                ends.add(formatTime(end));
+            }
+        }
+        replaceItems(endTimeCombo, ends);
+    }
+
+    /**
+     * Swap a combo's items, keeping its selection if still offered, else the first item
+     */
+    private void replaceItems(ComboBox<String> combo, List<String> items) {
+        String previous = combo.getValue();
+        combo.getItems().setAll(items);
+        if (previous != null && items.contains(previous)) {
+            combo.setValue(previous);
+        } else {
+            combo.setValue(items.isEmpty() ? null : items.get(0));
+        }
+    }
+
+    private String formatTime(LocalDateTime time) {
+        return String.format("%02d:%02d", time.getHour(), time.getMinute());
+    }
+
+    private void selectStartTime(LocalDateTime slotStart) {
+        startDatePicker.setValue(slotStart.toLocalDate());
+        populateTimeCombos();
+        String start = formatTime(slotStart);
+        if (startTimeCombo.getItems().contains(start)) {
+            startTimeCombo.setValue(start);
+            populateEndTimes();
+        }
+    }
+
+    /**
+     * Refresh the offered times when a booking of this facility is made or released
+     */
+    private void applyChanges(List<ChangeEvent> events) {
+        if (facility == null) {
+            return;
+        }
+        for (ChangeEvent event : events) {
+            Booking booking = null;
+            if (event instanceof BookingCreated) {
+                booking = ((BookingCreated) event).booking;
+            } else if (event instanceof BookingStatusChanged) {
+                booking = ((BookingStatusChanged) event).booking;
+            }
+            if (booking != null && facility.getId().equals(booking.getFacilityId())) {
+                populateTimeCombos();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop listening for booking changes
+     */
+    public void dispose() {
+        changeSubscription.cancel();
+        scheduleTimeline.dispose();
     }
 
     private void setupLayout() {
@@ -310,33 +337,12 @@ public class FacilityDetailPage extends VBox {
     private void updateDisplay() {
         if (facility == null) return;
 
-        // Update image
-        try {
-            if (facility.getImagePath() != null && !facility.getImagePath().isEmpty()) {
-                // Convert relative path to absolute file URL
-                java.io.File imageFile = new java.io.File(facility.getImagePath());
-                if (imageFile.exists()) {
-                    String imageUrl = imageFile.toURI().toString();
-                    Image image = new Image(imageUrl, 400, 250, true, true);
-                    facilityImage.setImage(image);
-                } else {
-                    // Image file doesn't exist, show placeholder
-                    Image placeholder = new Image("https://via.placeholder.com/400x250/3498db/ffffff?text=" +
-                        facility.getId(), 400, 250, false, true);
-                    facilityImage.setImage(placeholder);
-                }
-            } else {
-                // No image path, show placeholder with facility ID
-                Image placeholder = new Image("https://via.placeholder.com/400x250/3498db/ffffff?text=" +
-                    facility.getId(), 400, 250, false, true);
-                facilityImage.setImage(placeholder);
-            }
-        } catch (Exception e) {
-            // Error loading image, show error placeholder
-            Image placeholder = new Image("https://via.placeholder.com/400x250/e74c3c/ffffff?text=Error",
-                400, 250, false, true);
-            facilityImage.setImage(placeholder);
-        }
+        // Update image (cached and decoded in the background; placeholder drawn locally)
+        ImageService.show(facilityImage, facility.getImagePath(), 400, 250, facility.getId());
+
+        scheduleTimeline.setFacilities(List.of(facility));
+        scheduleTimeline.setRange(LocalDate.now(), 7);
+        scheduleTimeline.scrollTo(LocalDateTime.now());
 
         // Update labels
         String displayName = cleanFacilityName(facility.getName(), facility.getType()).toUpperCase();
@@ -359,16 +365,16 @@ public class FacilityDetailPage extends VBox {
         updateEquipmentList();
 
         // Update booking section visibility
-        bookingSection.setVisible(facility.isAvailable());
-        bookingSection.setManaged(facility.isAvailable());
-
-        // Reset booking dates to today when facility changes
-        if (startDatePicker != null) {
-            startDatePicker.setValue(LocalDate.now());
-        }
-        if (endDatePicker != null) {
-            endDatePicker.setValue(LocalDate.now());
-        }
+        bookingSection.setVisible(facility.isBookable());
+        bookingSection.setManaged(facility.isBookable());
+
+        // Reset the booking date when the facility changes; once today's last slot is
+        // out of reach, start from tomorrow
+        LocalDateTime earliestStart = LocalDateTime.now().plusMinutes(BookingPolicy.getMinAdvanceMinutes());
+        boolean todayOver = !earliestStart.toLocalDate().equals(LocalDate.now())
+                || earliestStart.toLocalTime().isAfter(AvailabilityService.CLOSING_TIME.minusMinutes(BookingPolicy.getMinBookingMinutes()));
+        startDatePicker.setValue(todayOver ? LocalDate.now().plusDays(1) : LocalDate.now());
+        populateTimeCombos();
     }
 
     private void updateEquipmentList() {
@@ -399,7 +405,7 @@ public class FacilityDetailPage extends VBox {
 
     private String getBookingRules() {
         StringBuilder rules = new StringBuilder();
-        rules.append("• Maximum booking duration: ").append(BookingPolicy.getMaxBookingHours()).append(" hours\n");
+        rules.append("• Maximum booking duration: ").append(BookingPolicy.getMaxBookingHours(currentUser)).append(" hours\n");
         rules.append("• Minimum booking duration: ").append(BookingPolicy.getMinBookingMinutes()).append(" minutes\n");
         rules.append("• Minimum advance booking: ").append(BookingPolicy.getMinAdvanceMinutes()).append(" minutes\n");
         rules.append("• Maximum advance booking: ").append(BookingPolicy.getMaxAdvanceDays()).append(" days\n");
@@ -415,63 +421,8 @@ public class FacilityDetailPage extends VBox {
     }
 
     private String validateBookingDetails(User user, Facility facility, LocalDateTime startTime, LocalDateTime endTime) {
-        // Check basic parameters
-        if (user == null || facility == null || startTime == null || endTime == null) {
-            return "Invalid booking parameters.";
-        }
-
-        // Check if facility is available
-        if (!facility.isAvailable()) {
-            return "Facility is not currently available.";
-        }
-
-        // Check privilege requirements
-        if (!BookingPolicy.hasRequiredPrivilege(user, facility)) {
-            return "You don't have permission to book this facility.";
-        }
-
-        // Check booking duration
-        if (!BookingPolicy.isValidDuration(startTime, endTime)) {
-            long minutes = java.time.Duration.between(startTime, endTime).toMinutes();
-            if (minutes < BookingPolicy.getMinBookingMinutes()) {
-                return "Booking duration is too short. Minimum duration is " + BookingPolicy.getMinBookingMinutes() + " minutes.";
-            } else if (minutes > BookingPolicy.getMaxBookingHours() * 60) {
-                return "Booking duration is too long. Maximum duration is " + BookingPolicy.getMaxBookingHours() + " hours.";
-            }
-            return "Invalid booking duration.";
-        }
-
-        // Check minimum advance booking time (30 minutes)
-        if (!BookingPolicy.hasMinimumAdvanceTime(startTime)) {
-            return "Bookings must be made at least 30 minutes in advance.";
-        }
-
-        // Check maximum advance booking time (14 days)
-        if (!BookingPolicy.isWithinAdvanceLimit(startTime)) {
-            return "Bookings cannot be made more than 14 days in advance.";
-        }
-
-        // Check user hasn't exceeded daily booking limit
-        if (!BookingPolicy.isWithinUserDailyLimit(user, startTime)) {
-            return "You have reached the maximum number of bookings allowed per day (" + BookingPolicy.getMaxBookingsPerUserPerDay() + ").";
-        }
-
-        // Check for overlapping bookings for this user
-        if (BookingPolicy.hasUserBookingConflict(user, startTime, endTime)) {
-            return "You already have a booking that conflicts with this time slot.";
-        }
-
-        // Check booking time is in the future
-        if (startTime.isBefore(LocalDateTime.now())) {
-            return "Booking start time must be in the future.";
-        }
-
-        // Check business hours
-        if (!BookingPolicy.isWithinBusinessHours(startTime, endTime)) {
-            return "Booking times must be within business hours (8:00 AM - 10:00 PM).";
-        }
-
-        return null; // No validation errors
+        // Same compiled policy BookingService enforces, with its failure message
+        return BookingPolicy.checkBooking(user, facility, startTime, endTime);
     }
 
     private void handleBooking() {
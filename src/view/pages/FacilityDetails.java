@@ -3,7 +3,6 @@ package view.pages;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.text.Font;
@@ -14,6 +13,7 @@ import model.User;
 import model.services.BookingService;
 import model.services.BookingPolicy;
 import model.enums.FacilityStatus;
+import view.ImageService;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -198,33 +198,8 @@ public class FacilityDetails extends VBox {
     private void updateDisplay() {
         if (facility == null) return;
 
-        // Update image
-        try {
-            if (facility.getImagePath() != null && !facility.getImagePath().isEmpty()) {
-                // Convert relative path to absolute file URL
-                java.io.File imageFile = new java.io.File(facility.getImagePath());
-                if (imageFile.exists()) {
-                    String imageUrl = imageFile.toURI().toString();
-                    Image image = new Image(imageUrl, 400, 250, true, true);
-                    facilityImage.setImage(image);
-                } else {
-                    // Image file doesn't exist, show placeholder
-                    Image placeholder = new Image("https://via.placeholder.com/400x250/3498db/ffffff?text=" +
-                        facility.getId(), 400, 250, false, true);
-                    facilityImage.setImage(placeholder);
-                }
-            } else {
-                // No image path, show placeholder with facility ID
-                Image placeholder = new Image("https://via.placeholder.com/400x250/3498db/ffffff?text=" +
-                    facility.getId(), 400, 250, false, true);
-                facilityImage.setImage(placeholder);
-            }
-        } catch (Exception e) {
-            // Error loading image, show error placeholder
-            Image placeholder = new Image("https://via.placeholder.com/400x250/e74c3c/ffffff?text=Error",
-                400, 250, false, true);
-            facilityImage.setImage(placeholder);
-        }
+        // Update image (cached and decoded in the background; placeholder drawn locally)
+        ImageService.show(facilityImage, facility.getImagePath(), 400, 250, facility.getId());
 
         // Update labels
         nameLabel.setText(facility.getName());
@@ -246,8 +221,8 @@ public class FacilityDetails extends VBox {
         updateEquipmentList();
 
         // Update booking section visibility
-        bookingSection.setVisible(facility.isAvailable());
-        bookingSection.setManaged(facility.isAvailable());
+        bookingSection.setVisible(facility.isBookable());
+        bookingSection.setManaged(facility.isBookable());
     }
 
     private void updateEquipmentList() {
@@ -278,7 +253,7 @@ public class FacilityDetails extends VBox {
 
     private String getBookingRules() {
         StringBuilder rules = new StringBuilder();
-        rules.append("• Maximum booking duration: ").append(BookingPolicy.getMaxBookingHours()).append(" hours\n");
+        rules.append("• Maximum booking duration: ").append(BookingPolicy.getMaxBookingHours(currentUser)).append(" hours\n");
         rules.append("• Business hours: ").append(BookingPolicy.getBusinessHours()).append("\n");
         rules.append("• ").append(BookingPolicy.getCancellationPolicy()).append("\n");
 
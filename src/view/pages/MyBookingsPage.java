@@ -13,6 +13,13 @@ import javafx.scene.text.FontWeight;
 import model.Booking;
 import model.User;
 import model.services.BookingService;
+import model.services.ChangeEventBus;
+import model.services.ChangeEventBus.BookingCheckedIn;
+import model.services.ChangeEventBus.BookingCreated;
+import model.services.ChangeEventBus.BookingStatusChanged;
+import model.services.ChangeEventBus.ChangeEvent;
+import view.FxChangeEvents;
+import view.RowIndex;
 
 import java.util.List;
 
@@ -20,30 +27,36 @@ public class MyBookingsPage extends VBox {
 
     private User currentUser;
     private ObservableList<Booking> bookingsList;
-    private Runnable refreshFacilitiesCallback;
+    private RowIndex<Booking> bookingRows;
+    private ChangeEventBus.Subscription changeSubscription;
 
     // UI Components
     private TableView<Booking> bookingsTable;
     private Button cancelButton;
+    private Button checkInButton;
     private Button refreshButton;
     private Label statusLabel;
     private TextArea bookingDetailsArea;
 
     public MyBookingsPage(User user) {
-        this(user, null);
-    }
-
-    public MyBookingsPage(User user, Runnable refreshFacilitiesCallback) {
         this.currentUser = user;
-        this.refreshFacilitiesCallback = refreshFacilitiesCallback;
         initializeComponents();
         setupLayout();
         loadData();
+        changeSubscription = FxChangeEvents.subscribe(this::applyChanges);
+    }
+
+    /**
+     * Stop listening for model changes
+     */
+    public void dispose() {
+        changeSubscription.cancel();
     }
 
     private void initializeComponents() {
         // Initialize data list
         bookingsList = FXCollections.observableArrayList();
+        bookingRows = new RowIndex<>(bookingsList, Booking::getBookingID);
 
         // Table
         setupBookingsTable();
@@ -54,6 +67,10 @@ public class MyBookingsPage extends VBox {
         cancelButton.setStyle("-fx-font-size: 14px; -fx-padding: 10 20; -fx-background-color: #f44336; -fx-text-fill: white; -fx-background-radius: 6;");
         cancelButton.setOnAction(e -> handleCancellation());
 
+        checkInButton = new Button("✅ Check In");
+        checkInButton.setStyle("-fx-font-size: 14px; -fx-padding: 10 20; -fx-background-color: #4CAF50; -fx-text-fill: white; -fx-background-radius: 6;");
+        checkInButton.setOnAction(e -> handleCheckIn());
+
         refreshButton = new Button("🔄 Refresh");
         refreshButton.setStyle("-fx-font-size: 14px; -fx-padding: 10 20; -fx-background-color: #2196F3; -fx-text-fill: white; -fx-background-radius: 6;");
         refreshButton.setOnAction(e -> loadData());
@@ -147,6 +164,7 @@ public class MyBookingsPage extends VBox {
                         case "CONFIRMED" -> setStyle("-fx-background-color: #d4edda; -fx-text-fill: #155724;");
                         case "CANCELLED" -> setStyle("-fx-background-color: #f8d7da; -fx-text-fill: #721c24;");
                         case "COMPLETED" -> setStyle("-fx-background-color: #d1ecf1; -fx-text-fill: #0c5460;");
+                        case "NO_SHOW" -> setStyle("-fx-background-color: #fff3cd; -fx-text-fill: #856404;");
                         default -> setStyle("");
                     }
                 }
@@ -196,7 +214,7 @@ public class MyBookingsPage extends VBox {
 
         HBox buttonRow = new HBox(15);
         buttonRow.setAlignment(Pos.CENTER);
-        buttonRow.getChildren().addAll(refreshButton, cancelButton);
+        buttonRow.getChildren().addAll(refreshButton, checkInButton, cancelButton);
 
         actionBox.getChildren().addAll(buttonRow, statusLabel);
         return actionBox;
@@ -215,6 +233,7 @@ public class MyBookingsPage extends VBox {
         details.append("📅 Start Time: ").append(booking.getFormattedStartTime()).append("\n");
         details.append("🏁 End Time: ").append(booking.getFormattedEndTime()).append("\n");
         details.append("📊 Status: ").append(booking.getStatus()).append("\n");
+        details.append("📍 Checked In: ").append(booking.isCheckedIn() ? "Yes" : "No").append("\n");
         details.append("📝 Booked: ").append(booking.getFormattedStartTime()).append("\n");
 
         // Calculate duration
@@ -234,6 +253,46 @@ public class MyBookingsPage extends VBox {
         statusLabel.setText("Loaded " + userBookings.size() + " bookings");
     }
 
+    /**
+     * Apply booking changes and check-ins of the current user row by row
+     */
+    private void applyChanges(List<ChangeEvent> events) {
+        for (ChangeEvent event : events) {
+            if (event instanceof BookingCreated) {
+                Booking booking = ((BookingCreated) event).booking;
+                if (booking.getUserId().equals(currentUser.getMatricNo()) && !bookingRows.contains(booking)) {
+                    bookingsList.add(booking);
+                }
+            } else if (event instanceof BookingStatusChanged || event instanceof BookingCheckedIn) {
+                Booking booking = event instanceof BookingStatusChanged
+                        ? ((BookingStatusChanged) event).booking : ((BookingCheckedIn) event).booking;
+                int row = bookingRows.rowOf(booking);
+                if (row >= 0) {
+                    // Re-setting the same item makes the table redraw that row only
+                    bookingsList.set(row, booking);
+                    if (bookingsTable.getSelectionModel().getSelectedItem() == booking) {
+                        updateBookingDetails(booking);
+                    }
+                }
+            }
+        }
+    }
+
+    private void handleCheckIn() {
+        Booking selectedBooking = bookingsTable.getSelectionModel().getSelectedItem();
+        if (selectedBooking == null) {
+            showToast("❌ Please select a booking to check in.", "error");
+            return;
+        }
+
+        if (BookingService.checkIn(currentUser, selectedBooking)) {
+            showToast("✅ Checked in to " + selectedBooking.getFacilityId() + ".", "success");
+            updateBookingDetails(selectedBooking);
+        } else {
+            showToast("❌ Check-in is only open around the booking's start time.", "error");
+        }
+    }
+
     private void handleCancellation() {
         Booking selectedBooking = bookingsTable.getSelectionModel().getSelectedItem();
         if (selectedBooking == null) {
@@ -258,13 +317,9 @@ public class MyBookingsPage extends VBox {
             if (response == ButtonType.OK) {
                 boolean success = BookingService.cancelBooking(currentUser, selectedBooking);
                 if (success) {
+                    // The table row and the facilities page update from the change events
                     showToast("✅ Booking cancelled successfully.", "success");
-                    loadData(); // Refresh data
                     bookingDetailsArea.clear();
-                    // Refresh facilities page to update status
-                    if (refreshFacilitiesCallback != null) {
-                        refreshFacilitiesCallback.run();
-                    }
                 } else {
                     showToast("❌ Cancellation failed. Check booking ownership.", "error");
                 }
@@ -17,12 +17,16 @@ import model.User;
 import model.services.BookingService;
 import model.services.BookingPolicy;
 import model.services.FacilityService;
+import view.AsyncFilter;
 import view.components.FacilityCard;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 public class StudentDashboard extends VBox {
@@ -31,6 +35,7 @@ public class StudentDashboard extends VBox {
     private ObservableList<Facility> facilitiesList;
     private ObservableList<Facility> filteredFacilitiesList;
     private ObservableList<Booking> bookingsList;
+    private AsyncFilter<FilterCriteria, List<Facility>> facilityFilter;
 
     // UI Components
     private ScrollPane facilitiesScrollPane;
@@ -60,11 +65,12 @@ public class StudentDashboard extends VBox {
         facilitiesList = FXCollections.observableArrayList();
         filteredFacilitiesList = FXCollections.observableArrayList();
         bookingsList = FXCollections.observableArrayList();
+        facilityFilter = new AsyncFilter<>(150, this::findFacilities, this::showFilteredFacilities);
 
         // Search and filter components
         searchField = new TextField();
         searchField.setPromptText("Search facilities...");
-        searchField.textProperty().addListener((obs, oldText, newText) -> filterFacilities());
+        searchField.textProperty().addListener((obs, oldText, newText) -> facilityFilter.submit(currentCriteria()));
 
         filterLocationCombo = new ComboBox<>();
         filterLocationCombo.getItems().addAll("All Locations", "Level 1", "Level 2", "Level 3");
@@ -348,15 +354,27 @@ public class StudentDashboard extends VBox {
     }
 
     private void filterFacilities() {
-        List<Facility> filtered = facilitiesList.stream()
-            .filter(f -> searchField.getText().isEmpty() ||
-                        f.getName().toLowerCase().contains(searchField.getText().toLowerCase()) ||
-                        f.getId().toLowerCase().contains(searchField.getText().toLowerCase()))
-            .filter(f -> filterLocationCombo.getValue().equals("All Locations") ||
-                        f.getLocation().contains(filterLocationCombo.getValue()))
+        facilityFilter.submitNow(currentCriteria());
+    }
+
+    private FilterCriteria currentCriteria() {
+        return new FilterCriteria(new ArrayList<>(facilitiesList), searchField.getText(), filterLocationCombo.getValue());
+    }
+
+    /**
+     * Runs on the filter worker, so it only reads the captured criteria
+     */
+    private List<Facility> findFacilities(FilterCriteria criteria) {
+        Set<Facility> matches = criteria.search.isEmpty() ? null : new HashSet<>(FacilityService.searchFacilities(criteria.search));
+        return criteria.facilities.stream()
+            .filter(f -> matches == null || matches.contains(f))
+            .filter(f -> criteria.location.equals("All Locations") ||
+                        f.getLocation().contains(criteria.location))
             .filter(f -> BookingPolicy.canUserBookFacility(currentUser, f)) // Only show facilities user can book
             .collect(Collectors.toList());
+    }
 
+    private void showFilteredFacilities(List<Facility> filtered) {
         filteredFacilitiesList.clear();
         filteredFacilitiesList.addAll(filtered);
         updateFacilitiesDisplay();
@@ -448,4 +466,19 @@ public class StudentDashboard extends VBox {
         alert.setContentText(message);
         alert.showAndWait();
     }
-}
\ No newline at end of file
+
+    /**
+     * Filter inputs captured on the FX thread
+     */
+    private static class FilterCriteria {
+        final List<Facility> facilities;
+        final String search;
+        final String location;
+
+        FilterCriteria(List<Facility> facilities, String search, String location) {
+            this.facilities = facilities;
+            this.search = search;
+            this.location = location;
+        }
+    }
+}